@@ -1,16 +1,28 @@
 
 package game;
 
+import game.ai.DifficultyController;
 import game.core.Bullet;
 import game.core.Enemy;
 import game.core.SpaceObject;
 import game.GameModel;
+import game.core.MoveResult;
+import game.core.Ship;
+import game.input.Command;
+import game.input.CommandBuffer;
+import game.input.KeyBindings;
+import game.persistence.FrameRecorder;
+import game.persistence.ReplayCapture;
+import game.persistence.SessionRecord;
+import game.ui.FrameBuffer;
+import game.ui.FrameSnapshot;
+import game.ui.KeyHandler;
+import game.ui.Tickable;
 import game.ui.UI;
-import game.utility.Direction;
 import game.utility.Logger;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -24,6 +36,16 @@ public class GameController {
     private long startTime;
     private UI ui;
     private GameModel model;
+    private SimulationClock clock = null; // null when stepping by the legacy fixed tick
+    private int baseTick = 0; // base steps played by step()
+    private final FrameBuffer frames = new FrameBuffer();
+    private final List<KeyBindings> playerBindings = new ArrayList<>(List.of(new KeyBindings()));
+    private final List<CommandBuffer> playerCommands = new ArrayList<>(List.of(new CommandBuffer()));
+    private final Command[] batch = new Command[Command.values().length];
+    private final Tickable tickHandler = this::onTick;
+    private final KeyHandler inputHandler = this::queuePlayerInput;
+    private FrameRecorder recorder = null;
+    private ReplayCapture capture = null;
 
     /**
      * Initializes the game controller with the given UI and Model.
@@ -56,45 +78,180 @@ public class GameController {
      * - Uses ui.setStat() to update the "Score", "Health" and "Level" appropriately with information from the model.
      * - Uses ui.setStat() to update "Time Survived" with (System.currentTimeMillis() - startTime) / 1000 + " seconds"
      * - Renders all SpaceObjects (including the Ship) using a single call to ui.render().
+     *   The game state is written once into a FrameSnapshot and published through a reusable FrameBuffer,
+     *   so the UI never reads the live model objects.
+     * - If a FrameRecorder has been set, the frame is also recorded. If recording fails, the failure is
+     *   logged and recording stops; the game carries on.
      *
      */
     public void renderGame() {
-        ui.setStat("Score", "0"); //may have to make this the ships score
-        ui.setStat("Health", "100");
-        ui.setStat("level", "1");
-        ui.setStat("Time Survived", (System.currentTimeMillis() - startTime) / 1000 + " seconds");
-        ui.render(model.getSpaceObjects());
+        long timeSurvived = System.currentTimeMillis() - startTime;
+        ui.setStat("Score", String.valueOf(model.getShip().getScore()));
+        ui.setStat("Health", String.valueOf(model.getShip().getHealth()));
+        for (int player = 1; player < model.getShipCount(); player++) {
+            Ship ship = model.getShip(player);
+            ui.setStat("P" + (player + 1) + " Score", String.valueOf(ship.getScore()));
+            ui.setStat("P" + (player + 1) + " Health", String.valueOf(ship.getHealth()));
+        }
+        ui.setStat("Level", String.valueOf(model.getLevel()));
+        ui.setStat("Time Survived", timeSurvived / 1000 + " seconds");
+        DifficultyController difficulty = model.getDifficultyController();
+        if (difficulty != null) {
+            ui.setStat("Difficulty", String.format("x%.2f, cap %d", difficulty.getSpawnScale(),
+                    difficulty.getEntityCap()));
+        }
+
+        FrameSnapshot frame = frames.beginWrite();
+        model.writeSnapshot(frame);
+        frame.setTimeSurvived(timeSurvived);
+        if (recorder != null) {
+            try {
+                recorder.record(frame);
+            } catch (IOException e) {
+                ui.log("Recording stopped: " + e.getMessage());
+                recorder = null;
+            }
+        }
+        frames.publish();
+        ui.render(frames);
     }
 
 
     /**
      * Starts the main game loop.
      *
-     * Passes onTick and handlePlayerInput to ui.onStep and ui.onKey respectively.
+     * Passes onTick and queuePlayerInput to ui.onStep and ui.onKey respectively.
      * @provided
      */
     public void startGame() {
-        ui.onStep(this::onTick);
-        ui.onKey(this::handlePlayerInput); // Registers key input
+        ui.onStep(tickHandler);
+        ui.onKey(inputHandler); // Registers key input
+    }
+
+    /**
+     * Stops the game by removing the handlers registered by startGame() from the UI, so that a UI
+     * outliving this controller no longer steps it or keeps it reachable.
+     */
+    public void stopGame() {
+        ui.removeStep(tickHandler);
+        ui.removeKey(inputHandler);
     }
 
     /**
      * Uses the provided tick to call and advance the following:
+     *      - Applies the commands queued by queuePlayerInput() since the previous tick.
      *      - A call to renderGame() to draw the current state of the game.
      *      - A call to model.updateGame(tick) to advance the game by the given tick.
      *      - A call to model.checkCollisions() to handle game interactions.
      *      - A call to model.spawnObjects() to handle object creation.
      *      - A call to model.levelUp() to check and handle leveling.
+     *      - A call to model.observeTick() with the time the tick took, to adapt the difficulty.
+     *
+     * If a SimulationClock has been set, the tick value is ignored and the game is instead advanced by
+     * the real time elapsed since the previous tick (see step()).
+     *
+     * If a ReplayCapture has been set, the tick is counted by it first.
      *
      * @param tick the provided tick
      * @provided
      */
     public void onTick(int tick) {
+        if (capture != null) {
+            capture.tick();
+        }
+        if (clock != null) {
+            step(clock.measureRealMicros());
+            return;
+        }
+        applyQueuedCommands();
+        long start = System.nanoTime();
         renderGame(); // Update Visual
         model.updateGame(tick); // Update GameObjects
         model.checkCollisions(); // Check for Collisions
         model.spawnObjects(); // Handles new spawns
         model.levelUp(); // Level up when score threshold is met
+        model.observeTick(System.nanoTime() - start); // Adapt difficulty to the player and the tick time
+    }
+
+    /**
+     * Advances a time-based simulation by the given real elapsed time.
+     * The commands queued by queuePlayerInput() are applied first. The time is then scaled by the clock's
+     * time scale, and for every SimulationClock.BASE_STEP_MICROS of
+     * simulation time that has elapsed the game is advanced exactly as onTick() advances it for one tick:
+     * model.updateGame(), model.checkCollisions(), model.spawnObjects() and model.levelUp(). The game
+     * therefore plays identically in wall-clock terms whatever the tick rate, and the same as without a
+     * clock; only how often frames are rendered changes.
+     * Headless drivers may call this directly, as fast as they like, to run unthrottled.
+     *
+     * @param realMicros - the real elapsed time in microseconds.
+     * @requires a clock has been set using setClock()
+     */
+    public void step(long realMicros) {
+        long start = System.nanoTime();
+        applyQueuedCommands();
+        long simulationMicros = clock.scale(realMicros);
+        renderGame(); // Update Visual
+        for (int i = clock.consumeBaseSteps(simulationMicros); i > 0; i--) {
+            model.updateGame(baseTick++); // Update GameObjects
+            model.checkCollisions(); // Check for Collisions
+            model.spawnObjects(); // Handles new spawns
+            model.levelUp(); // Level up when score threshold is met
+        }
+        model.observeTick(System.nanoTime() - start); // Adapt difficulty to the player and the step time
+    }
+
+    /**
+     * Switches the game to time-based simulation driven by the given clock, or back to the legacy
+     * fixed tick if the clock is null.
+     *
+     * @param clock - the clock to use, or null.
+     */
+    public void setClock(SimulationClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the clock driving the simulation, or null if the legacy fixed tick is used.
+     *
+     * @return the current clock, or null.
+     */
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Records every rendered frame with the given recorder from now on, or stops recording if it is null.
+     * The controller does not close the recorder.
+     *
+     * @param recorder - the recorder to use, or null.
+     */
+    public void setRecorder(FrameRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Captures every tick and key input from now on with the given capture, or stops capturing if it is
+     * null. Capture from the start of a game whose seed was set with GameModel.setRandomSeed(), so the
+     * session can be replayed.
+     *
+     * @param capture - the capture to use, or null.
+     */
+    public void setCapture(ReplayCapture capture) {
+        this.capture = capture;
+    }
+
+    /**
+     * Returns a record of the session played so far: the ship's score, the level, the time survived, the
+     * spawn seed and the collision counts.
+     *
+     * @return a record of the current session.
+     */
+    public SessionRecord createSessionRecord() {
+        long now = System.currentTimeMillis();
+        return new SessionRecord(now, model.getSeed(), now - startTime,
+                model.getShip().getScore(), model.getLevel(),
+                model.getAsteroidHits(), model.getEnemyHits(),
+                model.getPowerUpsCollected(), model.getEnemiesDestroyed());
     }
 
     /**
@@ -115,6 +272,32 @@ public class GameController {
         return model;
     }
 
+    /**
+     * Adds another player with their own ship, key bindings and input queue. Their score and health are
+     * shown as "P{n} Score" and "P{n} Health" stats, where n counts from 1.
+     * Keys are offered to each player's bindings in the order the players were added.
+     *
+     * @param keys - the new player's key bindings; they should not share keys with other players.
+     * @return the new player's index; the first player is 0.
+     */
+    public int addPlayer(KeyBindings keys) {
+        int player = model.getShipCount();
+        int x = (5 + 2 * player) % GameModel.GAME_WIDTH; // spread ships out from the first ship's cell
+        int index = model.addShip(new Ship(x, 10, 100));
+        playerBindings.add(keys);
+        playerCommands.add(new CommandBuffer());
+        return index;
+    }
+
+    /**
+     * Returns the number of players.
+     *
+     * @return the number of players.
+     */
+    public int getPlayerCount() {
+        return playerBindings.size();
+    }
+
     /**
      * Handles player input and performs actions such as moving the ship or firing bullets.
      * Uppercase and lowercase inputs should be treated identically:
@@ -124,56 +307,147 @@ public class GameController {
      * - For input "F" the fireBullet() method of the model should be called.
      * - For input "P" the pauseGame() method should be called.
      * - For all other inputs, the following should be logged: "Invalid input.
-     *   Use W, A, S, D, F, or P."
+     *   Use W, A, S, D, F, or P." (listing the bound keys; see invalidInputMessage())
+     *
+     * Keys are translated through the controller's KeyBindings, so rebinding a key changes which
+     * command it issues. A move off the board leaves the ship in place and logs why instead of throwing.
      *
      * @param input - the player's input command.
      */
     public void handlePlayerInput(String input) {
-        String[] validInput = new String[]{"W", "A", "S", "D", "F", "P"};
-        if (Arrays.asList(validInput).contains(input.toUpperCase())) {
-            switch (input.toUpperCase()) {
-                case "W" -> {
-                    model.getShip().move(Direction.valueOf("UP"));
-                    ui.log("Core.Ship moved to (\""
-                            + model.getShip().getX()
-                            + "\", \""
-                            + model.getShip().getY()
-                            + "\")");
-                }
-                case "A" -> {
-                    model.getShip().move(Direction.valueOf("LEFT"));
-                    ui.log("Core.Ship moved to (\""
-                            + model.getShip().getX()
-                            + "\", \""
-                            + model.getShip().getY()
-                            + "\")");
-                }
-                case "S" -> {
-                    model.getShip().move(Direction.valueOf("DOWN"));
-                    ui.log("Core.Ship moved to (\""
-                            + model.getShip().getX()
-                            + "\", \""
-                            + model.getShip().getY()
-                            + "\")");
-                }
-                case "D" -> {
-                    model.getShip().move(Direction.valueOf("RIGHT"));
-                    ui.log("Core.Ship moved to (\""
-                            + model.getShip().getX()
-                            + "\", \""
-                            + model.getShip().getY()
-                            + "\")");
-                }
-                case "F" -> {
-                    model.fireBullet();
+        for (int player = 0; player < playerBindings.size(); player++) {
+            Command command = playerBindings.get(player).lookup(input);
+            if (command != null) {
+                execute(player, command);
+                return;
+            }
+        }
+        ui.log(invalidInputMessage());
+    }
+
+    /**
+     * Returns the message logged for unbound input, listing every player's bound keys in command order:
+     * "Invalid input. Use W, A, S, D, F, or P." with the default bindings.
+     *
+     * @return the message for unbound input.
+     */
+    public String invalidInputMessage() {
+        List<Character> keys = new ArrayList<>();
+        for (KeyBindings bindings : playerBindings) {
+            for (Command command : Command.values()) {
+                for (char key : bindings.keysFor(command).toCharArray()) {
+                    keys.add(key);
                 }
-                case "P" -> {
-                    pauseGame();
+            }
+        }
+        if (keys.isEmpty()) {
+            return "Invalid input. No keys are bound.";
+        }
+        StringBuilder message = new StringBuilder("Invalid input. Use ");
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0 && i < keys.size() - 1) {
+                message.append(", ");
+            } else if (i > 0) {
+                message.append(keys.size() == 2 ? " or " : ", or ");
+            }
+            message.append(keys.get(i));
+        }
+        return message.append('.').toString();
+    }
+
+    /**
+     * Queues the command bound to the player's input to be applied at the start of the next tick.
+     * Repeats of a command within one tick are dropped, and commands that must run immediately (pausing)
+     * are applied straight away. Unbound input is logged as by handlePlayerInput().
+     * Each player has their own queue, so one player's repeats never drop another's command.
+     * If a ReplayCapture has been set, the input is captured.
+     *
+     * @param input - the player's input command.
+     */
+    public void queuePlayerInput(String input) {
+        if (capture != null) {
+            capture.press(input);
+        }
+        for (int player = 0; player < playerBindings.size(); player++) {
+            Command command = playerBindings.get(player).lookup(input);
+            if (command == null) {
+                continue;
+            }
+            if (command.isImmediate()) {
+                execute(player, command);
+            } else {
+                playerCommands.get(player).offer(command);
+            }
+            return;
+        }
+        ui.log(invalidInputMessage());
+    }
+
+    /**
+     * Applies every command queued since the previous tick, player by player, in the order each player
+     * first issued them.
+     */
+    private void applyQueuedCommands() {
+        for (int player = 0; player < playerCommands.size(); player++) {
+            int count = playerCommands.get(player).drainTo(batch);
+            for (int i = 0; i < count; i++) {
+                execute(player, batch[i]);
+            }
+        }
+    }
+
+    /**
+     * Performs the given command for the first player.
+     *
+     * @param command - the command to perform.
+     */
+    public void execute(Command command) {
+        execute(0, command);
+    }
+
+    /**
+     * Performs the given command for the given player. Moves by players other than the first are logged
+     * with a "P{n}: " prefix.
+     *
+     * @param player - the index of the player issuing the command.
+     * @param command - the command to perform.
+     */
+    public void execute(int player, Command command) {
+        switch (command) {
+            case MOVE_UP, MOVE_LEFT, MOVE_DOWN, MOVE_RIGHT -> {
+                Ship ship = model.getShip(player);
+                String prefix = player == 0 ? "" : "P" + (player + 1) + ": ";
+                if (ship.tryMove(command.getDirection()) == MoveResult.BLOCKED) {
+                    ui.log(prefix + Ship.blockedMessage(command.getDirection()));
+                    return;
                 }
+                ui.log(prefix + "Core.Ship moved to (\""
+                        + ship.getX()
+                        + "\", \""
+                        + ship.getY()
+                        + "\")");
             }
-        } else {
-            ui.log("Invalid input. Use W, A, S, D, F, or P.");
+            case FIRE -> model.fireBullet(player);
+            case PAUSE -> pauseGame();
         }
     }
 
+    /**
+     * Returns the key bindings used to translate the first player's input into commands.
+     *
+     * @return the key bindings.
+     */
+    public KeyBindings getKeyBindings() {
+        return playerBindings.get(0);
+    }
+
+    /**
+     * Replaces the key bindings used to translate the first player's input into commands.
+     *
+     * @param bindings - the new key bindings.
+     */
+    public void setKeyBindings(KeyBindings bindings) {
+        playerBindings.set(0, bindings);
+    }
+
 }
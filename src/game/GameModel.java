@@ -1,11 +1,23 @@
 package game;
 
 
+import game.ai.DifficultyController;
+import game.ai.EnemyAI;
+import game.collision.CellPath;
+import game.collision.CollisionMatrix;
+import game.collision.SpatialIndex;
 import game.core.*;
+import game.level.LevelDefinition;
+import game.level.LevelLoader;
+import game.plugin.CollisionRule;
+import game.plugin.EntityRegistry;
 import game.utility.Logger;
+import game.utility.TimerWheel;
 import game.core.SpaceObject;
+import game.ui.FrameSnapshot;
 
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * Represents the game information and state. Stores and manipulates the game state.
@@ -19,10 +31,16 @@ public class GameModel {
     public static final int SCORE_THRESHOLD = 100; // Score threshold for leveling
     public static final int ASTEROID_DAMAGE = 10; // The amount of damage an asteroid deals
     public static final int ENEMY_DAMAGE = 20; // The amount of damage an enemy deals
+    public static final int ENEMY_FIRE_DAMAGE = 5; // The amount of damage an enemy's shot deals
     public static final double ENEMY_SPAWN_RATE = 0.5; // Percentage of asteroid spawn chance
     public static final double POWER_UP_SPAWN_RATE = 0.25; // Percentage of asteroid spawn chance
+    public static final int POWER_UP_LIFETIME = 300; // Ticks an uncollected power-up stays in the game
+    public static final double EFFECT_POWER_UP_SPAWN_RATE = 0.1; // Percentage of the power-up spawn chance
+    public static final int RAPID_FIRE_INTERVAL = 2; // Ticks between the shots a rapid-firing ship fires
 
-    private final Random random = new Random(); // ONLY USED IN this.spawnObjects()
+    private long seed = new Random().nextLong(); // The seed of this.random, recorded with each session
+    private final Random random = new Random(seed); // ONLY USED IN this.spawnObjects()
+    private final Random effectRandom = new Random(Long.reverse(seed)); // spawns effect power-ups, likewise
 
     private Logger logger;
     private ArrayList<SpaceObject> allSpaceObjects;
@@ -30,7 +48,50 @@ public class GameModel {
 
     private int spawnRate;
 
-    private Ship ship;
+    private Ship ship; // the first player's ship
+    private final List<Ship> ships = new ArrayList<>();
+    private final SpatialIndex shipIndex = new SpatialIndex(16);
+    private int[] hitStamp = new int[64];
+    private int stamp = 0;
+    private int[] shipHits = new int[64];
+
+    private boolean sweptCollisions = false;
+    private final SpatialIndex spatialIndex = new SpatialIndex(GAME_WIDTH * GAME_HEIGHT);
+    private final CellPath cellPath = new CellPath();
+    private boolean[] alreadyHit = new boolean[64];
+    private int[] objectKinds = new int[64];
+    private final CollisionMatrix<CollisionMatrix.Handler> collisions = new CollisionMatrix<>();
+    private final CollisionMatrix<ProjectileSystem.HitHandler> projectileHits = new CollisionMatrix<>();
+
+    private EnemyAI enemyAI = null; // null while enemies simply descend
+    private DifficultyController difficulty = null; // null while spawn rates follow the level alone
+    private EntityRegistry plugins = null; // null while only built-in entities spawn
+    private Random pluginRandom = null; // spawns plugin entities, leaving this.random's calls unchanged
+    private int[] pluginSpawnKinds = new int[0];
+    private double[] pluginSpawnChances = new double[0];
+    private final EnemyAI.FireHandler enemyFireHandler = this::fireEnemyBullet;
+
+    private final ProjectileSystem projectiles = new ProjectileSystem();
+    private final ProjectileSystem.HitHandler projectileHitHandler = this::handleProjectileHit;
+    private final List<SpaceObject> projectileVictims = new ArrayList<>();
+    private final List<SpaceObject> removeLater = new ArrayList<>(); // reused by the collision passes
+    private final Predicate<SpaceObject> offBoard = x ->
+            !(x instanceof Ship) && (x.getY() + 1) > this.boardHeight // ships are confined instead
+            || (x instanceof PowerUp powerUp && powerUp.isExpired());
+
+    private LevelLoader levels = null; // null while levels simply raise the spawn rate
+    private LevelDefinition currentLevel = null;
+    private int levelTicks = 0;
+    private int waveCursor = 0;
+    private int boardWidth = GAME_WIDTH;
+    private int boardHeight = GAME_HEIGHT;
+
+    private final TimerWheel timers = new TimerWheel(); // expires status effects and power-ups, one slot per tick
+
+    private int asteroidHits = 0;
+    private int enemyHits = 0;
+    private int powerUpsCollected = 0;
+    private int enemiesDestroyed = 0;
 
     /**
      * Models a game, storing and modifying data relevant to the game.
@@ -50,29 +111,159 @@ public class GameModel {
         this.spawnRate = START_SPAWN_RATE;
         this.logger = logger;
         this.ship = new Ship();
-        addObject(ship);
+        registerCollisions();
+        addShip(ship);
+    }
+
+    /**
+     * Adds a ship for another player. Every ship collides with the world, collects power-ups and is hit
+     * by enemy fire; the level advances on the players' combined score.
+     * The ship is confined to the current board, and moved onto it if it is outside.
+     *
+     * @param newShip - the new player's ship.
+     * @return the new player's index; the first player is 0.
+     */
+    public int addShip(Ship newShip) {
+        newShip.getEffects().bind(timers);
+        newShip.confineTo(boardWidth, boardHeight);
+        ships.add(newShip);
+        addObject(newShip);
+        return ships.size() - 1;
+    }
+
+    /**
+     * Returns the number of players' ships in the game, including ships that have lost all their health.
+     *
+     * @return the number of ships.
+     */
+    public int getShipCount() {
+        return ships.size();
+    }
+
+    /**
+     * Returns the given player's ship.
+     *
+     * @param player - the player's index, between 0 and getShipCount() - 1.
+     * @return the player's ship.
+     */
+    public Ship getShip(int player) {
+        return ships.get(player);
     }
 
     /**
-     * Returns a list of all SpaceObjects in the game.
+     * Returns the combined score of every player's ship.
+     *
+     * @return the team score.
+     */
+    public int getTeamScore() {
+        int total = 0;
+        for (Ship player : ships) {
+            total += player.getScore();
+        }
+        return total;
+    }
+
+    /**
+     * Returns whether any player's ship occupies the cell.
+     */
+    private boolean isShipAt(int x, int y) {
+        for (int i = 0; i < ships.size(); i++) {
+            Ship player = ships.get(i);
+            if (player.getX() == x && player.getY() == y) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a list of all SpaceObjects in the game, followed by a new object for each live projectile:
+     * a Bullet for each bullet fired by a ship, and a read-only snapshot for each enemy shot. The
+     * projectile objects are copies and are not updated as the game runs.
      *
      * @return a list of all spaceObjects.
      */
     public List<SpaceObject> getSpaceObjects() {
-        return new ArrayList<>(allSpaceObjects);
+        List<SpaceObject> objects = new ArrayList<>(allSpaceObjects.size() + projectiles.size());
+        objects.addAll(allSpaceObjects);
+        projectiles.addSnapshotsTo(objects);
+        return objects;
+    }
+
+    /**
+     * Records the current state of the game into the given snapshot: every object and projectile as a
+     * (kind, x, y) entry, plus the ship's score and health and the level.
+     *
+     * @param frame - the snapshot to write into, typically from FrameBuffer.beginWrite().
+     */
+    public void writeSnapshot(FrameSnapshot frame) {
+        frame.addAll(allSpaceObjects);
+        for (int i = 0, count = projectiles.size(); i < count; i++) {
+            frame.add(EntityKind.of(projectiles.getType(i)), projectiles.getX(i), projectiles.getY(i));
+        }
+        frame.setHud(ship.getScore(), ship.getHealth(), level);
+    }
+
+    /**
+     * Returns the number of SpaceObjects in the game, excluding projectiles.
+     * Together with getObject() this allows iterating the game without copying the object list.
+     *
+     * @return the number of objects.
+     */
+    public int getObjectCount() {
+        return allSpaceObjects.size();
+    }
+
+    /**
+     * Returns the SpaceObject at the given index, excluding projectiles.
+     *
+     * @param index - an index between 0 and getObjectCount() - 1.
+     * @return the object at that index.
+     */
+    public SpaceObject getObject(int index) {
+        return allSpaceObjects.get(index);
+    }
+
+    /**
+     * Returns the projectile system holding every bullet fired by the ship and by enemies.
+     *
+     * @return the projectile system.
+     */
+    public ProjectileSystem getProjectiles() {
+        return projectiles;
     }
 
     /**
      * Adds a SpaceObject to the game.
      * Objects are considered part of the game only when they are tracked by the model.
      *
+     * Power-ups do not move, so one that is not collected expires after POWER_UP_LIFETIME ticks and is
+     * removed with the off-screen objects.
+     *
      * @param object - the SpaceObject to be added to the game.
      * @requires object != null.
      */
     public void addObject(SpaceObject object) {
-        List<SpaceObject> copy = new ArrayList<>(allSpaceObjects);
-        copy.add(object); // ensures no rendering issues
-        allSpaceObjects = new ArrayList<>(copy);
+        allSpaceObjects.add(object);
+        if (object instanceof PowerUp powerUp) {
+            timers.schedule(new PowerUpExpiry(powerUp), POWER_UP_LIFETIME);
+        }
+    }
+
+    /**
+     * Marks a power-up as expired when its lifetime is up.
+     */
+    private static class PowerUpExpiry extends TimerWheel.Timer {
+        private final PowerUp powerUp;
+
+        private PowerUpExpiry(PowerUp powerUp) {
+            this.powerUp = powerUp;
+        }
+
+        @Override
+        protected void onExpire() {
+            powerUp.expire();
+        }
     }
 
     /**
@@ -80,29 +271,172 @@ public class GameModel {
      *
      * Objects should be moved by calling .tick(tick) on each object.
      * Objects are considered off-screen if they are at y-coordinate > GAME_HEIGHT.
+     * Ships are never removed; they are confined to the board (see Controllable.confineTo()).
+     *
+     * While a ship has StatusEffect.SLOW_TIME, objects other than ships and all projectiles only
+     * move on even ticks, and are passed half the tick value so tick-counting objects keep their pace.
+     *
+     * Every RAPID_FIRE_INTERVAL ticks, each ship with StatusEffect.RAPID_FIRE fires a bullet on its own,
+     * in addition to the bullets fired by its player. These shots are not logged.
+     *
+     * If an EnemyAI has been set, it steers enemies on the ticks they descend, so each enemy moves at
+     * most one cell sideways per cell it descends.
      *
      * @param tick - the tick value passed through to the objects tick() method.
      */
     public void updateGame(int tick) {
-        List<SpaceObject> toRemove = new ArrayList<>();
-        List<SpaceObject> current = new ArrayList<>(allSpaceObjects);
+        tickEffects();
+        // renderers read FrameSnapshots rather than this list, so it can be updated in place
+        allSpaceObjects.removeIf(offBoard);
+        boolean slow = false;
+        for (int i = 0; i < ships.size(); i++) {
+            slow |= ships.get(i).getEffects().isActive(StatusEffect.SLOW_TIME);
+        }
+        if (!slow || tick % 2 == 0) {
+            int worldTick = slow ? tick / 2 : tick;
+            for (SpaceObject x : allSpaceObjects) {
+                x.tick(x instanceof Ship ? tick : worldTick);
+            }
+            projectiles.advance(SimulationClock.BASE_STEP_MICROS, boardWidth, boardHeight);
+            if (worldTick % DescendingEnemy.DESCENT_INTERVAL == 0) {
+                updateEnemyAI();
+            }
+        }
+        if (tick % RAPID_FIRE_INTERVAL == 0) {
+            for (int i = 0; i < ships.size(); i++) {
+                Ship player = ships.get(i);
+                if (player.getEffects().isActive(StatusEffect.RAPID_FIRE)) {
+                    projectiles.fire(ProjectileType.PLAYER_BULLET, player.getX(), player.getY());
+                }
+            }
+        }
+    }
+
+    /**
+     * Advances status effects and power-up lifetimes by one game tick, expiring any whose time is up.
+     * Called at the start of updateGame().
+     */
+    public void tickEffects() {
+        timers.advance(1);
+    }
+
+    /**
+     * Runs one round of enemy decision-making, if an EnemyAI has been set.
+     * Called by updateGame() on descent ticks.
+     */
+    private void updateEnemyAI() {
+        if (enemyAI != null) {
+            enemyAI.update(allSpaceObjects, projectiles, ships, boardWidth, boardHeight, enemyFireHandler);
+        }
+    }
 
+    /**
+     * Sets the AI that steers enemies, or null to let enemies simply descend.
+     *
+     * @param enemyAI - the AI to use, or null.
+     */
+    public void setEnemyAI(EnemyAI enemyAI) {
+        this.enemyAI = enemyAI;
+    }
 
-        for (SpaceObject x : current) {
-            if ((x.getY() + 1) > GAME_HEIGHT) {
-                toRemove.add(x);
-            } else {
-                x.tick(tick);
+    /**
+     * Sets the controller that adapts spawn chances and caps live entities, or null to spawn at the
+     * level's rates without limit.
+     *
+     * @param difficulty - the controller to use, or null.
+     */
+    public void setDifficultyController(DifficultyController difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Adds the entity types defined by plugins to the game: their collision rules are registered in the
+     * same kind-indexed tables as the built-in ones, and their spawn chances are copied into flat arrays
+     * checked after the built-in spawns. Rules replace any built-in rule for the same pair of kinds.
+     *
+     * Plugin spawns draw from their own random number generator, seeded from this game's seed, so the
+     * built-in spawns are unchanged by installing plugins.
+     *
+     * @param registry - the registry the plugins registered with.
+     */
+    public void setPlugins(EntityRegistry registry) {
+        this.plugins = registry;
+        this.pluginRandom = new Random(~seed);
+        for (int i = 0; i < registry.getRuleCount(); i++) {
+            int first = registry.getRuleFirst(i);
+            int second = registry.getRuleSecond(i);
+            CollisionRule rule = registry.getRule(i);
+            if (first == EntityKind.BULLET || first == EntityKind.ENEMY_BULLET) {
+                projectileHits.register(first, second, (type, x, y, target) -> projectileOutcome(rule, type, x, y, target));
             }
+            // legacy Bullet objects still use the object row
+            collisions.register(first, second, (a, b) -> applyOutcome(rule.onCollision(a, b), a, b));
         }
-        List<SpaceObject> newList = new ArrayList<>(); //ensures no rendering issues
-        for (SpaceObject obj : allSpaceObjects) {
-            if (!toRemove.contains(obj)) {
-                newList.add(obj);
+        pluginSpawnKinds = new int[registry.getSpawnCount()];
+        pluginSpawnChances = new double[registry.getSpawnCount()];
+        for (int i = 0; i < pluginSpawnKinds.length; i++) {
+            pluginSpawnKinds[i] = registry.getSpawnKind(i);
+            pluginSpawnChances[i] = registry.getSpawnChance(i);
+        }
+    }
+
+    private void applyOutcome(int outcome, SpaceObject first, SpaceObject second) {
+        if ((outcome & CollisionRule.REMOVE_FIRST) != 0) {
+            removeLater.add(first);
+        }
+        if ((outcome & CollisionRule.REMOVE_SECOND) != 0) {
+            removeLater.add(second);
+        }
+    }
+
+    /**
+     * Maps a plugin rule's outcome for a pooled projectile onto the projectile system's outcomes: removing
+     * the projectile absorbs it, and removing the target destroys it. The rule is passed a copy of the
+     * projectile (see ProjectileSystem.snapshotOf()) at the cell where it reached the target.
+     */
+    private int projectileOutcome(CollisionRule rule, ProjectileType type, int x, int y, SpaceObject target) {
+        int outcome = rule.onCollision(ProjectileSystem.snapshotOf(type, x, y), target);
+        if ((outcome & CollisionRule.REMOVE_SECOND) != 0) {
+            projectileVictims.add(target);
+            return ProjectileSystem.DESTROYED;
+        }
+        return (outcome & CollisionRule.REMOVE_FIRST) != 0 ? ProjectileSystem.ABSORBED : ProjectileSystem.MISS;
+    }
+
+    /**
+     * Returns the controller adapting the difficulty, or null if none has been set.
+     *
+     * @return the difficulty controller, or null.
+     */
+    public DifficultyController getDifficultyController() {
+        return difficulty;
+    }
+
+    /**
+     * Reports how long a tick took, together with the players' combined health, the enemies destroyed and
+     * the number of live entities, to the difficulty controller. Does nothing if no controller has been set.
+     *
+     * @param elapsedNanos - how long the tick took.
+     */
+    public void observeTick(long elapsedNanos) {
+        if (difficulty != null) {
+            int health = 0;
+            for (int i = 0; i < ships.size(); i++) {
+                health += ships.get(i).getHealth();
             }
+            difficulty.observe(health, enemiesDestroyed,
+                    allSpaceObjects.size() + projectiles.size(), elapsedNanos);
         }
+    }
 
-        allSpaceObjects = new ArrayList<>(newList);
+    /**
+     * Fires an enemy bullet from the given position, travelling down towards the ship.
+     *
+     * @param x - the x coordinate to fire from.
+     * @param y - the y coordinate to fire from.
+     */
+    public void fireEnemyBullet(int x, int y) {
+        projectiles.fire(ProjectileType.ENEMY_BULLET, x, y);
     }
 
     /**
@@ -112,56 +446,386 @@ public class GameModel {
      * First checks ship collision: - If the ship is colliding with a powerup, apply the effect, and .log("Power-up collected: " + obj.render())
      * - If the ship is colliding with an asteroid, take the appropriate damage, and .log("Hit by asteroid! Health reduced by " + ASTEROID_DAMAGE + ".")
      * - If the ship is colliding with an enemy, take the appropriate damage, and .log("Hit by enemy! Health reduced by " + ENEMY_DAMAGE + ".")
+     * A shielded ship takes no damage, and "Absorbed by shield." is logged in place of "Health reduced by ...".
      * For any collisions with the ship, the colliding object should be removed.
      *
      * Then check bullet collision:
      * If a bullet collides with an enemy, remove both the enemy and the bullet. No logging required.
+     *
+     * When swept collisions are enabled, objects instead collide if they overlapped at some moment while
+     * travelling their paths since the previous collision pass (see setSweptCollisions()).
+     *
+     * With several ships (see addShip()), every ship is checked in the same way. Ships are indexed by cell,
+     * so each object makes one lookup however many ships there are.
      */
     public void checkCollisions() {
-        List<SpaceObject> allSpaceObjectsCopy = new ArrayList<>(allSpaceObjects);
-        List<SpaceObject> removeLater = new ArrayList<>();
-        for (SpaceObject obj : allSpaceObjectsCopy) {
-            if (obj instanceof Ship) { //CHECK IF WE CAN DELETE LATER (Ship may not be in array)
+        if (sweptCollisions) {
+            checkSweptCollisions();
+            checkProjectileCollisions();
+            markPositions();
+            return;
+        }
+        List<SpaceObject> objects = allSpaceObjects; // handlers only queue removals
+        int count = objects.size();
+        int[] kinds = kindsOf(objects);
+        int shipKind = ship.getKind();
+        indexShips();
+        for (int i = 0; i < count; i++) {
+            CollisionMatrix.Handler handler = collisions.get(shipKind, kinds[i]);
+            if (handler == null) {
                 continue;
             }
-            if (obj.getX() == ship.getX() && obj.getY() == ship.getY()) {
-                switch (obj) {
-                    case PowerUp powerUp -> {
-                        logger.log("Power-up collected: " + obj.render());
-                        powerUp.applyEffect(ship);
-                        removeLater.add(obj);
-                    }
-                    case Asteroid asteroid -> {
-                        logger.log("Hit by asteroid! Health reduced by " + ASTEROID_DAMAGE + ".");
-                        ship.takeDamage(ASTEROID_DAMAGE);
-                        removeLater.add(obj);
-                    }
-                    case Enemy enemy -> {
-                        logger.log("Hit by enemy! Health reduced by " + ENEMY_DAMAGE + ".");
-                        ship.takeDamage(ENEMY_DAMAGE);
-                        removeLater.add(obj);
-                    }
-                    default -> {
-                    }
+            SpaceObject obj = objects.get(i);
+            for (int entry = shipIndex.firstInCell(obj.getX(), obj.getY());
+                 entry != -1; entry = shipIndex.nextInCell(entry)) {
+                handler.onCollision(ships.get(shipIndex.idOf(entry)), obj);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (kinds[i] == shipKind || !collisions.hasHandlers(kinds[i])) {
+                continue;
+            }
+            SpaceObject obj1 = objects.get(i);
+            for (int j = 0; j < count; j++) {
+                CollisionMatrix.Handler handler = collisions.get(kinds[i], kinds[j]);
+                SpaceObject obj2 = objects.get(j);
+                if (handler != null && obj1.getX() == obj2.getX() && obj1.getY() == obj2.getY()) {
+                    handler.onCollision(obj1, obj2);
+                }
+            }
+        }
+        if (!removeLater.isEmpty()) {
+            allSpaceObjects.removeAll(removeLater);
+            removeLater.clear();
+        }
+        checkProjectileCollisions();
+        markPositions();
+    }
+
+    /**
+     * Indexes every ship by the cell it occupies.
+     */
+    private void indexShips() {
+        shipIndex.clear();
+        for (int i = 0; i < ships.size(); i++) {
+            shipIndex.insert(ships.get(i).getX(), ships.get(i).getY(), i);
+        }
+    }
+
+    /**
+     * Resolves collisions involving pooled projectiles.
+     * Opposing projectiles destroy each other. A player projectile destroys the first enemy or asteroid
+     * in its path, logging "Bullet hit enemy! Removed." for enemies. An enemy projectile damages the ship
+     * by its type's damage, logging "Hit by enemy fire! Health reduced by {damage}." (or "Hit by enemy
+     * fire! Absorbed by shield." if the ship is shielded), and is absorbed by asteroids.
+     */
+    private void checkProjectileCollisions() {
+        if (projectiles.size() == 0) {
+            return;
+        }
+        projectiles.collide(allSpaceObjects, projectileHitHandler);
+        if (!projectileVictims.isEmpty()) {
+            allSpaceObjects.removeAll(projectileVictims);
+            projectileVictims.clear();
+        }
+    }
+
+    /**
+     * Decides the outcome of a projectile reaching an object by looking up the pair in projectileHits.
+     * See checkProjectileCollisions().
+     */
+    private int handleProjectileHit(ProjectileType type, int x, int y, SpaceObject target) {
+        ProjectileSystem.HitHandler handler = projectileHits.get(EntityKind.of(type), target.getKind());
+        return handler == null ? ProjectileSystem.MISS : handler.onHit(type, x, y, target);
+    }
+
+    /**
+     * Enables or disables swept collision detection.
+     *
+     * In swept mode every object's path since the previous collision pass is tested rather than only its
+     * final cell, so a bullet and an enemy that swap cells in a single tick (or an object that skips over
+     * the ship) still collide. Paths are bucketed into a spatial index, keeping the pass O(n).
+     * Objects whose paths share a cell collide only if they overlapped at the same moment, assuming each
+     * moved in a straight line at constant speed over the tick; an object that passed through a cell
+     * after another had already left it is not hit. Two diagonal paths that cross at a corner without
+     * sharing a cell are not detected.
+     * Outcomes and log messages are the same as for the discrete pass.
+     *
+     * @param enabled - true to test path segments, false to test only end-of-tick cells.
+     */
+    public void setSweptCollisions(boolean enabled) {
+        this.sweptCollisions = enabled;
+    }
+
+    /**
+     * Returns whether swept collision detection is enabled.
+     *
+     * @return true if swept collisions are enabled.
+     */
+    public boolean isSweptCollisions() {
+        return sweptCollisions;
+    }
+
+    /**
+     * Registers the outcome of every pair of kinds that interact. The ship's row handles objects reaching
+     * the ship; other rows handle legacy Bullet objects. Projectile rows decide what pooled projectiles do.
+     */
+    private void registerCollisions() {
+        collisions.register(EntityKind.SHIP, EntityKind.HEALTH_POWER_UP, this::collectPowerUp);
+        collisions.register(EntityKind.SHIP, EntityKind.SHIELD_POWER_UP, this::collectPowerUp);
+        collisions.register(EntityKind.SHIP, EntityKind.RAPID_FIRE_POWER_UP, this::collectPowerUp);
+        collisions.register(EntityKind.SHIP, EntityKind.SLOW_TIME_POWER_UP, this::collectPowerUp);
+        collisions.register(EntityKind.SHIP, EntityKind.ASTEROID, this::hitByAsteroid);
+        collisions.register(EntityKind.SHIP, EntityKind.ENEMY, this::hitByEnemy);
+        collisions.register(EntityKind.BULLET, EntityKind.ENEMY, this::bulletHitsEnemy);
+
+        projectileHits.register(EntityKind.BULLET, EntityKind.ENEMY, (type, x, y, target) -> {
+            projectileVictims.add(target);
+            enemiesDestroyed++;
+            logger.log("Bullet hit enemy! Removed.");
+            return ProjectileSystem.DESTROYED;
+        });
+        projectileHits.register(EntityKind.BULLET, EntityKind.ASTEROID, (type, x, y, target) -> {
+            projectileVictims.add(target);
+            return ProjectileSystem.DESTROYED;
+        });
+        projectileHits.register(EntityKind.ENEMY_BULLET, EntityKind.SHIP, (type, x, y, target) -> {
+            logHit((Ship) target, "Hit by enemy fire!", ENEMY_FIRE_DAMAGE);
+            ((Ship) target).takeDamage(ENEMY_FIRE_DAMAGE);
+            enemyHits++;
+            return ProjectileSystem.ABSORBED;
+        });
+        projectileHits.register(EntityKind.ENEMY_BULLET, EntityKind.ASTEROID,
+                (type, x, y, target) -> ProjectileSystem.ABSORBED);
+    }
+
+    private void collectPowerUp(SpaceObject ship, SpaceObject obj) {
+        logger.log("Power-up collected: " + obj.render());
+        ((PowerUp) obj).applyEffect((Ship) ship);
+        powerUpsCollected++;
+        removeLater.add(obj);
+    }
+
+    private void hitByAsteroid(SpaceObject ship, SpaceObject obj) {
+        logHit((Ship) ship, "Hit by asteroid!", ASTEROID_DAMAGE);
+        ((Ship) ship).takeDamage(ASTEROID_DAMAGE);
+        asteroidHits++;
+        removeLater.add(obj);
+    }
+
+    private void hitByEnemy(SpaceObject ship, SpaceObject obj) {
+        logHit((Ship) ship, "Hit by enemy!", ENEMY_DAMAGE);
+        ((Ship) ship).takeDamage(ENEMY_DAMAGE);
+        enemyHits++;
+        removeLater.add(obj);
+    }
+
+    /**
+     * Logs "{hit} Health reduced by {damage}.", or "{hit} Absorbed by shield." if the ship is shielded
+     * and will take no damage.
+     */
+    private void logHit(Ship ship, String hit, int damage) {
+        if (ship.getEffects().isActive(StatusEffect.SHIELD)) {
+            logger.log(hit + " Absorbed by shield.");
+        } else {
+            logger.log(hit + " Health reduced by " + damage + ".");
+        }
+    }
+
+    private void bulletHitsEnemy(SpaceObject bullet, SpaceObject enemy) {
+        removeLater.add(bullet); // Remove bullet
+        removeLater.add(enemy); // Remove enemy
+        enemiesDestroyed++;
+        logger.log("Bullet hit enemy! Removed.");
+    }
+
+    /**
+     * Returns the kind of every object in the list, in a reused array.
+     */
+    private int[] kindsOf(List<SpaceObject> objects) {
+        int count = objects.size();
+        if (objectKinds.length < count) {
+            objectKinds = new int[Math.max(count, objectKinds.length * 2)];
+        }
+        for (int i = 0; i < count; i++) {
+            objectKinds[i] = objects.get(i).getKind();
+        }
+        return objectKinds;
+    }
+
+    /**
+     * Swept variant of checkCollisions(). Each object's path is inserted into the spatial index, and
+     * the paths of the ship and of every other kind with handlers are then queried against it; objects
+     * whose paths share a cell are then checked with pathsMeet(). Objects
+     * are processed in list order so that logging order matches the discrete pass. Each object can be hit
+     * by at most one non-ship object per pass.
+     */
+    private void checkSweptCollisions() {
+        List<SpaceObject> objects = allSpaceObjects;
+        int count = objects.size();
+        int[] kinds = kindsOf(objects);
+        int shipKind = ship.getKind();
+        spatialIndex.clear();
+        for (int i = 0; i < count; i++) {
+            insertPath(objects.get(i), i);
+        }
+
+        if (alreadyHit.length < count) {
+            alreadyHit = new boolean[Math.max(count, alreadyHit.length * 2)];
+            hitStamp = new int[alreadyHit.length];
+        }
+        Arrays.fill(alreadyHit, 0, count, false);
+        for (int s = 0; s < ships.size(); s++) {
+            Ship player = ships.get(s);
+            int hits = collectShipHits(player);
+            for (int h = 0; h < hits; h++) {
+                int i = shipHits[h];
+                CollisionMatrix.Handler handler = collisions.get(shipKind, kinds[i]);
+                if (handler != null && pathsMeet(player, objects.get(i))) {
+                    handler.onCollision(player, objects.get(i));
                 }
             }
         }
-        for (SpaceObject obj1 : allSpaceObjectsCopy) {
-            if (!(obj1 instanceof Bullet)) {
+
+        for (int i = 0; i < count; i++) {
+            if (kinds[i] == shipKind || !collisions.hasHandlers(kinds[i])) {
                 continue;
             }
+            SpaceObject obj = objects.get(i);
+            resetPath(obj);
+            while (cellPath.next()) {
+                for (int entry = spatialIndex.firstInCell(cellPath.x(), cellPath.y());
+                     entry != -1; entry = spatialIndex.nextInCell(entry)) {
+                    int id = spatialIndex.idOf(entry);
+                    CollisionMatrix.Handler handler = collisions.get(kinds[i], kinds[id]);
+                    if (!alreadyHit[id] && handler != null && pathsMeet(obj, objects.get(id))) {
+                        alreadyHit[id] = true;
+                        handler.onCollision(obj, objects.get(id));
+                    }
+                }
+            }
+        }
+        if (!removeLater.isEmpty()) {
+            allSpaceObjects.removeAll(removeLater);
+            removeLater.clear();
+        }
+    }
 
-            for (SpaceObject obj2 : allSpaceObjectsCopy) {
-                if (obj2 instanceof Enemy) { // Now only checking enemies, ignoring asteroids
-                    if (obj1.getX() == obj2.getX() && obj1.getY() == obj2.getY()) {
-                        removeLater.add(obj1); // Remove bullet
-                        removeLater.add(obj2); // Remove enemy
-                        logger.log("Bullet hit enemy! Removed.");
+    /**
+     * Collects the indices of the objects whose paths meet the ship's path into shipHits, each once and in
+     * list order, so the cost depends on the objects hit rather than on every object.
+     *
+     * @return the number of objects hit.
+     */
+    private int collectShipHits(Ship player) {
+        if (++stamp == 0) { // wrapped around: old stamps could collide
+            Arrays.fill(hitStamp, 0);
+            stamp = 1;
+        }
+        int hits = 0;
+        resetPath(player);
+        while (cellPath.next()) {
+            for (int entry = spatialIndex.firstInCell(cellPath.x(), cellPath.y());
+                 entry != -1; entry = spatialIndex.nextInCell(entry)) {
+                int id = spatialIndex.idOf(entry);
+                if (hitStamp[id] != stamp) {
+                    hitStamp[id] = stamp;
+                    if (hits == shipHits.length) {
+                        shipHits = Arrays.copyOf(shipHits, hits * 2);
                     }
+                    shipHits[hits++] = id;
+                }
+            }
+        }
+        Arrays.sort(shipHits, 0, hits);
+        return hits;
+    }
+
+    /**
+     * Returns whether two objects overlapped at some moment since the last collision pass, assuming both
+     * moved in a straight line at constant speed from their marked to their current positions.
+     * Objects overlap while they are less than one cell apart on both axes. Their offset moves linearly
+     * from p to p + q over the pass, so on each axis this holds for an open interval of the pass; the
+     * intervals are kept as exact fractions and intersected with the pass.
+     */
+    private static boolean pathsMeet(SpaceObject a, SpaceObject b) {
+        int startDX = previousX(a) - previousX(b);
+        int startDY = previousY(a) - previousY(b);
+        int endDX = a.getX() - b.getX();
+        int endDY = a.getY() - b.getY();
+        long lowNum = -1; // overlapping after lowNum / lowDen
+        long lowDen = 1;
+        long highNum = 2; // and before highNum / highDen of the pass
+        long highDen = 1;
+        for (int axis = 0; axis < 2; axis++) {
+            int p = axis == 0 ? startDX : startDY;
+            int q = axis == 0 ? endDX - startDX : endDY - startDY;
+            if (q == 0) {
+                if (p != 0) {
+                    return false;
                 }
+                continue;
+            }
+            long den = Math.abs(q);
+            long low = q > 0 ? -1 - p : p - 1;
+            long high = q > 0 ? 1 - p : p + 1;
+            if (low * lowDen > lowNum * den) {
+                lowNum = low;
+                lowDen = den;
+            }
+            if (high * highDen < highNum * den) {
+                highNum = high;
+                highDen = den;
+            }
+        }
+        return lowNum * highDen < highNum * lowDen && lowNum < lowDen && highNum > 0;
+    }
+
+    /**
+     * Returns the x coordinate the object's path started at; objects without one are stationary.
+     */
+    private static int previousX(SpaceObject obj) {
+        return obj instanceof ObjectWithPosition positioned ? positioned.getPreviousX() : obj.getX();
+    }
+
+    /**
+     * Returns the y coordinate the object's path started at; objects without one are stationary.
+     */
+    private static int previousY(SpaceObject obj) {
+        return obj instanceof ObjectWithPosition positioned ? positioned.getPreviousY() : obj.getY();
+    }
+
+    /**
+     * Inserts every cell on the object's path since the last collision pass into the spatial index.
+     */
+    private void insertPath(SpaceObject obj, int id) {
+        resetPath(obj);
+        while (cellPath.next()) {
+            spatialIndex.insert(cellPath.x(), cellPath.y(), id);
+        }
+    }
+
+    /**
+     * Starts cellPath on the object's path since the last collision pass.
+     * Objects without a tracked previous position are treated as stationary.
+     */
+    private void resetPath(SpaceObject obj) {
+        if (obj instanceof ObjectWithPosition positioned) {
+            cellPath.reset(positioned.getPreviousX(), positioned.getPreviousY(), obj.getX(), obj.getY());
+        } else {
+            cellPath.reset(obj.getX(), obj.getY(), obj.getX(), obj.getY());
+        }
+    }
+
+    /**
+     * Marks the current position of every object as the start of its next swept path.
+     */
+    private void markPositions() {
+        for (SpaceObject obj : allSpaceObjects) {
+            if (obj instanceof ObjectWithPosition positioned) {
+                positioned.markPosition();
             }
         }
-        allSpaceObjects.removeAll(removeLater);
     }
 
     /**
@@ -174,16 +838,72 @@ public class GameModel {
     }
 
     /**
-     * Fires a bullet from the ship's current position.
+     * Fires a bullet from the first player's ship. See fireBullet(int).
+     */
+    public void fireBullet() {
+        fireBullet(0);
+    }
+
+    /**
+     * Fires a bullet from the given player's ship's current position.
      *
-     * Creates a new bullet at the coordinates the ship occupies.
+     * Creates a new bullet at the coordinates the ship occupies, in the projectile system; it is listed
+     * as a Bullet by getSpaceObjects().
      * Logs "Core.Bullet fired!"
+     *
+     * @param player - the index of the player firing.
      */
-    public void fireBullet() {
-        addObject(new Bullet(ship.getX(), ship.getY()));
+    public void fireBullet(int player) {
+        Ship shooter = ships.get(player);
+        projectiles.fire(ProjectileType.PLAYER_BULLET, shooter.getX(), shooter.getY());
         logger.log("Core.Bullet fired!");
     }
 
+    /**
+     * Returns the number of times the ship has been hit by an asteroid.
+     *
+     * @return the number of asteroid hits.
+     */
+    public int getAsteroidHits() {
+        return asteroidHits;
+    }
+
+    /**
+     * Returns the number of times the ship has been hit by an enemy or enemy fire.
+     *
+     * @return the number of enemy hits.
+     */
+    public int getEnemyHits() {
+        return enemyHits;
+    }
+
+    /**
+     * Returns the number of power-ups the ship has collected.
+     *
+     * @return the number of power-ups collected.
+     */
+    public int getPowerUpsCollected() {
+        return powerUpsCollected;
+    }
+
+    /**
+     * Returns the number of enemies destroyed by bullets.
+     *
+     * @return the number of enemies destroyed.
+     */
+    public int getEnemiesDestroyed() {
+        return enemiesDestroyed;
+    }
+
+    /**
+     * Returns the seed of the random number generator used for spawning.
+     *
+     * @return the current seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
     /**
      * Returns the current level.
      *
@@ -193,15 +913,72 @@ public class GameModel {
         return level;
     }
 
+    /**
+     * Plays levels from the given loader instead of raising the spawn rate at fixed score thresholds.
+     * Waits for the first level to load and starts it immediately; later levels are picked up by
+     * levelUp() once they have loaded in the background. If the loader has no levels, nothing changes.
+     *
+     * @param levels - the loader to take levels from.
+     */
+    public void setLevels(LevelLoader levels) {
+        this.levels = levels;
+        LevelDefinition first = levels.take();
+        if (first != null) {
+            startLevel(first);
+        }
+    }
+
+    /**
+     * Returns the level definition being played, or null if levels are not loaded from a file.
+     *
+     * @return the current level definition, or null.
+     */
+    public LevelDefinition getLevelDefinition() {
+        return currentLevel;
+    }
+
+    private void startLevel(LevelDefinition definition) {
+        currentLevel = definition;
+        level = definition.getNumber();
+        spawnRate = definition.getAsteroidRate();
+        boardWidth = definition.getWidth();
+        boardHeight = definition.getHeight();
+        for (Ship player : ships) {
+            player.confineTo(boardWidth, boardHeight);
+        }
+        levelTicks = 0;
+        waveCursor = 0;
+    }
+
     /**
      * If level progression requirements are satisfied, levels up the game by increasing the spawn rate and level number.
      *
      * To level up, the score must not be less than the current level multiplied by the score threshold.
      * To increase the level the spawn rate should increase by SPAWN_RATE_INCREASE, and the level number should increase by 1.
      * If the level is increased, log the following: "Level Up! Welcome to Level {new level}. Spawn rate increased to {new spawn rate}%."
+     *
+     * When levels are loaded from a file (see setLevels()), the game instead moves to the next level once
+     * the current level's win conditions are met and the next level has finished loading.
+     *
+     * With several ships, the players' combined score counts towards levelling.
      */
     public void levelUp() {
-        if (!(ship.getScore() < level * SCORE_THRESHOLD)) {
+        if (levels != null) {
+            if (currentLevel == null || !currentLevel.isWon(getTeamScore(), levelTicks)) {
+                return;
+            }
+            LevelDefinition next = levels.poll();
+            if (next != null) {
+                startLevel(next);
+                logger.log("Level Up! Welcome to Level "
+                        + level
+                        + " Spawn rate increased to "
+                        + spawnRate
+                        + "%");
+            }
+            return;
+        }
+        if (!(getTeamScore() < level * SCORE_THRESHOLD)) {
             spawnRate += SPAWN_RATE_INCREASE;
             level += 1;
             logger.log("Level Up! Welcome to Level "
@@ -226,46 +1003,133 @@ public class GameModel {
      * 6. If spawning a power-up, spawn at x-coordinate = random.nextInt(GAME_WIDTH)
      * 7. If spawning a power-up, spawn a ShieldPowerUp if random.nextBoolean(), else a HealthPowerUp.
      *
+     * Then a RapidFirePowerUp or SlowTimePowerUp spawns with EFFECT_POWER_UP_SPAWN_RATE of the power-up
+     * chance, drawn from a separate random number generator seeded from the same seed.
+     *
      * Failure to match random calls correctly will result in failed tests.
      *
      * Objects spawn at y = 0 (top of the screen).
-     * Objects may not spawn if there is a ship at the intended spawn location.
+     * Objects may not spawn if there is a ship (of any player) at the intended spawn location.
      * This should NOT impact calls to random.
+     *
+     * When a level definition is being played, its spawn chances and board width are used instead, and its
+     * scripted waves due by this tick of the level are spawned after the random spawns.
+     *
+     * When a DifficultyController has been set, every spawn chance is scaled by it, and nothing spawns
+     * (scripted waves included) while the live entities are at its cap. The random calls are unchanged.
      */
     public void spawnObjects() {
+        int width = boardWidth;
+        double asteroidRate = spawnRate;
+        double enemyRate = currentLevel == null ? spawnRate * ENEMY_SPAWN_RATE : currentLevel.getEnemyRate();
+        double powerUpRate = currentLevel == null ? spawnRate * POWER_UP_SPAWN_RATE : currentLevel.getPowerUpRate();
+        boolean atCap = false;
+        if (difficulty != null) {
+            asteroidRate = difficulty.scale(asteroidRate);
+            enemyRate = difficulty.scale(enemyRate);
+            powerUpRate = difficulty.scale(powerUpRate);
+            atCap = allSpaceObjects.size() + projectiles.size() >= difficulty.getEntityCap();
+        }
+
         // Asteroid
-        if (random.nextInt(100) < spawnRate) {
-            int x = random.nextInt(GAME_WIDTH);
-            if (!(ship.getX() == x && ship.getY() == 0)) {
+        if (random.nextInt(100) < asteroidRate) {
+            int x = random.nextInt(width);
+            if (!isShipAt(x, 0) && !atCap) {
                 addObject(new Asteroid(x, 0));
             }
         } else {
-            random.nextInt(GAME_WIDTH);
+            random.nextInt(width);
         }
 
         // Enemy
-        if (random.nextInt(100) < spawnRate * ENEMY_SPAWN_RATE) {
-            int x = random.nextInt(GAME_WIDTH);
-            if (!(ship.getX() == x && ship.getY() == 0)) {
+        if (random.nextInt(100) < enemyRate) {
+            int x = random.nextInt(width);
+            if (!isShipAt(x, 0) && !atCap) {
                 addObject(new Enemy(x, 0));
             }
         } else {
-            random.nextInt(GAME_WIDTH);
+            random.nextInt(width);
         }
 
         // Power‑Up
-        if (random.nextInt(100) < spawnRate * POWER_UP_SPAWN_RATE) {
-            int x = random.nextInt(GAME_WIDTH);
+        if (random.nextInt(100) < powerUpRate) {
+            int x = random.nextInt(width);
             PowerUp powerUp = random.nextBoolean()
                     ? new ShieldPowerUp(x, 0)
                     : new HealthPowerUp(x, 0);
-            if (!(ship.getX() == x && ship.getY() == 0)) {
+            if (!isShipAt(x, 0) && !atCap) {
                 addObject(powerUp);
             }
         } else {
-            random.nextInt(GAME_WIDTH);
+            random.nextInt(width);
             random.nextBoolean();
         }
+        spawnEffectPowerUp(width, powerUpRate * EFFECT_POWER_UP_SPAWN_RATE, atCap);
+
+        if (currentLevel != null) {
+            spawnWaves(atCap);
+        }
+        if (pluginSpawnKinds.length > 0) {
+            spawnPlugins(width, atCap);
+        }
+    }
+
+    /**
+     * Spawns a RapidFirePowerUp or a SlowTimePowerUp, each equally likely, at the top of the board with the
+     * given chance. Draws from its own random number generator so the random calls above are unchanged.
+     */
+    private void spawnEffectPowerUp(int width, double chance, boolean atCap) {
+        if (effectRandom.nextDouble() * 100 < chance) {
+            int x = effectRandom.nextInt(width);
+            PowerUp powerUp = effectRandom.nextBoolean()
+                    ? new RapidFirePowerUp(x, 0)
+                    : new SlowTimePowerUp(x, 0);
+            if (!isShipAt(x, 0) && !atCap) {
+                addObject(powerUp);
+            }
+        }
+    }
+
+    /**
+     * Spawns plugin entities at the top of the board by their registered chances, scaled like the built-in
+     * chances when a DifficultyController has been set.
+     */
+    private void spawnPlugins(int width, boolean atCap) {
+        for (int i = 0; i < pluginSpawnKinds.length; i++) {
+            double chance = difficulty == null ? pluginSpawnChances[i] : difficulty.scale(pluginSpawnChances[i]);
+            if (pluginRandom.nextDouble() * 100 < chance) {
+                int x = pluginRandom.nextInt(width);
+                if (!isShipAt(x, 0) && !atCap) {
+                    addObject(plugins.create(pluginSpawnKinds[i], x, 0));
+                }
+            }
+        }
+    }
+
+    /**
+     * Spawns the current level's scripted spawns that are due by this tick of the level. Spawns due while
+     * the game is at its entity cap are skipped.
+     */
+    private void spawnWaves(boolean atCap) {
+        int count = currentLevel.getWaveCount();
+        while (waveCursor < count && currentLevel.getWaveTick(waveCursor) <= levelTicks) {
+            int x = currentLevel.getWaveX(waveCursor);
+            int kind = currentLevel.getWaveKind(waveCursor++);
+            if (isShipAt(x, 0) || atCap) {
+                continue;
+            }
+            switch (kind) {
+                case EntityKind.ASTEROID -> addObject(new Asteroid(x, 0));
+                case EntityKind.ENEMY -> addObject(new Enemy(x, 0));
+                case EntityKind.SHIELD_POWER_UP -> addObject(new ShieldPowerUp(x, 0));
+                case EntityKind.HEALTH_POWER_UP -> addObject(new HealthPowerUp(x, 0));
+                case EntityKind.RAPID_FIRE_POWER_UP -> addObject(new RapidFirePowerUp(x, 0));
+                case EntityKind.SLOW_TIME_POWER_UP -> addObject(new SlowTimePowerUp(x, 0));
+                default -> {
+                }
+            }
+        }
+        levelTicks++;
     }
 
 
@@ -279,6 +1143,8 @@ public class GameModel {
      * @provided
      */
     public void setRandomSeed(int seed) {
+        this.seed = seed;
         this.random.setSeed(seed);
+        this.effectRandom.setSeed(Long.reverse(seed));
     }
 }
\ No newline at end of file
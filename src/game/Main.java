@@ -1,21 +1,81 @@
 package game;
 
+import game.ai.DifficultyController;
+import game.ai.EnemyAI;
+import game.input.KeyBindings;
+import game.level.LevelLoader;
+import game.persistence.FramePlayer;
+import game.persistence.FrameRecorder;
+import game.persistence.ReplayCapture;
+import game.persistence.ReplayCorpus;
+import game.persistence.SessionStore;
+import game.plugin.EntityRegistry;
 import game.ui.gui.GUI;
+import game.ui.terminal.TerminalUI;
 import game.ui.UI;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.ServiceConfigurationError;
+
 /**
  * Entry point for the Space Shooter game.
  * @provided
  */
 public class Main {
+    private static final int ENEMY_AI_BATCH = 64;
+    private static final long ENEMY_AI_BUDGET_NANOS = 1_000_000L;
+
     /**
      * The game entry point.
-     * @param args command-line arguments (unused)
+     * @param args command-line arguments; "--terminal" plays in the terminal instead of a window, and
+     *             "--levels {file}" plays the levels in the given level file, and "--software-render"
+     *             rasterizes the window's frames on worker threads. "--record {file}" records the game's
+     *             frames to the given file, "--play {file}" plays such a recording instead of a game,
+     *             "--adaptive" adapts spawning to the player and holds ticks within their time budget,
+     *             "--enemy-ai" makes enemies steer towards the ship, dodge bullets and fire back,
+     *             "--swept" tests the paths objects travel each tick for collisions, not just their cells,
+     *             and "--two-player" adds a second ship controlled with I, J, K, L and H.
+     *             Entity plugins on the classpath (see game.plugin.EntityPlugin) are loaded at startup.
+     *             "--capture {file}" adds the session's seed and key presses to the given replay corpus
+     *             when the game is closed, for game.diagnostics.ReplayBenchmark to replay; capture plain
+     *             games, as levels, plugins, extra players and adaptive difficulty are not replayed.
+     *             "--sessions {dir}" records the session's statistics in the session store in the given
+     *             directory when the game is closed.
+     *             "--tick-rate {hz}" steps the game the given number of times per second without changing
+     *             its speed, and "--time-scale {x}" slows the game down (below 1) or speeds it up (above 1),
+     *             at the given tick rate or else the original SimulationClock.BASE_TICK_RATE
      */
     public static void main(String[] args) {
-        UI ui = new GUI();
+        List<String> options = Arrays.asList(args);
+        UI ui;
+        if (options.contains("--terminal")) {
+            ui = new TerminalUI();
+        } else {
+            GUI gui = new GUI();
+            if (options.contains("--software-render")) {
+                gui.enableSoftwareRendering();
+            }
+            ui = gui;
+        }
         ui.start();
 
+        int playOption = options.indexOf("--play");
+        if (playOption >= 0 && playOption + 1 < args.length) {
+            try {
+                new PlaybackController(ui, new FramePlayer(Path.of(args[playOption + 1]))).start();
+                ui.log("Playing " + args[playOption + 1] + ": [ and ] seek, 0-9 jump, P pauses.");
+            } catch (IOException e) {
+                ui.log("Could not open recording: " + e.getMessage());
+            }
+            return;
+        }
+
         ui.log("=====================================");
         ui.log("       Welcome to Space Shooter!     ");
         ui.log("=====================================");
@@ -30,6 +90,115 @@ public class Main {
 
         // Start the game
         GameController gameController = new GameController(ui);
+        int levelsOption = options.indexOf("--levels");
+        if (levelsOption >= 0 && levelsOption + 1 < args.length) {
+            try {
+                gameController.getModel().setLevels(new LevelLoader(Path.of(args[levelsOption + 1])));
+            } catch (IOException | UncheckedIOException e) {
+                ui.log("Could not load levels: " + e.getMessage());
+            }
+        }
+        try {
+            EntityRegistry plugins = EntityRegistry.loadPlugins();
+            if (!plugins.getPluginNames().isEmpty()) {
+                gameController.getModel().setPlugins(plugins);
+                ui.log("Loaded " + plugins.getPluginNames().size() + " plugin(s) adding "
+                        + plugins.getTypeCount() + " entity type(s).");
+            }
+        } catch (ServiceConfigurationError | RuntimeException e) {
+            ui.log("Could not load plugins: " + e.getMessage());
+        }
+        if (options.contains("--two-player")) {
+            gameController.addPlayer(KeyBindings.secondPlayer());
+            ui.log("  I, J, K, L, H - Player 2 Move and Fire");
+        }
+        if (options.contains("--adaptive")) {
+            gameController.getModel().setDifficultyController(new DifficultyController());
+        }
+        if (options.contains("--swept")) {
+            gameController.getModel().setSweptCollisions(true);
+        }
+        if (options.contains("--enemy-ai")) {
+            gameController.getModel().setEnemyAI(new EnemyAI(ENEMY_AI_BATCH, ENEMY_AI_BUDGET_NANOS));
+        }
+        int tickRateOption = options.indexOf("--tick-rate");
+        int timeScaleOption = options.indexOf("--time-scale");
+        if ((tickRateOption >= 0 && tickRateOption + 1 < args.length)
+                || (timeScaleOption >= 0 && timeScaleOption + 1 < args.length)) {
+            try {
+                int tickRate = SimulationClock.BASE_TICK_RATE;
+                if (tickRateOption >= 0 && tickRateOption + 1 < args.length) {
+                    tickRate = Integer.parseInt(args[tickRateOption + 1]);
+                    if (tickRate <= 0) {
+                        throw new NumberFormatException("tick rate must be positive");
+                    }
+                }
+                SimulationClock clock = new SimulationClock(tickRate);
+                if (timeScaleOption >= 0 && timeScaleOption + 1 < args.length) {
+                    double timeScale = Double.parseDouble(args[timeScaleOption + 1]);
+                    if (!(timeScale >= 0)) {
+                        throw new NumberFormatException("time scale must not be negative");
+                    }
+                    clock.setTimeScale(timeScale);
+                }
+                ui.setTickRate(tickRate);
+                gameController.setClock(clock);
+            } catch (NumberFormatException e) {
+                ui.log("Invalid tick rate or time scale: " + e.getMessage());
+            }
+        }
+        FrameRecorder recorder = null;
+        int recordOption = options.indexOf("--record");
+        if (recordOption >= 0 && recordOption + 1 < args.length) {
+            try {
+                recorder = new FrameRecorder(Path.of(args[recordOption + 1]));
+                gameController.setRecorder(recorder);
+            } catch (IOException e) {
+                ui.log("Could not record: " + e.getMessage());
+            }
+        }
+        ReplayCapture capture = null;
+        int captureOption = options.indexOf("--capture");
+        if (captureOption >= 0 && captureOption + 1 < args.length) {
+            int seed = new Random().nextInt();
+            gameController.getModel().setRandomSeed(seed);
+            capture = new ReplayCapture("captured " + LocalDateTime.now(), seed);
+            gameController.setCapture(capture);
+        }
         gameController.startGame();
+        final FrameRecorder openRecorder = recorder;
+        final ReplayCapture openCapture = capture;
+
+        int sessionsOption = options.indexOf("--sessions");
+
+        // Save what was asked for when the game is closed
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            ui.shutdown(); // no tick may touch the game while it is saved
+            gameController.stopGame();
+            if (sessionsOption >= 0 && sessionsOption + 1 < args.length) {
+                try (SessionStore store = new SessionStore(Path.of(args[sessionsOption + 1]))) {
+                    store.record(gameController.createSessionRecord());
+                } catch (IOException e) {
+                    System.err.println("Could not record session: " + e.getMessage());
+                }
+            }
+            if (openCapture != null) {
+                try {
+                    GameModel model = gameController.getModel();
+                    ReplayCorpus.append(Path.of(args[captureOption + 1]), openCapture.toReplay(
+                            model.getTeamScore(), model.getLevel(), model.getObjectCount()));
+                } catch (IOException e) {
+                    System.err.println("Could not save capture: " + e.getMessage());
+                }
+            }
+            if (openRecorder != null) {
+                try {
+                    gameController.setRecorder(null);
+                    openRecorder.close();
+                } catch (IOException e) {
+                    System.err.println("Could not finish recording: " + e.getMessage());
+                }
+            }
+        }));
     }
 }
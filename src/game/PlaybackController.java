@@ -0,0 +1,126 @@
+package game;
+
+import game.persistence.FramePlayer;
+import game.ui.FrameBuffer;
+import game.ui.FrameSnapshot;
+import game.ui.KeyHandler;
+import game.ui.Tickable;
+import game.ui.UI;
+
+import java.io.IOException;
+
+/**
+ * Plays a recording made with FrameRecorder through any UI, for spectators and archived sessions.
+ *
+ * Each tick shows the next recorded frame. When the end is reached the controller waits for more frames,
+ * so a recording that is still being written is followed live. Keys scrub the recording: "[" and "]"
+ * seek back and forward by SEEK_TICKS, "0" to "9" jump to that tenth of the recording, and "P" pauses.
+ */
+public class PlaybackController {
+    /**
+     * The number of ticks "[" and "]" seek by.
+     */
+    public static final int SEEK_TICKS = 100;
+
+    private final UI ui;
+    private final FramePlayer player;
+    private final FrameBuffer frames = new FrameBuffer();
+    private final Tickable tickHandler = this::onTick;
+    private final KeyHandler keyHandler = this::handleKey;
+    private boolean paused = false;
+
+    /**
+     * Creates a controller playing the recording through the UI.
+     *
+     * @param ui - the UI to draw the recording with.
+     * @param player - the recording to play.
+     */
+    public PlaybackController(UI ui, FramePlayer player) {
+        this.ui = ui;
+        this.player = player;
+    }
+
+    /**
+     * Starts playback by registering with the UI.
+     */
+    public void start() {
+        ui.onStep(tickHandler);
+        ui.onKey(keyHandler);
+    }
+
+    /**
+     * Stops playback by removing the handlers registered by start().
+     */
+    public void stop() {
+        ui.removeStep(tickHandler);
+        ui.removeKey(keyHandler);
+    }
+
+    /**
+     * Shows the next frame, unless paused or waiting for more frames.
+     *
+     * @param tick the UI's tick (unused; the recording keeps its own)
+     */
+    public void onTick(int tick) {
+        if (paused) {
+            return;
+        }
+        if (!player.next()) {
+            try {
+                if (!player.refresh() || !player.next()) {
+                    return;
+                }
+            } catch (IOException e) {
+                ui.log("Could not read recording: " + e.getMessage());
+                paused = true;
+                return;
+            }
+        }
+        render();
+    }
+
+    /**
+     * Shows the given tick of the recording.
+     *
+     * @param tick - the tick to show; clamped to the recording.
+     */
+    public void seek(long tick) {
+        if (player.seek(tick)) {
+            render();
+        }
+    }
+
+    /**
+     * Handles a scrubbing key; other keys are ignored.
+     *
+     * @param key - the key pressed.
+     */
+    public void handleKey(String key) {
+        if (key.length() != 1) {
+            return;
+        }
+        char c = Character.toUpperCase(key.charAt(0));
+        if (c == '[') {
+            seek(player.getTick() - SEEK_TICKS);
+        } else if (c == ']') {
+            seek(player.getTick() + SEEK_TICKS);
+        } else if (c >= '0' && c <= '9') {
+            seek(player.getFrameCount() * (c - '0') / 10);
+        } else if (c == 'P') {
+            paused = !paused;
+            ui.log(paused ? "Playback paused." : "Playback resumed.");
+        }
+    }
+
+    private void render() {
+        FrameSnapshot frame = frames.beginWrite();
+        player.writeTo(frame);
+        ui.setStat("Score", String.valueOf(frame.getScore()));
+        ui.setStat("Health", String.valueOf(frame.getHealth()));
+        ui.setStat("Level", String.valueOf(frame.getLevel()));
+        ui.setStat("Time Survived", frame.getTimeSurvivedMillis() / 1000 + " seconds");
+        ui.setStat("Tick", (player.getTick() + 1) + " / " + player.getFrameCount());
+        frames.publish();
+        ui.render(frames);
+    }
+}
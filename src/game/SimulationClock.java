@@ -0,0 +1,139 @@
+package game;
+
+import game.utility.FixedPoint;
+
+/**
+ * Converts real elapsed time into scaled simulation time.
+ *
+ * The simulation may be stepped at any rate (20, 60 or 240 Hz, or unthrottled by a headless driver).
+ * Elapsed simulation time is accumulated and the game is advanced once per BASE_STEP_MICROS of it,
+ * so gameplay is the same in wall-clock terms regardless of the tick rate.
+ */
+public class SimulationClock {
+    /**
+     * The length of one legacy game tick (the original fixed 100ms timer), in microseconds.
+     */
+    public static final long BASE_STEP_MICROS = 100_000L;
+
+    /**
+     * The tick rate of the original fixed timer: one base step per tick.
+     */
+    public static final int BASE_TICK_RATE = (int) (FixedPoint.MICROS_PER_SECOND / BASE_STEP_MICROS);
+
+    /**
+     * The longest real interval a single step may cover; longer gaps (e.g. after a pause) are clamped.
+     */
+    public static final long MAX_STEP_MICROS = 250_000L;
+
+    /**
+     * The tick rate to use for an unthrottled simulation, where steps are driven as fast as possible.
+     */
+    public static final int UNTHROTTLED = 0;
+
+    private final int tickRate;
+    private double timeScale = 1.0;
+    private long baseStepRemainder = 0;
+    private long lastStepNanos = -1;
+    private long nominalSteps = 0;
+
+    /**
+     * Creates a clock for the given tick rate.
+     *
+     * @param tickRate - steps per second, or UNTHROTTLED.
+     * @requires tickRate >= 0
+     */
+    public SimulationClock(int tickRate) {
+        this.tickRate = tickRate;
+    }
+
+    /**
+     * Returns the tick rate of this clock.
+     *
+     * @return steps per second, or UNTHROTTLED.
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Returns the nominal duration of a single step in microseconds.
+     * An unthrottled clock uses the base step duration.
+     *
+     * @return the nominal step length in microseconds.
+     */
+    public long getStepMicros() {
+        return tickRate == UNTHROTTLED ? BASE_STEP_MICROS : FixedPoint.MICROS_PER_SECOND / tickRate;
+    }
+
+    /**
+     * Sets the time-scale factor. Values below 1 give slow motion, above 1 fast-forward.
+     *
+     * @param timeScale - the new time scale.
+     * @requires timeScale >= 0
+     */
+    public void setTimeScale(double timeScale) {
+        this.timeScale = timeScale;
+    }
+
+    /**
+     * Returns the time-scale factor.
+     *
+     * @return the current time scale.
+     */
+    public double getTimeScale() {
+        return timeScale;
+    }
+
+    /**
+     * Returns the length of the next nominal step in microseconds. Unlike getStepMicros(), the rounding
+     * remainder is spread across steps, so tickRate consecutive steps always total exactly one second.
+     * Headless drivers use this to step deterministically without reading the system clock.
+     *
+     * @return the length of the next nominal step in microseconds.
+     */
+    public long nextNominalMicros() {
+        if (tickRate == UNTHROTTLED) {
+            return BASE_STEP_MICROS;
+        }
+        long start = nominalSteps * FixedPoint.MICROS_PER_SECOND / tickRate;
+        nominalSteps = (nominalSteps + 1) % tickRate;
+        long end = (nominalSteps == 0 ? tickRate : nominalSteps) * FixedPoint.MICROS_PER_SECOND / tickRate;
+        return end - start;
+    }
+
+    /**
+     * Measures the real time since the previous call, clamped to MAX_STEP_MICROS.
+     * The first call returns the nominal step length.
+     *
+     * @return the real elapsed time in microseconds.
+     */
+    public long measureRealMicros() {
+        long now = System.nanoTime();
+        long elapsed = lastStepNanos < 0 ? getStepMicros() : (now - lastStepNanos) / 1000;
+        lastStepNanos = now;
+        return Math.min(elapsed, MAX_STEP_MICROS);
+    }
+
+    /**
+     * Converts real elapsed time into simulation time using the time scale.
+     *
+     * @param realMicros - the real elapsed time in microseconds.
+     * @return the simulation time in microseconds.
+     */
+    public long scale(long realMicros) {
+        return (long) (realMicros * timeScale);
+    }
+
+    /**
+     * Accumulates simulation time and returns how many whole base steps have completed.
+     *
+     * @param simulationMicros - elapsed simulation time in microseconds.
+     * @return the number of base steps that elapsed.
+     */
+    public int consumeBaseSteps(long simulationMicros) {
+        baseStepRemainder += simulationMicros;
+        int steps = (int) (baseStepRemainder / BASE_STEP_MICROS);
+        baseStepRemainder -= steps * BASE_STEP_MICROS;
+        return steps;
+    }
+}
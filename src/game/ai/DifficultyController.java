@@ -0,0 +1,165 @@
+package game.ai;
+
+/**
+ * Adapts the spawn rate and caps the number of live entities so that the game stays challenging but
+ * survivable, and a tick never exceeds its time budget, however high the level.
+ *
+ * The controller is fed one observation per tick and keeps exponentially weighted averages of the
+ * players' health trend, their kill rate, the tick time and the entity count. Every ADJUST_INTERVAL ticks
+ * it adjusts:
+ * - the spawn scale, multiplied into the level's spawn chances: lowered while the player loses health
+ *   faster than HEALTH_LOSS_TARGET per tick, raised while they hold their health and keep killing;
+ * - the entity cap: cut in proportion to the overrun whenever the average tick time is over budget
+ *   (and the spawn scale lowered with it), and raised by CAP_STEP while ticks stay under half the budget,
+ *   up to the maximum.
+ * Engine pressure always wins: the spawn scale is never raised while ticks are over budget.
+ */
+public class DifficultyController {
+    /**
+     * The default per-tick time budget, in nanoseconds.
+     */
+    public static final long DEFAULT_TICK_BUDGET_NANOS = 2_000_000L;
+
+    /**
+     * The default maximum number of live entities.
+     */
+    public static final int DEFAULT_MAX_ENTITIES = 500;
+
+    /**
+     * The number of ticks between adjustments.
+     */
+    public static final int ADJUST_INTERVAL = 10;
+
+    /**
+     * The health lost per tick, on average, above which the game is made easier.
+     */
+    public static final double HEALTH_LOSS_TARGET = 0.2;
+
+    /**
+     * How much the entity cap rises per adjustment while ticks are comfortably under budget.
+     */
+    public static final int CAP_STEP = 10;
+
+    private static final double SMOOTHING = 0.05;
+    private static final double SCALE_STEP = 0.1;
+    private static final double MIN_SCALE = 0.25;
+    private static final double MAX_SCALE = 2.0;
+    private static final int MIN_ENTITIES = 16;
+
+    private final long tickBudgetNanos;
+    private final int maxEntities;
+
+    private double spawnScale = 1.0;
+    private int entityCap;
+
+    private boolean observed = false;
+    private int lastHealth;
+    private int lastKills;
+    private double healthTrend = 0;
+    private double killRate = 0;
+    private double tickNanos = 0;
+    private double entities = 0;
+    private int ticks = 0;
+
+    /**
+     * Creates a controller with the default budget and entity limit.
+     */
+    public DifficultyController() {
+        this(DEFAULT_TICK_BUDGET_NANOS, DEFAULT_MAX_ENTITIES);
+    }
+
+    /**
+     * Creates a controller holding ticks under the given budget with at most maxEntities live entities.
+     *
+     * @param tickBudgetNanos - the per-tick time budget, in nanoseconds.
+     * @param maxEntities - the most live entities ever allowed.
+     * @requires tickBudgetNanos > 0 && maxEntities > 0
+     */
+    public DifficultyController(long tickBudgetNanos, int maxEntities) {
+        this.tickBudgetNanos = tickBudgetNanos;
+        this.maxEntities = maxEntities;
+        this.entityCap = maxEntities;
+    }
+
+    /**
+     * Records one tick of telemetry, adjusting the spawn scale and entity cap every ADJUST_INTERVAL ticks.
+     *
+     * @param health - the players' combined health after the tick.
+     * @param enemiesDestroyed - the total number of enemies destroyed so far.
+     * @param liveEntities - the number of live entities after the tick.
+     * @param elapsedNanos - how long the tick took.
+     */
+    public void observe(int health, int enemiesDestroyed, int liveEntities, long elapsedNanos) {
+        if (!observed) {
+            lastHealth = health;
+            lastKills = enemiesDestroyed;
+            tickNanos = elapsedNanos;
+            entities = liveEntities;
+            observed = true;
+        }
+        healthTrend += SMOOTHING * ((health - lastHealth) - healthTrend);
+        killRate += SMOOTHING * ((enemiesDestroyed - lastKills) - killRate);
+        tickNanos += SMOOTHING * (elapsedNanos - tickNanos);
+        entities += SMOOTHING * (liveEntities - entities);
+        lastHealth = health;
+        lastKills = enemiesDestroyed;
+        if (++ticks % ADJUST_INTERVAL == 0) {
+            adjust();
+        }
+    }
+
+    private void adjust() {
+        if (tickNanos > tickBudgetNanos) {
+            // over budget: shrink the population in proportion to the overrun
+            int target = (int) (entities * tickBudgetNanos / tickNanos);
+            entityCap = Math.max(MIN_ENTITIES, Math.min(entityCap, target));
+            spawnScale = Math.max(MIN_SCALE, spawnScale * (1 - SCALE_STEP));
+            return;
+        }
+        if (tickNanos < tickBudgetNanos / 2) {
+            entityCap = Math.min(maxEntities, entityCap + CAP_STEP);
+        }
+        if (-healthTrend > HEALTH_LOSS_TARGET) {
+            spawnScale = Math.max(MIN_SCALE, spawnScale * (1 - SCALE_STEP));
+        } else if (healthTrend >= 0 && killRate > 0) {
+            spawnScale = Math.min(MAX_SCALE, spawnScale * (1 + SCALE_STEP));
+        }
+    }
+
+    /**
+     * Scales a spawn chance by the current spawn scale.
+     *
+     * @param rate - a spawn chance, as a percentage.
+     * @return the adjusted chance, as a percentage.
+     */
+    public double scale(double rate) {
+        return rate * spawnScale;
+    }
+
+    /**
+     * Returns the factor spawn chances are currently multiplied by.
+     *
+     * @return the spawn scale.
+     */
+    public double getSpawnScale() {
+        return spawnScale;
+    }
+
+    /**
+     * Returns the number of live entities above which nothing more should spawn.
+     *
+     * @return the entity cap.
+     */
+    public int getEntityCap() {
+        return entityCap;
+    }
+
+    /**
+     * Returns the smoothed tick time.
+     *
+     * @return the average tick time, in nanoseconds.
+     */
+    public long getAverageTickNanos() {
+        return (long) tickNanos;
+    }
+}
@@ -0,0 +1,210 @@
+package game.ai;
+
+import game.GameModel;
+import game.core.Asteroid;
+import game.core.Enemy;
+import game.core.ProjectileSystem;
+import game.core.ProjectileType;
+import game.core.Ship;
+import game.core.SpaceObject;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Steers enemies towards the nearest ship, away from incoming bullets, and fires back.
+ *
+ * Work per tick is shared and bounded:
+ * - One flow field towards every ship and one bullet occupancy map are built per tick, so the cost of
+ *   navigation does not grow with the number of enemies beyond a single lookup each.
+ * - Enemies are processed round-robin in batches. Each tick resumes where the previous one stopped and
+ *   stops after batchSize decisions or once the time budget is spent, so a large wave is spread over
+ *   several ticks instead of stalling one.
+ *
+ * A time budget of 0 disables the clock check, making decisions depend only on the batch size.
+ * The maps cover the current level's board, which may be smaller than the game's, and are only
+ * reallocated when the board size changes.
+ * GameModel runs the AI on the ticks enemies descend (see DescendingEnemy.DESCENT_INTERVAL).
+ */
+public class EnemyAI {
+    /**
+     * How many cells below an enemy a bullet is considered a threat worth dodging.
+     */
+    public static final int DODGE_RANGE = 3;
+
+    /**
+     * The percentage chance that an enemy lined up with a ship fires.
+     */
+    public static final int FIRE_CHANCE = 10;
+
+    private static final int BUDGET_CHECK_INTERVAL = 16;
+
+    private int width = GameModel.GAME_WIDTH;
+    private int height = GameModel.GAME_HEIGHT;
+    private FlowField flowField = new FlowField(width, height);
+    private boolean[] bulletCells = new boolean[width * height];
+    private final Random random = new Random(); // separate from the model's spawn RNG
+    private final int batchSize;
+    private final long budgetNanos;
+    private int cursor = 0;
+
+    /**
+     * Creates an AI system that makes at most batchSize decisions per tick within the given time budget.
+     *
+     * @param batchSize - the maximum number of enemies to update per tick.
+     * @param budgetNanos - the per-tick time budget in nanoseconds, or 0 for no time limit.
+     * @requires batchSize > 0
+     */
+    public EnemyAI(int batchSize, long budgetNanos) {
+        this.batchSize = batchSize;
+        this.budgetNanos = budgetNanos;
+    }
+
+    /**
+     * Sets the seed of the AI's random number generator, used to decide when to fire.
+     *
+     * @param seed - the seed to set.
+     */
+    public void setRandomSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    /**
+     * Runs one tick of AI decisions.
+     *
+     * @param objects - all objects in the game.
+     * @param projectiles - the live projectiles; player projectiles are dodged.
+     * @param ships - the players' ships; each enemy steers towards the nearest.
+     * @param width - the width of the current level's board.
+     * @param height - the height of the current level's board.
+     * @param fire - called with the position of each shot an enemy fires.
+     * @requires 0 < width <= GameModel.GAME_WIDTH and 0 < height <= GameModel.GAME_HEIGHT
+     */
+    public void update(List<SpaceObject> objects, ProjectileSystem projectiles, List<Ship> ships,
+                       int width, int height, FireHandler fire) {
+        long deadline = System.nanoTime() + budgetNanos;
+        resize(width, height);
+        prepare(objects, projectiles, ships);
+
+        int count = objects.size();
+        int decisions = 0;
+        for (int visited = 0; visited < count && decisions < batchSize; visited++) {
+            if (cursor >= count) {
+                cursor = 0;
+            }
+            if (objects.get(cursor++) instanceof Enemy enemy) {
+                decide(enemy, ships, fire);
+                decisions++;
+                if (budgetNanos > 0 && decisions % BUDGET_CHECK_INTERVAL == 0
+                        && System.nanoTime() > deadline) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reallocates the shared maps if the board size has changed since the last tick.
+     */
+    private void resize(int width, int height) {
+        if (width != this.width || height != this.height) {
+            this.width = width;
+            this.height = height;
+            flowField = new FlowField(width, height);
+            bulletCells = new boolean[width * height];
+        }
+    }
+
+    /**
+     * Builds the shared flow field and bullet map for this tick.
+     */
+    private void prepare(List<SpaceObject> objects, ProjectileSystem projectiles, List<Ship> ships) {
+        flowField.clearBlocked();
+        Arrays.fill(bulletCells, false);
+        for (SpaceObject obj : objects) {
+            if (obj instanceof Asteroid) {
+                flowField.block(obj.getX(), obj.getY());
+            }
+        }
+        for (int i = 0; i < projectiles.size(); i++) {
+            int x = projectiles.getX(i);
+            int y = projectiles.getY(i);
+            if (projectiles.getType(i).getOwner() == ProjectileType.Owner.PLAYER && isOnBoard(x, y)) {
+                bulletCells[y * width + x] = true;
+            }
+        }
+        flowField.clearTargets();
+        for (int i = 0; i < ships.size(); i++) {
+            flowField.addTarget(ships.get(i).getX(), ships.get(i).getY());
+        }
+        flowField.rebuild();
+    }
+
+    /**
+     * Chooses a move for a single enemy: dodge if threatened, otherwise follow the flow field.
+     * Then fires if lined up above any ship.
+     */
+    private void decide(Enemy enemy, List<Ship> ships, FireHandler fire) {
+        int x = enemy.getX();
+        int y = enemy.getY();
+        int best = 0;
+        int bestScore = Integer.MAX_VALUE;
+        for (int dx = -1; dx <= 1; dx++) {
+            int column = x + dx;
+            if (column < 0 || column >= width) {
+                continue;
+            }
+            int score = flowField.distanceAt(column, y);
+            if (isThreatened(column, y)) {
+                score = FlowField.UNREACHABLE;
+            }
+            // prefer holding position on ties
+            if (score < bestScore || (score == bestScore && dx == 0)) {
+                best = dx;
+                bestScore = score;
+            }
+        }
+        enemy.steer(best, width);
+
+        if (isAboveShip(enemy, ships) && random.nextInt(100) < FIRE_CHANCE) {
+            fire.fire(enemy.getX(), enemy.getY() + 1);
+        }
+    }
+
+    private static boolean isAboveShip(Enemy enemy, List<Ship> ships) {
+        for (int i = 0; i < ships.size(); i++) {
+            Ship ship = ships.get(i);
+            if (enemy.getX() == ship.getX() && enemy.getY() < ship.getY()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isThreatened(int x, int y) {
+        for (int row = y + 1; row <= y + DODGE_RANGE; row++) {
+            if (isOnBoard(x, row) && bulletCells[row * width + x]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isOnBoard(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Receives shots fired by enemies.
+     */
+    public interface FireHandler {
+        /**
+         * Fires a shot from the given position.
+         *
+         * @param x - the x coordinate of the shot.
+         * @param y - the y coordinate of the shot.
+         */
+        void fire(int x, int y);
+    }
+}
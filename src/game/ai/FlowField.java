@@ -0,0 +1,132 @@
+package game.ai;
+
+import java.util.Arrays;
+
+/**
+ * A shared distance map over the game board towards the nearest of a set of target cells (the ships).
+ *
+ * The map is rebuilt with one breadth-first pass over the grid, seeded from every target at once, after
+ * which any number of enemies can look up their distance to the nearest target in O(1). Blocked cells (e.g. those occupied by asteroids) are
+ * routed around; cells that cannot reach the target have distance UNREACHABLE.
+ */
+public class FlowField {
+    /**
+     * The distance reported for blocked or unreachable cells, and for cells outside the board.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final int width;
+    private final int height;
+    private final int[] distance;
+    private final boolean[] blocked;
+    private final int[] queue;
+    private int targets = 0;
+
+    /**
+     * Creates a flow field for a board of the given size.
+     *
+     * @param width - the board width in cells.
+     * @param height - the board height in cells.
+     */
+    public FlowField(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.distance = new int[width * height];
+        this.blocked = new boolean[width * height];
+        this.queue = new int[width * height];
+    }
+
+    /**
+     * Clears all blocked cells. Call before marking the obstacles for the next rebuild.
+     */
+    public void clearBlocked() {
+        Arrays.fill(blocked, false);
+    }
+
+    /**
+     * Marks the given cell as impassable for the next rebuild. Cells outside the board are ignored.
+     *
+     * @param x - the x coordinate of the cell.
+     * @param y - the y coordinate of the cell.
+     */
+    public void block(int x, int y) {
+        if (inBounds(x, y)) {
+            blocked[y * width + x] = true;
+        }
+    }
+
+    /**
+     * Removes every target. Call before adding the targets for the next rebuild.
+     */
+    public void clearTargets() {
+        Arrays.fill(distance, UNREACHABLE);
+        targets = 0;
+    }
+
+    /**
+     * Adds a target for the next rebuild. A target outside the board is clamped onto it.
+     *
+     * @param targetX - the x coordinate of the target.
+     * @param targetY - the y coordinate of the target.
+     */
+    public void addTarget(int targetX, int targetY) {
+        int target = clamp(targetY, height) * width + clamp(targetX, width);
+        if (distance[target] != 0) { // ships sharing a cell are one target
+            distance[target] = 0;
+            queue[targets++] = target;
+        }
+    }
+
+    /**
+     * Rebuilds the distance map towards the targets added since clearTargets().
+     */
+    public void rebuild() {
+        int head = 0;
+        int tail = targets;
+        while (head < tail) {
+            int cell = queue[head++];
+            int x = cell % width;
+            int y = cell / width;
+            int next = distance[cell] + 1;
+            if (x > 0) {
+                tail = visit(cell - 1, next, tail);
+            }
+            if (x < width - 1) {
+                tail = visit(cell + 1, next, tail);
+            }
+            if (y > 0) {
+                tail = visit(cell - width, next, tail);
+            }
+            if (y < height - 1) {
+                tail = visit(cell + width, next, tail);
+            }
+        }
+    }
+
+    /**
+     * Returns the distance from the given cell to the target in steps.
+     *
+     * @param x - the x coordinate of the cell.
+     * @param y - the y coordinate of the cell.
+     * @return the distance in steps to the nearest target, or UNREACHABLE.
+     */
+    public int distanceAt(int x, int y) {
+        return inBounds(x, y) ? distance[y * width + x] : UNREACHABLE;
+    }
+
+    private int visit(int cell, int value, int tail) {
+        if (!blocked[cell] && distance[cell] == UNREACHABLE) {
+            distance[cell] = value;
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(size - 1, value));
+    }
+}
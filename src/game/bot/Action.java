@@ -0,0 +1,30 @@
+package game.bot;
+
+import game.input.Command;
+
+/**
+ * The actions an agent can take each step, each mapped onto the Command a player would issue.
+ */
+public enum Action {
+    NOOP(null),
+    UP(Command.MOVE_UP),
+    LEFT(Command.MOVE_LEFT),
+    DOWN(Command.MOVE_DOWN),
+    RIGHT(Command.MOVE_RIGHT),
+    FIRE(Command.FIRE);
+
+    private final Command command;
+
+    Action(Command command) {
+        this.command = command;
+    }
+
+    /**
+     * Returns the command this action corresponds to, or null if the action does nothing.
+     *
+     * @return the command, or null.
+     */
+    public Command getCommand() {
+        return command;
+    }
+}
@@ -0,0 +1,16 @@
+package game.bot;
+
+/**
+ * An automated player that chooses an action from an observation.
+ */
+public interface Agent {
+    /**
+     * Chooses the next action for the environment whose observation starts at the given offset.
+     * The observation is laid out as described by Observation and must not be modified.
+     *
+     * @param observations - the observation buffer, possibly shared by many environments.
+     * @param offset - the index of this environment's observation in the buffer.
+     * @return the action to take.
+     */
+    Action act(int[] observations, int offset);
+}
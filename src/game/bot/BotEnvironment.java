@@ -0,0 +1,106 @@
+package game.bot;
+
+import game.GameModel;
+import game.input.Command;
+import game.ui.headless.HeadlessUI;
+
+/**
+ * A single headless game that an agent can step one action at a time.
+ *
+ * Each step applies the action straight to the model and then advances it by one tick, in the same order
+ * as GameController.onTick() but without rendering. Unlike the controller, moves are not logged, so a
+ * step builds no strings. The reward for a step is the change in score minus any health lost.
+ */
+public class BotEnvironment {
+    private final HeadlessUI ui = new HeadlessUI();
+    private GameModel model;
+    private int tick;
+    private int lastScore;
+    private int lastHealth;
+
+    /**
+     * Creates an environment seeded with the given seed.
+     *
+     * @param seed - the seed for the game's random number generator.
+     */
+    public BotEnvironment(int seed) {
+        reset(seed);
+    }
+
+    /**
+     * Starts a new game with the given seed.
+     *
+     * @param seed - the seed for the game's random number generator.
+     */
+    public void reset(int seed) {
+        model = new GameModel(ui::log);
+        model.setRandomSeed(seed);
+        tick = 0;
+        lastScore = model.getShip().getScore();
+        lastHealth = model.getShip().getHealth();
+    }
+
+    /**
+     * Applies the action and advances the game by one tick.
+     * Moves that would leave the board are ignored.
+     *
+     * @param action - the action to take.
+     * @return the reward for this step.
+     */
+    public int step(Action action) {
+        Command command = action.getCommand();
+        if (command == Command.FIRE) {
+            model.fireBullet();
+        } else if (command != null) {
+            model.getShip().tryMove(command.getDirection());
+        }
+        model.updateGame(tick++);
+        model.checkCollisions();
+        model.spawnObjects();
+        model.levelUp();
+
+        int score = model.getShip().getScore();
+        int health = model.getShip().getHealth();
+        int reward = (score - lastScore) - Math.max(0, lastHealth - health);
+        lastScore = score;
+        lastHealth = health;
+        return reward;
+    }
+
+    /**
+     * Returns whether the game is over because the ship has no health left.
+     *
+     * @return true if the ship has been destroyed.
+     */
+    public boolean isDone() {
+        return model.getShip().getHealth() <= 0;
+    }
+
+    /**
+     * Writes this environment's observation into the buffer at the given offset.
+     *
+     * @param buffer - the buffer to write to.
+     * @param offset - the index to start writing at.
+     */
+    public void observe(int[] buffer, int offset) {
+        Observation.encode(model, buffer, offset);
+    }
+
+    /**
+     * Returns the number of ticks played since the last reset.
+     *
+     * @return the number of ticks.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the model of the current game.
+     *
+     * @return the current model.
+     */
+    public GameModel getModel() {
+        return model;
+    }
+}
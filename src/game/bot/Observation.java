@@ -0,0 +1,145 @@
+package game.bot;
+
+import game.GameModel;
+import game.core.Asteroid;
+import game.core.Enemy;
+import game.core.PowerUp;
+import game.core.ProjectileSystem;
+import game.core.ProjectileType;
+import game.core.Ship;
+import game.core.SpaceObject;
+
+import java.util.Arrays;
+
+/**
+ * Describes and fills the primitive observation given to agents.
+ *
+ * An observation is SIZE ints: one occupancy grid per channel (GAME_WIDTH * GAME_HEIGHT cells each,
+ * row-major, holding the number of objects of that kind in the cell), followed by the ship's health,
+ * score and the level. Observations for many environments are packed back to back in one int[].
+ */
+public final class Observation {
+    /**
+     * Channel holding the ship.
+     */
+    public static final int SHIP = 0;
+
+    /**
+     * Channel holding asteroids.
+     */
+    public static final int ASTEROID = 1;
+
+    /**
+     * Channel holding enemies.
+     */
+    public static final int ENEMY = 2;
+
+    /**
+     * Channel holding power-ups.
+     */
+    public static final int POWER_UP = 3;
+
+    /**
+     * Channel holding projectiles fired by the player.
+     */
+    public static final int PLAYER_PROJECTILE = 4;
+
+    /**
+     * Channel holding projectiles fired by enemies.
+     */
+    public static final int ENEMY_PROJECTILE = 5;
+
+    /**
+     * The number of occupancy channels.
+     */
+    public static final int CHANNELS = 6;
+
+    /**
+     * The number of ints in one channel.
+     */
+    public static final int CHANNEL_SIZE = GameModel.GAME_WIDTH * GameModel.GAME_HEIGHT;
+
+    /**
+     * Offset of the ship's health within an observation.
+     */
+    public static final int HEALTH = CHANNELS * CHANNEL_SIZE;
+
+    /**
+     * Offset of the ship's score within an observation.
+     */
+    public static final int SCORE = HEALTH + 1;
+
+    /**
+     * Offset of the level within an observation.
+     */
+    public static final int LEVEL = HEALTH + 2;
+
+    /**
+     * The number of ints in one observation.
+     */
+    public static final int SIZE = LEVEL + 1;
+
+    private Observation() {
+    }
+
+    /**
+     * Returns the index of the given cell of the given channel, relative to the start of an observation.
+     *
+     * @param channel - the channel.
+     * @param x - the x coordinate of the cell.
+     * @param y - the y coordinate of the cell.
+     * @return the index of the cell.
+     */
+    public static int index(int channel, int x, int y) {
+        return channel * CHANNEL_SIZE + y * GameModel.GAME_WIDTH + x;
+    }
+
+    /**
+     * Writes the observation of the given model into the buffer at the given offset, without allocating.
+     * Objects outside the board are omitted from the grids.
+     *
+     * @param model - the model to observe.
+     * @param buffer - the buffer to write to.
+     * @param offset - the index to start writing at.
+     */
+    public static void encode(GameModel model, int[] buffer, int offset) {
+        Arrays.fill(buffer, offset, offset + SIZE, 0);
+        for (int i = 0, count = model.getObjectCount(); i < count; i++) {
+            SpaceObject obj = model.getObject(i);
+            int channel = channelOf(obj);
+            if (channel >= 0) {
+                mark(buffer, offset, channel, obj.getX(), obj.getY());
+            }
+        }
+        ProjectileSystem projectiles = model.getProjectiles();
+        for (int i = 0, count = projectiles.size(); i < count; i++) {
+            int channel = projectiles.getType(i).getOwner() == ProjectileType.Owner.PLAYER
+                    ? PLAYER_PROJECTILE
+                    : ENEMY_PROJECTILE;
+            mark(buffer, offset, channel, projectiles.getX(i), projectiles.getY(i));
+        }
+        Ship ship = model.getShip();
+        buffer[offset + HEALTH] = ship.getHealth();
+        buffer[offset + SCORE] = ship.getScore();
+        buffer[offset + LEVEL] = model.getLevel();
+    }
+
+    private static int channelOf(SpaceObject obj) {
+        if (obj instanceof Ship) {
+            return SHIP;
+        } else if (obj instanceof Asteroid) {
+            return ASTEROID;
+        } else if (obj instanceof Enemy) {
+            return ENEMY;
+        } else if (obj instanceof PowerUp) {
+            return POWER_UP;
+        }
+        return -1;
+    }
+
+    private static void mark(int[] buffer, int offset, int channel, int x, int y) {
+        if (x >= 0 && x < GameModel.GAME_WIDTH && y >= 0 && y < GameModel.GAME_HEIGHT) {
+            buffer[offset + index(channel, x, y)]++;
+        }
+    }
+}
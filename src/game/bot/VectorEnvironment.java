@@ -0,0 +1,173 @@
+package game.bot;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Steps many BotEnvironments in lockstep, sharing one observation buffer.
+ *
+ * Environments are split into contiguous batches, one per worker thread. Workers are started once and
+ * wait on a barrier between steps, so a step allocates nothing: each worker applies its environments'
+ * actions, records rewards and done flags, resets finished environments and writes their observations
+ * into its slice of the shared buffer.
+ *
+ * Observations, rewards and done flags are valid after step() returns and until the next call.
+ */
+public class VectorEnvironment implements AutoCloseable {
+    private final BotEnvironment[] environments;
+    private final int[] observations;
+    private final int[] rewards;
+    private final boolean[] dones;
+    private final Action[] actions;
+    private final int[] seeds;
+
+    private final Thread[] workers;
+    private final CyclicBarrier start;
+    private final CyclicBarrier finish;
+    private volatile boolean running = true;
+
+    /**
+     * Creates count environments, seeded firstSeed, firstSeed + 1, ..., stepped by the given number of
+     * threads (including the calling thread).
+     *
+     * @param count - the number of environments.
+     * @param threads - the number of threads to step with.
+     * @param firstSeed - the seed of the first environment.
+     * @requires count > 0 && threads > 0
+     */
+    public VectorEnvironment(int count, int threads, int firstSeed) {
+        this.environments = new BotEnvironment[count];
+        this.observations = new int[count * Observation.SIZE];
+        this.rewards = new int[count];
+        this.dones = new boolean[count];
+        this.actions = new Action[count];
+        this.seeds = new int[count];
+        for (int i = 0; i < count; i++) {
+            seeds[i] = firstSeed + i;
+            environments[i] = new BotEnvironment(seeds[i]);
+            environments[i].observe(observations, i * Observation.SIZE);
+        }
+
+        int batches = Math.min(threads, count);
+        this.start = new CyclicBarrier(batches);
+        this.finish = new CyclicBarrier(batches);
+        this.workers = new Thread[batches - 1];
+        for (int w = 1; w < batches; w++) {
+            int from = count * w / batches;
+            int to = count * (w + 1) / batches;
+            workers[w - 1] = new Thread(() -> work(from, to), "vector-env-" + w);
+            workers[w - 1].setDaemon(true);
+            workers[w - 1].start();
+        }
+    }
+
+    /**
+     * Steps every environment with its action. Environments whose game ends are reset with a new seed,
+     * and their done flag is set for this step.
+     *
+     * @param stepActions - one action per environment.
+     * @requires stepActions.length == size()
+     */
+    public void step(Action[] stepActions) {
+        System.arraycopy(stepActions, 0, actions, 0, actions.length);
+        if (workers.length == 0) {
+            stepRange(0, environments.length);
+            return;
+        }
+        await(start);
+        stepRange(0, environments.length / (workers.length + 1));
+        await(finish);
+    }
+
+    /**
+     * Asks the agent for an action for every environment and steps them all.
+     *
+     * @param agent - the agent choosing actions.
+     */
+    public void step(Agent agent) {
+        for (int i = 0; i < environments.length; i++) {
+            actions[i] = agent.act(observations, i * Observation.SIZE);
+        }
+        step(actions);
+    }
+
+    private void work(int from, int to) {
+        while (running) {
+            await(start);
+            if (!running) {
+                return;
+            }
+            stepRange(from, to);
+            await(finish);
+        }
+    }
+
+    private void stepRange(int from, int to) {
+        for (int i = from; i < to; i++) {
+            BotEnvironment environment = environments[i];
+            rewards[i] = environment.step(actions[i]);
+            dones[i] = environment.isDone();
+            if (dones[i]) {
+                seeds[i] += environments.length;
+                environment.reset(seeds[i]);
+            }
+            environment.observe(observations, i * Observation.SIZE);
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (BrokenBarrierException e) {
+            // closed while waiting
+        }
+    }
+
+    /**
+     * Returns the shared observation buffer, holding size() observations of Observation.SIZE ints.
+     *
+     * @return the observation buffer.
+     */
+    public int[] getObservations() {
+        return observations;
+    }
+
+    /**
+     * Returns the reward each environment received on the last step.
+     *
+     * @return the rewards, one per environment.
+     */
+    public int[] getRewards() {
+        return rewards;
+    }
+
+    /**
+     * Returns whether each environment's game ended (and was reset) on the last step.
+     *
+     * @return the done flags, one per environment.
+     */
+    public boolean[] getDones() {
+        return dones;
+    }
+
+    /**
+     * Returns the number of environments.
+     *
+     * @return the number of environments.
+     */
+    public int size() {
+        return environments.length;
+    }
+
+    /**
+     * Stops the worker threads.
+     */
+    @Override
+    public void close() {
+        running = false;
+        start.reset();
+        finish.reset();
+    }
+}
@@ -0,0 +1,89 @@
+package game.collision;
+
+/**
+ * Walks the board cells covered by a straight path between two cells.
+ *
+ * Consecutive cells are always edge-adjacent (the walk never steps diagonally), so an object
+ * that passes between two cells cannot slip through the corner that another object occupies.
+ * A single instance can be reset and reused to avoid allocating per path.
+ *
+ * Example:
+ *     path.reset(fromX, fromY, toX, toY);
+ *     while (path.next()) {
+ *         visit(path.x(), path.y());
+ *     }
+ */
+public class CellPath {
+    private int x;
+    private int y;
+    private int stepX;
+    private int stepY;
+    private int lengthX;
+    private int lengthY;
+    private int takenX;
+    private int takenY;
+    private boolean started;
+
+    /**
+     * Starts a new walk from (fromX, fromY) to (toX, toY), both inclusive.
+     *
+     * @param fromX - the x coordinate of the start cell.
+     * @param fromY - the y coordinate of the start cell.
+     * @param toX - the x coordinate of the end cell.
+     * @param toY - the y coordinate of the end cell.
+     */
+    public void reset(int fromX, int fromY, int toX, int toY) {
+        this.x = fromX;
+        this.y = fromY;
+        this.stepX = Integer.signum(toX - fromX);
+        this.stepY = Integer.signum(toY - fromY);
+        this.lengthX = Math.abs(toX - fromX);
+        this.lengthY = Math.abs(toY - fromY);
+        this.takenX = 0;
+        this.takenY = 0;
+        this.started = false;
+    }
+
+    /**
+     * Advances to the next cell on the path.
+     *
+     * @return true if there was another cell, false if the walk is complete.
+     */
+    public boolean next() {
+        if (!started) {
+            started = true;
+            return true;
+        }
+        if (takenX == lengthX && takenY == lengthY) {
+            return false;
+        }
+        // step along whichever axis the ideal line crosses first
+        if (takenY == lengthY
+                || (takenX < lengthX && (1L + 2L * takenX) * lengthY < (1L + 2L * takenY) * lengthX)) {
+            x += stepX;
+            takenX++;
+        } else {
+            y += stepY;
+            takenY++;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the x coordinate of the current cell.
+     *
+     * @return the current x coordinate.
+     */
+    public int x() {
+        return x;
+    }
+
+    /**
+     * Returns the y coordinate of the current cell.
+     *
+     * @return the current y coordinate.
+     */
+    public int y() {
+        return y;
+    }
+}
@@ -0,0 +1,90 @@
+package game.collision;
+
+import game.core.EntityKind;
+import game.core.SpaceObject;
+
+/**
+ * A table of handlers indexed by a pair of entity kinds (see EntityKind), deciding what happens when
+ * an entity of the first kind meets one of the second.
+ *
+ * Handlers are registered up front, so a collision pass makes one array lookup per candidate pair
+ * instead of a chain of type tests, however many kinds there are. Pairs are ordered: registering
+ * (a, b) does not register (b, a).
+ *
+ * @param <H> the type of handler stored.
+ */
+public class CollisionMatrix<H> {
+    private final int kinds;
+    private final Object[] handlers;
+    private final boolean[] hasRow;
+
+    /**
+     * Creates an empty matrix for every entity kind, built-in or registered (see EntityKind.CAPACITY).
+     */
+    public CollisionMatrix() {
+        this(EntityKind.CAPACITY);
+    }
+
+    /**
+     * Creates an empty matrix for kinds 0 to kinds - 1.
+     *
+     * @param kinds - the number of kinds.
+     */
+    public CollisionMatrix(int kinds) {
+        this.kinds = kinds;
+        this.handlers = new Object[kinds * kinds];
+        this.hasRow = new boolean[kinds];
+    }
+
+    /**
+     * Registers the handler for an entity of the first kind meeting one of the second, replacing any
+     * handler already registered for the pair.
+     *
+     * @param first - the kind of the first entity.
+     * @param second - the kind of the second entity.
+     * @param handler - the handler for the pair.
+     */
+    public void register(int first, int second, H handler) {
+        handlers[first * kinds + second] = handler;
+        hasRow[first] = true;
+    }
+
+    /**
+     * Returns the handler for an entity of the first kind meeting one of the second.
+     *
+     * @param first - the kind of the first entity.
+     * @param second - the kind of the second entity.
+     * @return the registered handler, or null if the pair does not interact or either kind is unknown.
+     */
+    @SuppressWarnings("unchecked")
+    public H get(int first, int second) {
+        if (first < 0 || second < 0 || first >= kinds || second >= kinds) {
+            return null;
+        }
+        return (H) handlers[first * kinds + second];
+    }
+
+    /**
+     * Returns whether any handler has the given kind as its first kind, so that entities of kinds that
+     * never initiate a collision can be skipped.
+     *
+     * @param first - the kind of the first entity.
+     * @return true if the kind has at least one handler.
+     */
+    public boolean hasHandlers(int first) {
+        return first >= 0 && first < kinds && hasRow[first];
+    }
+
+    /**
+     * Handles two objects meeting.
+     */
+    public interface Handler {
+        /**
+         * Handles the first object meeting the second.
+         *
+         * @param first - the object whose kind indexes the row.
+         * @param second - the object whose kind indexes the column.
+         */
+        void onCollision(SpaceObject first, SpaceObject second);
+    }
+}
@@ -0,0 +1,167 @@
+package game.collision;
+
+import java.util.Arrays;
+
+/**
+ * A hashed uniform grid mapping board cells to the integer ids of the objects occupying them.
+ *
+ * Entries are stored in flat int arrays that are reused between ticks, so clearing and
+ * refilling the index costs O(n) in the number of inserted entries and allocates nothing once
+ * the arrays have grown to the working size. Cells are hashed rather than bounded, so objects
+ * outside the board (e.g. a ship that has left the edge) are still indexed correctly.
+ *
+ * Occupants of a cell are visited in insertion order.
+ */
+public class SpatialIndex {
+    private static final int EMPTY = -1;
+
+    private int[] bucketHead;
+    private int[] bucketTail;
+    private int bucketMask;
+
+    private int[] entryX = new int[64];
+    private int[] entryY = new int[64];
+    private int[] entryId = new int[64];
+    private int[] entryNext = new int[64];
+    private int size = 0;
+
+    private int[] touchedBuckets = new int[64];
+    private int touchedCount = 0;
+
+    /**
+     * Creates an index sized for roughly the given number of occupied cells.
+     *
+     * @param expectedCells - the expected number of distinct occupied cells.
+     */
+    public SpatialIndex(int expectedCells) {
+        int buckets = Integer.highestOneBit(Math.max(16, expectedCells) * 2 - 1) << 1;
+        this.bucketHead = new int[buckets];
+        this.bucketTail = new int[buckets];
+        this.bucketMask = buckets - 1;
+        Arrays.fill(bucketHead, EMPTY);
+    }
+
+    /**
+     * Removes all entries from the index. Only buckets used since the last clear are reset.
+     */
+    public void clear() {
+        for (int i = 0; i < touchedCount; i++) {
+            bucketHead[touchedBuckets[i]] = EMPTY;
+        }
+        touchedCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Records that the object with the given id occupies the cell (x, y).
+     *
+     * @param x - the x coordinate of the cell.
+     * @param y - the y coordinate of the cell.
+     * @param id - the caller-defined id of the occupying object.
+     */
+    public void insert(int x, int y, int id) {
+        if (size == entryId.length) {
+            grow();
+        }
+        int entry = size++;
+        entryX[entry] = x;
+        entryY[entry] = y;
+        entryId[entry] = id;
+        entryNext[entry] = EMPTY;
+
+        int bucket = bucket(x, y);
+        if (bucketHead[bucket] == EMPTY) {
+            if (touchedCount == touchedBuckets.length) {
+                touchedBuckets = Arrays.copyOf(touchedBuckets, touchedCount * 2);
+            }
+            touchedBuckets[touchedCount++] = bucket;
+            bucketHead[bucket] = entry;
+        } else {
+            entryNext[bucketTail[bucket]] = entry;
+        }
+        bucketTail[bucket] = entry;
+    }
+
+    /**
+     * Returns the first entry for the cell (x, y), or -1 if the cell is empty.
+     * Use {@link #nextInCell(int)} to continue iterating and {@link #idOf(int)} to read the id.
+     *
+     * @param x - the x coordinate of the cell.
+     * @param y - the y coordinate of the cell.
+     * @return the first entry in the cell, or -1.
+     */
+    public int firstInCell(int x, int y) {
+        int entry = bucketHead[bucket(x, y)];
+        while (entry != EMPTY && (entryX[entry] != x || entryY[entry] != y)) {
+            entry = entryNext[entry];
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the entry following the given one in the same cell, or -1 if there are no more.
+     *
+     * @param entry - an entry previously returned by this index.
+     * @return the next entry in the same cell, or -1.
+     */
+    public int nextInCell(int entry) {
+        int x = entryX[entry];
+        int y = entryY[entry];
+        entry = entryNext[entry];
+        while (entry != EMPTY && (entryX[entry] != x || entryY[entry] != y)) {
+            entry = entryNext[entry];
+        }
+        return entry;
+    }
+
+    /**
+     * Returns the id stored in the given entry.
+     *
+     * @param entry - an entry previously returned by this index.
+     * @return the id of the object in that entry.
+     */
+    public int idOf(int entry) {
+        return entryId[entry];
+    }
+
+    /**
+     * Returns the number of entries currently stored.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int bucket(int x, int y) {
+        int h = x * 0x9E3779B1 + y * 0x85EBCA6B;
+        return (h ^ (h >>> 16)) & bucketMask;
+    }
+
+    private void grow() {
+        int capacity = entryId.length * 2;
+        entryX = Arrays.copyOf(entryX, capacity);
+        entryY = Arrays.copyOf(entryY, capacity);
+        entryId = Arrays.copyOf(entryId, capacity);
+        entryNext = Arrays.copyOf(entryNext, capacity);
+        if (capacity > bucketHead.length) {
+            rehash(bucketHead.length * 2);
+        }
+    }
+
+    private void rehash(int buckets) {
+        bucketHead = new int[buckets];
+        bucketTail = new int[buckets];
+        bucketMask = buckets - 1;
+        Arrays.fill(bucketHead, EMPTY);
+        touchedCount = 0;
+        int entries = size;
+        size = 0;
+        int[] xs = Arrays.copyOf(entryX, entries);
+        int[] ys = Arrays.copyOf(entryY, entries);
+        int[] ids = Arrays.copyOf(entryId, entries);
+        for (int i = 0; i < entries; i++) {
+            insert(xs[i], ys[i], ids[i]);
+        }
+    }
+}
@@ -20,15 +20,26 @@ public class Asteroid extends DescendingEnemy {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.
+     * Returns the ObjectGraphic with the appropriate text representation and image path, shared by
+     * every object of its kind.
      * An Asteroid is represented by the following:
      *      - The text representation is "🌑".
      *      - The image path is "assets/asteroid.png"
      *
-     * @return ObjectGraphic - the appropriate new ObjectGraphic
+     * @return ObjectGraphic - the appropriate ObjectGraphic
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("🌑", "assets/asteroid.png");
+        return EntityKind.getGraphic(EntityKind.ASTEROID);
+    }
+
+    /**
+     * Returns EntityKind.ASTEROID.
+     *
+     * @return the kind of the Asteroid.
+     */
+    @Override
+    public int getKind() {
+        return EntityKind.ASTEROID;
     }
 }
\ No newline at end of file
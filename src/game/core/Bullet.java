@@ -28,16 +28,25 @@ public class Bullet extends ObjectWithPosition {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.
+     * Returns the ObjectGraphic with the appropriate text representation and image path, shared by
+     * every object of its kind.
      * A Bullet is represented by the following:
      *      - The text representation is "🔺".
      *      - The image path is "assets/bullet.png"
      *
-     * @return ObjectGraphic - the appropriate new ObjectGraphic
+     * @return ObjectGraphic - the appropriate ObjectGraphic
      */
     public ObjectGraphic render() {
-        return new ObjectGraphic("🔺", "assets/bullet.png");
+        return EntityKind.getGraphic(EntityKind.BULLET);
     }
 
-
-}
\ No newline at end of file
+    /**
+     * Returns EntityKind.BULLET.
+     *
+     * @return the kind of the Bullet.
+     */
+    @Override
+    public int getKind() {
+        return EntityKind.BULLET;
+    }
+}
@@ -8,6 +8,8 @@ import game.utility.Direction;
  * Represents a controllable object in the space game.
  */
 public abstract class Controllable extends ObjectWithPosition {
+    private int boardWidth = GameModel.GAME_WIDTH;
+    private int boardHeight = GameModel.GAME_HEIGHT;
 
     /**
      * Initializes a new Controllable object instance with coordinates x and y.
@@ -29,38 +31,64 @@ public abstract class Controllable extends ObjectWithPosition {
      * @throws BoundaryExceededException - if attempting to move outside the game boundaries.
      */
     public void move(Direction direction) throws BoundaryExceededException {
-        switch (direction) {
-            case UP -> {
-                if ((y + 1) > GameModel.GAME_HEIGHT) {
-                    throw new BoundaryExceededException("Cannot move up. Out of bounds!");
-                } else {
-                    y -= 1;
-                }
-            }
-            case LEFT -> {
-                if ((x - 1) < 0) {
-                    throw new BoundaryExceededException("Cannot move left. Out of bounds!");
-                } else {
-                    x -= 1;
-                }
-            }
-            case RIGHT -> {
-                if ((x + 1) > GameModel.GAME_WIDTH) {
-                    throw new BoundaryExceededException("Cannot move right. Out of bounds!");
-                } else {
-                    x += 1;
-                }
-            }
-
-            case DOWN -> {
-                if ((y - 1) < 0) {
-                    throw new BoundaryExceededException("Cannot move down. Out of bounds!");
-                } else {
-                    y += 1;
-                }
+        if (tryMove(direction) == MoveResult.BLOCKED) {
+            throw new BoundaryExceededException(blockedMessage(direction));
+        }
+    }
 
-            }
+    /**
+     * Moves the Controllable by one in the direction given if that keeps it on the board (see confineTo()).
+     * Unlike move(), a blocked move is reported through the result rather than an exception, so it costs
+     * no more than a successful one.
+     *
+     * @param direction - the given direction.
+     * @return MOVED if the Controllable moved, or BLOCKED if it stayed where it was.
+     */
+    public MoveResult tryMove(Direction direction) {
+        int newX = x;
+        int newY = y;
+        switch (direction) {
+            case UP -> newY -= 1;
+            case LEFT -> newX -= 1;
+            case RIGHT -> newX += 1;
+            case DOWN -> newY += 1;
+        }
+        if (newX < 0 || newX >= boardWidth || newY < 0 || newY >= boardHeight) {
+            return MoveResult.BLOCKED;
         }
+        x = newX;
+        y = newY;
+        return MoveResult.MOVED;
+    }
 
+    /**
+     * Confines the Controllable to a board of the given size, which may be smaller than the game's:
+     * moves it to the nearest cell on that board if it is outside, and blocks moves off it from now on.
+     *
+     * @param width - the board width.
+     * @param height - the board height.
+     * @requires 0 < width <= GameModel.GAME_WIDTH and 0 < height <= GameModel.GAME_HEIGHT
+     */
+    public void confineTo(int width, int height) {
+        boardWidth = width;
+        boardHeight = height;
+        x = Math.min(x, width - 1);
+        y = Math.min(y, height - 1);
+    }
+
+    /**
+     * Returns the message describing a blocked move in the given direction:
+     * "Cannot move {up/down/left/right}. Out of bounds!"
+     *
+     * @param direction - the direction of the blocked move.
+     * @return the message.
+     */
+    public static String blockedMessage(Direction direction) {
+        return switch (direction) {
+            case UP -> "Cannot move up. Out of bounds!";
+            case LEFT -> "Cannot move left. Out of bounds!";
+            case RIGHT -> "Cannot move right. Out of bounds!";
+            case DOWN -> "Cannot move down. Out of bounds!";
+        };
     }
-}
\ No newline at end of file
+}
@@ -18,14 +18,36 @@ public class Enemy extends DescendingEnemy {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.
+     * Returns the ObjectGraphic with the appropriate text representation and image path, shared by
+     * every object of its kind.
      * A Bullet is represented by the following:
      *      - The text representation is "👾".
      *      - The image path is "assets/enemy.png"
      *
-     * @return ObjectGraphic - the appropriate new ObjectGraphic
+     * @return ObjectGraphic - the appropriate ObjectGraphic
      */
     public ObjectGraphic render() {
-        return new ObjectGraphic("👾", "assets/enemy.png");
+        return EntityKind.getGraphic(EntityKind.ENEMY);
     }
-}
\ No newline at end of file
+
+    /**
+     * Moves the enemy sideways by the given number of columns, staying on a board of the given width.
+     * Used by the enemy AI to steer towards the ships and away from bullets.
+     *
+     * @param dx - the number of columns to move, negative for left.
+     * @param width - the width of the current level's board.
+     */
+    public void steer(int dx, int width) {
+        x = Math.max(0, Math.min(width - 1, x + dx));
+    }
+
+    /**
+     * Returns EntityKind.ENEMY.
+     *
+     * @return the kind of the Enemy.
+     */
+    @Override
+    public int getKind() {
+        return EntityKind.ENEMY;
+    }
+}
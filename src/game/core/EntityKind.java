@@ -0,0 +1,147 @@
+package game.core;
+
+import game.ui.ObjectGraphic;
+
+import java.util.Arrays;
+
+/**
+ * Small integer tags identifying each kind of entity, with the text and image used to draw each kind.
+ *
+ * Tags let renderers and other consumers work from packed primitive data (see FrameSnapshot) instead
+ * of live SpaceObjects.
+ *
+ * Plugins add kinds at startup with register(), after the built-in kinds and up to CAPACITY in all.
+ * Tables indexed by kind should be sized by CAPACITY.
+ */
+public final class EntityKind {
+    public static final int SHIP = 0;
+    public static final int ASTEROID = 1;
+    public static final int ENEMY = 2;
+    public static final int HEALTH_POWER_UP = 3;
+    public static final int SHIELD_POWER_UP = 4;
+    public static final int BULLET = 5;
+    public static final int ENEMY_BULLET = 6;
+    public static final int RAPID_FIRE_POWER_UP = 7;
+    public static final int SLOW_TIME_POWER_UP = 8;
+
+    /**
+     * The number of built-in kinds; valid tags are 0 to COUNT - 1.
+     */
+    public static final int COUNT = 9;
+
+    /**
+     * The most kinds there can be, built-in and registered; valid tags are 0 to count() - 1.
+     */
+    public static final int CAPACITY = 64;
+
+    private static final String[] TEXT = Arrays.copyOf(
+            new String[]{"🚀", "🌑", "👾", "❤️", "💠", "🔺", "🔻", "⚡", "⏳"}, CAPACITY);
+    private static final String[] IMAGE_PATH = Arrays.copyOf(new String[]{
+        "assets/ship.png", "assets/asteroid.png", "assets/enemy.png", "assets/health.png",
+        "assets/shield.png", "assets/bullet.png", "assets/bullet.png", "assets/rapid.png", "assets/slow.png"
+    }, CAPACITY);
+    private static final ObjectGraphic[] GRAPHIC = new ObjectGraphic[CAPACITY]; // created on first use
+    private static int count = COUNT;
+
+    private EntityKind() {
+    }
+
+    /**
+     * Returns the kind of the given object.
+     *
+     * @param object - the object to classify.
+     * @return the object's kind, or -1 if it is not a built-in kind.
+     */
+    public static int of(SpaceObject object) {
+        if (object instanceof Ship) {
+            return SHIP;
+        } else if (object instanceof Asteroid) {
+            return ASTEROID;
+        } else if (object instanceof Enemy) {
+            return ENEMY;
+        } else if (object instanceof HealthPowerUp) {
+            return HEALTH_POWER_UP;
+        } else if (object instanceof ShieldPowerUp) {
+            return SHIELD_POWER_UP;
+        } else if (object instanceof RapidFirePowerUp) {
+            return RAPID_FIRE_POWER_UP;
+        } else if (object instanceof SlowTimePowerUp) {
+            return SLOW_TIME_POWER_UP;
+        } else if (object instanceof Bullet) {
+            return BULLET;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the kind used to draw projectiles of the given type.
+     *
+     * @param type - the projectile type.
+     * @return the projectile's kind.
+     */
+    public static int of(ProjectileType type) {
+        return type.getOwner() == ProjectileType.Owner.PLAYER ? BULLET : ENEMY_BULLET;
+    }
+
+    /**
+     * Adds a new kind, drawn with the given text and image.
+     *
+     * @param text - the text representation.
+     * @param imagePath - the image path, in the asset bundle, on disk or on the classpath.
+     * @return the new kind.
+     * @throws IllegalStateException if CAPACITY kinds already exist.
+     */
+    public static synchronized int register(String text, String imagePath) {
+        if (count == CAPACITY) {
+            throw new IllegalStateException("Too many entity kinds (at most " + CAPACITY + ")");
+        }
+        TEXT[count] = text;
+        IMAGE_PATH[count] = imagePath;
+        return count++;
+    }
+
+    /**
+     * Returns the number of kinds, built-in and registered.
+     *
+     * @return the number of kinds.
+     */
+    public static synchronized int count() {
+        return count;
+    }
+
+    /**
+     * Returns the text representation of the given kind.
+     *
+     * @param kind - a valid kind.
+     * @return the text representation.
+     */
+    public static String getText(int kind) {
+        return TEXT[kind];
+    }
+
+    /**
+     * Returns the graphic shared by every object of the given kind. Its image is not loaded until it is
+     * first drawn.
+     *
+     * @param kind - a valid kind.
+     * @return the kind's graphic.
+     */
+    public static ObjectGraphic getGraphic(int kind) {
+        ObjectGraphic graphic = GRAPHIC[kind];
+        if (graphic == null) {
+            graphic = new ObjectGraphic(TEXT[kind], IMAGE_PATH[kind]); // racing threads create equal graphics
+            GRAPHIC[kind] = graphic;
+        }
+        return graphic;
+    }
+
+    /**
+     * Returns the image path of the given kind.
+     *
+     * @param kind - a valid kind.
+     * @return the image path.
+     */
+    public static String getImagePath(int kind) {
+        return IMAGE_PATH[kind];
+    }
+}
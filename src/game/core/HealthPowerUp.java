@@ -19,26 +19,35 @@ public class HealthPowerUp extends PowerUp {
 
     /**
      * Applies the health effect to the ship, healing it for 20 health.
-     * Sends "Health restored by 20!" to standard output (using System.out.println()).
      *
      * @param ship  -  the ship to apply the effect to.
      */
     @Override
     public void applyEffect(Ship ship) {
         ship.heal(20);
-        System.out.println("Health restored by 20!");
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.
+     * Returns the ObjectGraphic with the appropriate text representation and image path, shared by
+     * every object of its kind.
      * A Bullet is represented by the following:
      *      - The text representation is "❤️".
      *      - The image path is "assets/health.png"
      *
-     * @return ObjectGraphic - the appropriate new ObjectGraphic
+     * @return ObjectGraphic - the appropriate ObjectGraphic
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("❤️", "assets/health.png");
+        return EntityKind.getGraphic(EntityKind.HEALTH_POWER_UP);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns EntityKind.HEALTH_POWER_UP.
+     *
+     * @return the kind of the HealthPowerUp.
+     */
+    @Override
+    public int getKind() {
+        return EntityKind.HEALTH_POWER_UP;
+    }
+}
@@ -0,0 +1,16 @@
+package game.core;
+
+/**
+ * The outcome of attempting to move a Controllable.
+ */
+public enum MoveResult {
+    /**
+     * The object moved one cell.
+     */
+    MOVED,
+
+    /**
+     * The move would have left the board, so the object stayed where it was.
+     */
+    BLOCKED
+}
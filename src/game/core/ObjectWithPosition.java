@@ -9,6 +9,10 @@ public abstract class ObjectWithPosition implements SpaceObject {
 
     protected int y; //The y coordinate of the Object
 
+    private int previousX; //The x coordinate at the last collision pass
+
+    private int previousY; //The y coordinate at the last collision pass
+
     /**
      * Creates a movable and interactive object at the given coordinates.
      *
@@ -18,6 +22,8 @@ public abstract class ObjectWithPosition implements SpaceObject {
     public ObjectWithPosition(int x, int y) {
         this.x = x;
         this.y = y;
+        this.previousX = x;
+        this.previousY = y;
     }
 
     /**
@@ -40,4 +46,32 @@ public abstract class ObjectWithPosition implements SpaceObject {
         return y;
     }
 
+    /**
+     * Returns the x coordinate the object had when its position was last marked.
+     * Together with getX() this describes the path travelled since the last collision pass.
+     *
+     * @return the previously marked x coordinate.
+     */
+    public int getPreviousX() {
+        return previousX;
+    }
+
+    /**
+     * Returns the y coordinate the object had when its position was last marked.
+     * Together with getY() this describes the path travelled since the last collision pass.
+     *
+     * @return the previously marked y coordinate.
+     */
+    public int getPreviousY() {
+        return previousY;
+    }
+
+    /**
+     * Records the current coordinates as the start of the path for the next collision pass.
+     */
+    public void markPosition() {
+        previousX = x;
+        previousY = y;
+    }
+
 }
\ No newline at end of file
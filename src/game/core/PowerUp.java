@@ -4,6 +4,7 @@ package game.core;
  * Represents a power-up in the game.
  */
 public abstract class PowerUp extends ObjectWithPosition implements PowerUpEffect {
+    private boolean expired = false;
 
     /**
      * Creates a new PowerUp with the given coordinate.
@@ -22,4 +23,20 @@ public abstract class PowerUp extends ObjectWithPosition implements PowerUpEffec
      */
     public void tick(int tick){}
 
+    /**
+     * Marks the power-up as expired, so the game removes it without it being collected.
+     */
+    public void expire() {
+        expired = true;
+    }
+
+    /**
+     * Returns whether the power-up has expired.
+     *
+     * @return true if the power-up has expired.
+     */
+    public boolean isExpired() {
+        return expired;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,379 @@
+package game.core;
+
+import game.collision.CellPath;
+import game.collision.SpatialIndex;
+import game.ui.ObjectGraphic;
+import game.utility.FixedPoint;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores and simulates all live projectiles, separately from the model's generic object list.
+ *
+ * Projectiles are kept densely packed in parallel primitive arrays (slots 0 to size - 1 are live).
+ * Removing a projectile moves the last one into its slot, and the arrays only ever grow, so after
+ * warm-up firing and expiring projectiles allocates nothing.
+ *
+ * Collisions are swept: each projectile's path over the step is tested, so opposing bullets that
+ * pass through each other in a single step still collide. Both projectile-vs-projectile and
+ * projectile-vs-object tests go through spatial indices, keeping the pass linear in the number of
+ * projectiles and objects.
+ */
+public class ProjectileSystem {
+    /**
+     * A projectile hit nothing it interacts with.
+     */
+    public static final int MISS = 0;
+
+    /**
+     * The projectile was absorbed by the target, which survives.
+     */
+    public static final int ABSORBED = 1;
+
+    /**
+     * Both the projectile and the target were destroyed.
+     */
+    public static final int DESTROYED = 2;
+
+    private static final ProjectileType[] TYPES = ProjectileType.values();
+
+    private int size = 0;
+    private int[] x = new int[64];
+    private int[] y = new int[64];
+    private int[] previousX = new int[64];
+    private int[] previousY = new int[64];
+    private long[] remainderX = new long[64];
+    private long[] remainderY = new long[64];
+    private byte[] type = new byte[64];
+    private boolean[] dead = new boolean[64];
+    private boolean[] leaving = new boolean[64]; // path ends at the board's edge; released after collide()
+
+    private final SpatialIndex projectileIndex = new SpatialIndex(256);
+    private final SpatialIndex objectIndex = new SpatialIndex(256);
+    private final CellPath path = new CellPath();
+    private final CellPath otherPath = new CellPath();
+    private boolean[] objectDestroyed = new boolean[64];
+
+    /**
+     * Fires a new projectile of the given type from the given cell.
+     *
+     * @param projectileType - the type of projectile.
+     * @param fromX - the x coordinate to fire from.
+     * @param fromY - the y coordinate to fire from.
+     */
+    public void fire(ProjectileType projectileType, int fromX, int fromY) {
+        if (size == x.length) {
+            grow();
+        }
+        int slot = size++;
+        x[slot] = fromX;
+        y[slot] = fromY;
+        previousX[slot] = fromX;
+        previousY[slot] = fromY;
+        remainderX[slot] = 0;
+        remainderY[slot] = 0;
+        type[slot] = (byte) projectileType.ordinal();
+        dead[slot] = false;
+        leaving[slot] = false;
+    }
+
+    /**
+     * Moves every projectile by its type's velocity over the elapsed time, on a board of the given size.
+     *
+     * A projectile that moves off the board stops at the board's edge, so the part of its path on the
+     * board is still tested by the next collide(), and is released once that pass has run. One still
+     * waiting for a collision pass when the next step begins is released without moving.
+     *
+     * @param elapsedMicros - the elapsed simulation time in microseconds.
+     * @param width - the width of the current level's board.
+     * @param height - the height of the current level's board.
+     */
+    public void advance(long elapsedMicros, int width, int height) {
+        final long cell = FixedPoint.ONE * FixedPoint.MICROS_PER_SECOND;
+        for (int i = 0; i < size; i++) {
+            if (leaving[i]) {
+                dead[i] = true;
+                continue;
+            }
+            ProjectileType t = TYPES[type[i]];
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+            remainderX[i] += t.getVelocityX() * elapsedMicros;
+            remainderY[i] += t.getVelocityY() * elapsedMicros;
+            int newX = x[i] + (int) (remainderX[i] / cell);
+            int newY = y[i] + (int) (remainderY[i] / cell);
+            remainderX[i] %= cell;
+            remainderY[i] %= cell;
+            x[i] = Math.max(0, Math.min(width - 1, newX));
+            y[i] = Math.max(0, Math.min(height - 1, newY));
+            leaving[i] = x[i] != newX || y[i] != newY;
+        }
+        compact();
+    }
+
+    /**
+     * Resolves collisions between projectiles, and between projectiles and the given objects.
+     *
+     * Opposing projectiles whose paths share a cell destroy each other. Each remaining projectile is then
+     * offered to the objects its path crosses, in path order, via the handler; the first object that does
+     * not return MISS stops the projectile. Objects reported DESTROYED are not offered to later projectiles.
+     *
+     * Objects that extend ObjectWithPosition are tested along their path since the last collision pass,
+     * so this must run before their positions are marked. Projectiles that reached the board's edge in
+     * the last advance() are released afterwards.
+     *
+     * @param objects - the objects projectiles may hit.
+     * @param handler - decides the outcome of each projectile hitting an object.
+     */
+    public void collide(List<SpaceObject> objects, HitHandler handler) {
+        collideProjectiles();
+
+        int count = objects.size();
+        if (objectDestroyed.length < count) {
+            objectDestroyed = new boolean[Math.max(count, objectDestroyed.length * 2)];
+        }
+        Arrays.fill(objectDestroyed, 0, count, false);
+        objectIndex.clear();
+        for (int i = 0; i < count; i++) {
+            SpaceObject obj = objects.get(i);
+            if (obj instanceof ObjectWithPosition positioned) {
+                path.reset(positioned.getPreviousX(), positioned.getPreviousY(), obj.getX(), obj.getY());
+            } else {
+                path.reset(obj.getX(), obj.getY(), obj.getX(), obj.getY());
+            }
+            while (path.next()) {
+                objectIndex.insert(path.x(), path.y(), i);
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (dead[i]) {
+                continue;
+            }
+            ProjectileType t = TYPES[type[i]];
+            path.reset(previousX[i], previousY[i], x[i], y[i]);
+            while (!dead[i] && path.next()) {
+                for (int entry = objectIndex.firstInCell(path.x(), path.y());
+                     entry != -1 && !dead[i]; entry = objectIndex.nextInCell(entry)) {
+                    int id = objectIndex.idOf(entry);
+                    if (objectDestroyed[id]) {
+                        continue;
+                    }
+                    int outcome = handler.onHit(t, path.x(), path.y(), objects.get(id));
+                    if (outcome != MISS) {
+                        dead[i] = true;
+                        objectDestroyed[id] = outcome == DESTROYED;
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            dead[i] |= leaving[i]; // their paths have now been tested
+        }
+        compact();
+    }
+
+    /**
+     * Destroys pairs of opposing projectiles whose paths share a cell.
+     */
+    private void collideProjectiles() {
+        projectileIndex.clear();
+        for (int i = 0; i < size; i++) {
+            if (TYPES[type[i]].getOwner() == ProjectileType.Owner.ENEMY) {
+                path.reset(previousX[i], previousY[i], x[i], y[i]);
+                while (path.next()) {
+                    projectileIndex.insert(path.x(), path.y(), i);
+                }
+            }
+        }
+        if (projectileIndex.size() == 0) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (TYPES[type[i]].getOwner() != ProjectileType.Owner.PLAYER) {
+                continue;
+            }
+            otherPath.reset(previousX[i], previousY[i], x[i], y[i]);
+            while (!dead[i] && otherPath.next()) {
+                for (int entry = projectileIndex.firstInCell(otherPath.x(), otherPath.y());
+                     entry != -1; entry = projectileIndex.nextInCell(entry)) {
+                    int other = projectileIndex.idOf(entry);
+                    if (!dead[other]) {
+                        dead[i] = true;
+                        dead[other] = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes dead projectiles by moving the last live projectile into each freed slot.
+     */
+    private void compact() {
+        int i = 0;
+        while (i < size) {
+            if (dead[i]) {
+                int last = --size;
+                x[i] = x[last];
+                y[i] = y[last];
+                previousX[i] = previousX[last];
+                previousY[i] = previousY[last];
+                remainderX[i] = remainderX[last];
+                remainderY[i] = remainderY[last];
+                type[i] = type[last];
+                dead[i] = dead[last];
+                leaving[i] = leaving[last];
+                dead[last] = false;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Removes all projectiles.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the number of live projectiles.
+     *
+     * @return the number of live projectiles.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the x coordinate of the projectile in the given slot.
+     *
+     * @param slot - a slot between 0 and size() - 1.
+     * @return the x coordinate.
+     */
+    public int getX(int slot) {
+        return x[slot];
+    }
+
+    /**
+     * Returns the y coordinate of the projectile in the given slot.
+     *
+     * @param slot - a slot between 0 and size() - 1.
+     * @return the y coordinate.
+     */
+    public int getY(int slot) {
+        return y[slot];
+    }
+
+    /**
+     * Returns the type of the projectile in the given slot.
+     *
+     * @param slot - a slot between 0 and size() - 1.
+     * @return the projectile type.
+     */
+    public ProjectileType getType(int slot) {
+        return TYPES[type[slot]];
+    }
+
+    /**
+     * Appends a new SpaceObject describing every live projectile to the given list, for consumers that
+     * work with SpaceObjects. Player bullets are added as Bullets and other projectiles as read-only
+     * snapshots. The added objects are copies: they keep the position they had at the time of the call,
+     * and changing them does not affect the projectiles.
+     *
+     * @param out - the list to add the projectiles to.
+     */
+    public void addSnapshotsTo(List<SpaceObject> out) {
+        for (int i = 0; i < size; i++) {
+            out.add(snapshotOf(TYPES[type[i]], x[i], y[i]));
+        }
+    }
+
+    /**
+     * Returns a new SpaceObject describing a projectile of the given type at the given position: a Bullet
+     * for player bullets, otherwise a read-only snapshot.
+     *
+     * @param projectileType - the type of projectile.
+     * @param x - the x coordinate.
+     * @param y - the y coordinate.
+     * @return a SpaceObject describing the projectile.
+     */
+    public static SpaceObject snapshotOf(ProjectileType projectileType, int x, int y) {
+        if (projectileType == ProjectileType.PLAYER_BULLET) {
+            return new Bullet(x, y);
+        }
+        return new Snapshot(x, y, projectileType);
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        remainderX = Arrays.copyOf(remainderX, capacity);
+        remainderY = Arrays.copyOf(remainderY, capacity);
+        type = Arrays.copyOf(type, capacity);
+        dead = Arrays.copyOf(dead, capacity);
+        leaving = Arrays.copyOf(leaving, capacity);
+    }
+
+    /**
+     * Decides what happens when a projectile reaches an object.
+     */
+    public interface HitHandler {
+        /**
+         * Handles the given projectile type reaching the given object.
+         *
+         * @param projectileType - the type of projectile.
+         * @param x - the x coordinate of the cell where the projectile reached the object.
+         * @param y - the y coordinate of the cell where the projectile reached the object.
+         * @param target - the object the projectile reached.
+         * @return MISS, ABSORBED or DESTROYED.
+         */
+        int onHit(ProjectileType projectileType, int x, int y, SpaceObject target);
+    }
+
+    /**
+     * A read-only SpaceObject describing a pooled projectile at one moment.
+     */
+    private static class Snapshot implements SpaceObject {
+        private final int x;
+        private final int y;
+        private final ProjectileType type;
+
+        private Snapshot(int x, int y, ProjectileType type) {
+            this.x = x;
+            this.y = y;
+            this.type = type;
+        }
+
+        @Override
+        public int getX() {
+            return x;
+        }
+
+        @Override
+        public int getY() {
+            return y;
+        }
+
+        @Override
+        public ObjectGraphic render() {
+            return EntityKind.getGraphic(EntityKind.of(type));
+        }
+
+        @Override
+        public int getKind() {
+            return EntityKind.of(type);
+        }
+
+        @Override
+        public void tick(int tick) {
+        }
+    }
+}
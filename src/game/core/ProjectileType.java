@@ -0,0 +1,73 @@
+package game.core;
+
+import game.utility.FixedPoint;
+
+/**
+ * The kinds of projectile that can be fired, each with an owner and a velocity.
+ */
+public enum ProjectileType {
+    /**
+     * The ship's bullet, travelling up one cell per tick of the original 100ms timer.
+     */
+    PLAYER_BULLET(Owner.PLAYER, 0, FixedPoint.fromInt(-10), "🔺"),
+
+    /**
+     * An enemy's shot, travelling down one cell per tick of the original 100ms timer.
+     */
+    ENEMY_BULLET(Owner.ENEMY, 0, FixedPoint.fromInt(10), "🔻");
+
+    /**
+     * Who fired a projectile. Projectiles only harm the other side, and opposing projectiles destroy each other.
+     */
+    public enum Owner {
+        PLAYER, ENEMY
+    }
+
+    private final Owner owner;
+    private final int velocityX;
+    private final int velocityY;
+    private final String text;
+
+    ProjectileType(Owner owner, int velocityX, int velocityY, String text) {
+        this.owner = owner;
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+        this.text = text;
+    }
+
+    /**
+     * Returns the side that fires this type of projectile.
+     *
+     * @return the owner.
+     */
+    public Owner getOwner() {
+        return owner;
+    }
+
+    /**
+     * Returns the horizontal velocity in 16.16 fixed-point cells per second.
+     *
+     * @return the horizontal velocity.
+     */
+    public int getVelocityX() {
+        return velocityX;
+    }
+
+    /**
+     * Returns the vertical velocity in 16.16 fixed-point cells per second.
+     *
+     * @return the vertical velocity.
+     */
+    public int getVelocityY() {
+        return velocityY;
+    }
+
+    /**
+     * Returns the text representation of this projectile.
+     *
+     * @return the text representation.
+     */
+    public String getText() {
+        return text;
+    }
+}
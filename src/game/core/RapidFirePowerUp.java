@@ -0,0 +1,54 @@
+package game.core;
+
+import game.ui.ObjectGraphic;
+
+/**
+ * Represents a rapid-fire power-up in the game.
+ */
+public class RapidFirePowerUp extends PowerUp {
+
+    /**
+     * Creates a rapid-fire power-up at the given coordinates
+     *
+     * @param x - the x Coordinate.
+     * @param y - the y Coordinate.
+     */
+    public RapidFirePowerUp(int x, int y) {
+        super(x, y);
+    }
+
+    /**
+     * Applies the rapid-fire effect to the ship, making it fire on its own every
+     * GameModel.RAPID_FIRE_INTERVAL ticks for StatusEffect.RAPID_FIRE's duration. Repeated pick-ups stack.
+     *
+     * @param ship  -  the ship to apply the effect to.
+     */
+    @Override
+    public void applyEffect(Ship ship) {
+        ship.getEffects().apply(StatusEffect.RAPID_FIRE);
+    }
+
+    /**
+     * Returns the ObjectGraphic with the appropriate text representation and image path, shared by
+     * every object of its kind.
+     * A RapidFirePowerUp is represented by the following:
+     *      - The text representation is "⚡".
+     *      - The image path is "assets/rapid.png"
+     *
+     * @return ObjectGraphic - the appropriate ObjectGraphic
+     */
+    @Override
+    public ObjectGraphic render() {
+        return EntityKind.getGraphic(EntityKind.RAPID_FIRE_POWER_UP);
+    }
+
+    /**
+     * Returns EntityKind.RAPID_FIRE_POWER_UP.
+     *
+     * @return the kind of the RapidFirePowerUp.
+     */
+    @Override
+    public int getKind() {
+        return EntityKind.RAPID_FIRE_POWER_UP;
+    }
+}
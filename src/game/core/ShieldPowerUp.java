@@ -18,27 +18,38 @@ public class ShieldPowerUp extends PowerUp {
     }
 
     /**
-     * Applies the shield effect to the ship, increasing the score by 50.
-     * Sends "Shield activated! Score increased by 50."
+     * Applies the shield effect to the ship, increasing the score by 50 and making the ship
+     * invulnerable for StatusEffect.SHIELD's duration. Repeated pick-ups stack.
      *
      * @param ship  -  the ship to apply the effect to.
      */
     @Override
     public void applyEffect(Ship ship) {
         ship.addScore(50);
-        System.out.println("Shield activated! Score increased by 50.");
+        ship.getEffects().apply(StatusEffect.SHIELD);
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.
+     * Returns the ObjectGraphic with the appropriate text representation and image path, shared by
+     * every object of its kind.
      * A Bullet is represented by the following:
      *      - The text representation is  "💠".
      *      - The image path is "assets/shield.png"
      *
-     * @return ObjectGraphic - the appropriate new ObjectGraphic
+     * @return ObjectGraphic - the appropriate ObjectGraphic
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("💠", "assets/shield.png");
+        return EntityKind.getGraphic(EntityKind.SHIELD_POWER_UP);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns EntityKind.SHIELD_POWER_UP.
+     *
+     * @return the kind of the ShieldPowerUp.
+     */
+    @Override
+    public int getKind() {
+        return EntityKind.SHIELD_POWER_UP;
+    }
+}
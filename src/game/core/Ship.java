@@ -10,6 +10,8 @@ public class Ship extends Controllable {
 
     private int score;
 
+    private final StatusEffects effects = new StatusEffects();
+
     /**
      * Constructs a Ship with default position and health.
      * By default, a ship should be at position x = 5 and y = 10, with 100 points of health.
@@ -33,16 +35,27 @@ public class Ship extends Controllable {
     }
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.
+     * Returns the ObjectGraphic with the appropriate text representation and image path, shared by
+     * every object of its kind.
      * A Bullet is represented by the following:
      *      - The text representation is  "🚀".
      *      - The image path is "assets/ship.png".
      *
-     * @return ObjectGraphic - the appropriate new ObjectGraphic
+     * @return ObjectGraphic - the appropriate ObjectGraphic
      */
     @Override
     public ObjectGraphic render() {
-        return new ObjectGraphic("🚀", "assets/ship.png");
+        return EntityKind.getGraphic(EntityKind.SHIP);
+    }
+
+    /**
+     * Returns EntityKind.SHIP.
+     *
+     * @return the kind of the Ship.
+     */
+    @Override
+    public int getKind() {
+        return EntityKind.SHIP;
     }
 
     /**
@@ -55,13 +68,16 @@ public class Ship extends Controllable {
 
     /**
      * Reduces the ship's health by the specified damage amount.
-     * A ship's health can never fall below 0.
+     * A ship's health can never fall below 0, and a shielded ship takes no damage.
      *
      * @param damage - the amount of damage taken.
      */
 
     public void takeDamage(int damage) {
-        health = Math.min(health - damage, 0);
+        if (effects.isActive(StatusEffect.SHIELD)) {
+            return;
+        }
+        health = Math.max(health - damage, 0);
     }
 
     /**
@@ -71,7 +87,7 @@ public class Ship extends Controllable {
      * @param amount  - the amount of health restored.
      */
     public void heal(int amount) {
-        health = Math.max(health + amount, 100);
+        health = Math.min(health + amount, 100);
     }
 
     /**
@@ -83,6 +99,15 @@ public class Ship extends Controllable {
         return health;
     }
 
+    /**
+     * Returns the timed status effects active on the ship.
+     *
+     * @return the ship's status effects.
+     */
+    public StatusEffects getEffects() {
+        return effects;
+    }
+
     /**
      * Returns the current score of the ship.
      *
@@ -0,0 +1,54 @@
+package game.core;
+
+import game.ui.ObjectGraphic;
+
+/**
+ * Represents a slow-time power-up in the game.
+ */
+public class SlowTimePowerUp extends PowerUp {
+
+    /**
+     * Creates a slow-time power-up at the given coordinates
+     *
+     * @param x - the x Coordinate.
+     * @param y - the y Coordinate.
+     */
+    public SlowTimePowerUp(int x, int y) {
+        super(x, y);
+    }
+
+    /**
+     * Applies the slow-time effect to the ship, slowing everything but the ships to half speed for
+     * StatusEffect.SLOW_TIME's duration. Repeated pick-ups stack.
+     *
+     * @param ship  -  the ship to apply the effect to.
+     */
+    @Override
+    public void applyEffect(Ship ship) {
+        ship.getEffects().apply(StatusEffect.SLOW_TIME);
+    }
+
+    /**
+     * Returns the ObjectGraphic with the appropriate text representation and image path, shared by
+     * every object of its kind.
+     * A SlowTimePowerUp is represented by the following:
+     *      - The text representation is "⏳".
+     *      - The image path is "assets/slow.png"
+     *
+     * @return ObjectGraphic - the appropriate ObjectGraphic
+     */
+    @Override
+    public ObjectGraphic render() {
+        return EntityKind.getGraphic(EntityKind.SLOW_TIME_POWER_UP);
+    }
+
+    /**
+     * Returns EntityKind.SLOW_TIME_POWER_UP.
+     *
+     * @return the kind of the SlowTimePowerUp.
+     */
+    @Override
+    public int getKind() {
+        return EntityKind.SLOW_TIME_POWER_UP;
+    }
+}
@@ -23,10 +23,21 @@ public interface SpaceObject extends Tickable {
     int getY();
 
     /**
-     * Returns a new ObjectGraphic with the appropriate text representation and image path.
+     * Returns the ObjectGraphic with the appropriate text representation and image path, shared by
+     * every object of its kind.
      *
-     * @return the appropriate new ObjectGraphic.
+     * @return the appropriate ObjectGraphic.
      */
     ObjectGraphic render();
 
+    /**
+     * Returns the EntityKind tag of the SpaceObject, used to look up how it is drawn and how it collides.
+     * Built-in classes return a constant; other implementations are classified by EntityKind.of().
+     *
+     * @return the kind of the SpaceObject, or -1 if it is not a built-in kind.
+     */
+    default int getKind() {
+        return EntityKind.of(this);
+    }
+
 }
\ No newline at end of file
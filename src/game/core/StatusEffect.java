@@ -0,0 +1,36 @@
+package game.core;
+
+/**
+ * The timed effects that can be applied to a ship, each with the number of game ticks one application lasts.
+ */
+public enum StatusEffect {
+    /**
+     * The ship takes no damage.
+     */
+    SHIELD(50),
+
+    /**
+     * The ship fires a bullet on its own every GameModel.RAPID_FIRE_INTERVAL ticks.
+     */
+    RAPID_FIRE(50),
+
+    /**
+     * Everything except the ships moves at half speed.
+     */
+    SLOW_TIME(30);
+
+    private final int durationTicks;
+
+    StatusEffect(int durationTicks) {
+        this.durationTicks = durationTicks;
+    }
+
+    /**
+     * Returns the number of game ticks one application of the effect lasts.
+     *
+     * @return the duration in ticks.
+     */
+    public int getDurationTicks() {
+        return durationTicks;
+    }
+}
@@ -0,0 +1,123 @@
+package game.core;
+
+import game.utility.TimerWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks the timed status effects active on a ship.
+ *
+ * Effects stack: each application adds a stack with its own expiry, and the effect stays active while
+ * any stack remains. Expiries are scheduled on a TimerWheel, so nothing is checked per tick and each
+ * expiry costs O(1). Ships in the same game share the model's wheel, which the model advances once per
+ * game tick; a ship created on its own uses a private wheel that only advances when asked.
+ */
+public class StatusEffects {
+    private static final StatusEffect[] EFFECTS = StatusEffect.values();
+
+    private TimerWheel wheel = new TimerWheel();
+    private final int[] stacks = new int[EFFECTS.length];
+    private final List<Expiry> pending = new ArrayList<>();
+    private final List<Expiry> free = new ArrayList<>();
+
+    /**
+     * Schedules future expiries on the given wheel instead of this object's own.
+     *
+     * @param wheel - the wheel to schedule expiries on.
+     * @requires no effect is active
+     */
+    public void bind(TimerWheel wheel) {
+        this.wheel = wheel;
+    }
+
+    /**
+     * Returns the wheel expiries are scheduled on.
+     *
+     * @return the timer wheel.
+     */
+    public TimerWheel getWheel() {
+        return wheel;
+    }
+
+    /**
+     * Adds a stack of the effect lasting its default duration.
+     *
+     * @param effect - the effect to apply.
+     */
+    public void apply(StatusEffect effect) {
+        apply(effect, effect.getDurationTicks());
+    }
+
+    /**
+     * Adds a stack of the effect lasting the given number of ticks.
+     *
+     * @param effect - the effect to apply.
+     * @param durationTicks - the number of ticks the stack lasts (at least one).
+     */
+    public void apply(StatusEffect effect, int durationTicks) {
+        Expiry expiry = free.isEmpty() ? new Expiry() : free.remove(free.size() - 1);
+        expiry.effect = effect;
+        expiry.index = pending.size();
+        pending.add(expiry);
+        stacks[effect.ordinal()]++;
+        wheel.schedule(expiry, durationTicks);
+    }
+
+    /**
+     * Returns whether at least one stack of the effect is active.
+     *
+     * @param effect - the effect to check.
+     * @return true if the effect is active.
+     */
+    public boolean isActive(StatusEffect effect) {
+        return stacks[effect.ordinal()] > 0;
+    }
+
+    /**
+     * Returns the number of active stacks of the effect.
+     *
+     * @param effect - the effect to check.
+     * @return the number of stacks.
+     */
+    public int getStacks(StatusEffect effect) {
+        return stacks[effect.ordinal()];
+    }
+
+    /**
+     * Removes every active effect.
+     */
+    public void clear() {
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            Expiry expiry = pending.get(i);
+            wheel.cancel(expiry);
+            release(expiry);
+        }
+    }
+
+    /**
+     * Removes the expiry from the pending list by moving the last pending expiry into its place.
+     */
+    private void release(Expiry expiry) {
+        stacks[expiry.effect.ordinal()]--;
+        Expiry last = pending.remove(pending.size() - 1);
+        if (last != expiry) {
+            pending.set(expiry.index, last);
+            last.index = expiry.index;
+        }
+        free.add(expiry);
+    }
+
+    /**
+     * One stack of an effect, removed when its timer expires.
+     */
+    private class Expiry extends TimerWheel.Timer {
+        private StatusEffect effect;
+        private int index;
+
+        @Override
+        protected void onExpire() {
+            release(this);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package game.diagnostics;
+
+import game.GameController;
+import game.GameModel;
+import game.ui.headless.HeadlessUI;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures how many bytes each phase of a game tick allocates, and checks them against budgets.
+ *
+ * A seeded headless game is played for a warm-up period and then for a measured period, with the ship
+ * moving and firing on a fixed pattern. Allocation is read from the JVM's per-thread allocation counter
+ * around each phase, so only garbage created by the game thread itself is counted.
+ *
+ * Run as a main class to audit the current build; it exits with status 1 if any phase is over budget,
+ * so it can gate a build.
+ */
+public class AllocationAudit {
+    /**
+     * The parts of a tick that are measured.
+     */
+    public enum Phase {
+        UPDATE_GAME, CHECK_COLLISIONS, SPAWN_OBJECTS, ON_TICK
+    }
+
+    /**
+     * The default budgets in average bytes allocated per tick.
+     */
+    public static final Map<Phase, Long> DEFAULT_BUDGETS = Map.of(
+            Phase.UPDATE_GAME, 64L,
+            Phase.CHECK_COLLISIONS, 160L,
+            Phase.SPAWN_OBJECTS, 64L,
+            Phase.ON_TICK, 768L);
+
+    private static final int SEED = 2002;
+    private static final String[] INPUT_PATTERN = {"F", "A", "F", "D", "F", "W", "F", "S"};
+
+    private final com.sun.management.ThreadMXBean threads;
+    private final int warmUpTicks;
+    private final int measuredTicks;
+    private final Map<Phase, Long> budgets;
+
+    /**
+     * Creates an audit that plays the given numbers of ticks and checks the given budgets.
+     *
+     * @param warmUpTicks - ticks played before measuring, so that pools and arrays have grown.
+     * @param measuredTicks - ticks played while measuring.
+     * @param budgets - the allowed average bytes per tick for each phase; phases without a budget are
+     *                  measured but never fail.
+     * @throws UnsupportedOperationException if the JVM cannot measure per-thread allocation.
+     */
+    public AllocationAudit(int warmUpTicks, int measuredTicks, Map<Phase, Long> budgets) {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported()) {
+            throw new UnsupportedOperationException("Thread allocation measurement is not supported");
+        }
+        bean.setThreadAllocatedMemoryEnabled(true);
+        this.threads = bean;
+        this.warmUpTicks = warmUpTicks;
+        this.measuredTicks = measuredTicks;
+        this.budgets = budgets;
+    }
+
+    /**
+     * Plays the games and returns the average bytes allocated per tick by each phase.
+     *
+     * The model phases are measured on a game stepped phase by phase; ON_TICK is measured on a second
+     * game driven through GameController.onTick() as a UI would, so it includes rendering and input.
+     *
+     * @return the average bytes per tick of each phase.
+     */
+    public Map<Phase, Long> measure() {
+        long[] totals = new long[Phase.values().length];
+
+        HeadlessUI ui = new HeadlessUI();
+        GameModel model = new GameModel(ui::log);
+        model.setRandomSeed(SEED);
+        GameController controller = new GameController(ui, model);
+        for (int tick = 0; tick < warmUpTicks + measuredTicks; tick++) {
+            boolean measuring = tick >= warmUpTicks;
+            controller.handlePlayerInput(INPUT_PATTERN[tick % INPUT_PATTERN.length]);
+
+            long before = allocated();
+            model.updateGame(tick);
+            long afterUpdate = allocated();
+            model.checkCollisions();
+            long afterCollisions = allocated();
+            model.spawnObjects();
+            long afterSpawn = allocated();
+            model.levelUp();
+
+            if (measuring) {
+                totals[Phase.UPDATE_GAME.ordinal()] += afterUpdate - before;
+                totals[Phase.CHECK_COLLISIONS.ordinal()] += afterCollisions - afterUpdate;
+                totals[Phase.SPAWN_OBJECTS.ordinal()] += afterSpawn - afterCollisions;
+            }
+        }
+
+        HeadlessUI tickUI = new HeadlessUI();
+        GameModel tickModel = new GameModel(tickUI::log);
+        tickModel.setRandomSeed(SEED);
+        new GameController(tickUI, tickModel).startGame();
+        for (int tick = 0; tick < warmUpTicks + measuredTicks; tick++) {
+            tickUI.press(INPUT_PATTERN[tick % INPUT_PATTERN.length]);
+            long before = allocated();
+            tickUI.tick();
+            if (tick >= warmUpTicks) {
+                totals[Phase.ON_TICK.ordinal()] += allocated() - before;
+            }
+        }
+
+        Map<Phase, Long> perTick = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            perTick.put(phase, totals[phase.ordinal()] / Math.max(1, measuredTicks));
+        }
+        return perTick;
+    }
+
+    /**
+     * Returns a description of every phase whose measured allocation exceeds its budget.
+     *
+     * @param measured - the average bytes per tick of each phase, from measure().
+     * @return one line per phase over budget; empty if every phase is within budget.
+     */
+    public List<String> violations(Map<Phase, Long> measured) {
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<Phase, Long> entry : measured.entrySet()) {
+            Long budget = budgets.get(entry.getKey());
+            if (budget != null && entry.getValue() > budget) {
+                violations.add(entry.getKey() + " allocated " + entry.getValue()
+                        + " bytes per tick; budget is " + budget);
+            }
+        }
+        return violations;
+    }
+
+    private long allocated() {
+        return threads.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Audits the current build against the default budgets, printing the bytes per tick of each phase.
+     *
+     * @param args optionally the number of measured ticks (default 10000)
+     */
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        AllocationAudit audit = new AllocationAudit(2_000, ticks, DEFAULT_BUDGETS);
+        Map<Phase, Long> measured = audit.measure();
+        for (Map.Entry<Phase, Long> entry : measured.entrySet()) {
+            System.out.printf("%-17s %8d bytes/tick (budget %d)%n", entry.getKey(), entry.getValue(),
+                    DEFAULT_BUDGETS.getOrDefault(entry.getKey(), -1L));
+        }
+        List<String> violations = audit.violations(measured);
+        for (String violation : violations) {
+            System.out.println("OVER BUDGET: " + violation);
+        }
+        if (!violations.isEmpty()) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package game.diagnostics;
+
+import game.GameController;
+import game.GameModel;
+import game.persistence.Replay;
+import game.persistence.ReplayCorpus;
+import game.ui.headless.HeadlessUI;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replays a corpus of recorded sessions headlessly and reports how fast, and with how much garbage,
+ * each one plays.
+ *
+ * Every replay is played on a fresh game seeded as it was recorded, with its keys pressed before the
+ * same ticks, by calling GameController.queuePlayerInput() and onTick() as a UI would. Ticks the
+ * session spent paused were never captured, so they are not replayed. Each replay is played a number of
+ * times to warm up, then timed over the measured runs; allocation is read from the JVM's per-thread
+ * allocation counter, as in AllocationAudit. The final score, level and object count of every run are
+ * compared with those stored in the replay when it was captured, so a replay that no longer plays out as
+ * recorded (because the game's rules changed) is reported rather than silently timing a different game;
+ * rebuild the corpus after an intended change of rules.
+ */
+public class ReplayBenchmark {
+    private final com.sun.management.ThreadMXBean threads;
+    private final int warmUpRuns;
+    private final int measuredRuns;
+
+    /**
+     * The measurements of one replay.
+     */
+    public static class Result {
+        private final String name;
+        private final long ticks;
+        private final long nanos;
+        private final long bytes;
+        private final String outcome;
+        private final String expectedOutcome;
+        private final boolean asRecorded;
+
+        private Result(String name, long ticks, long nanos, long bytes, String outcome, String expectedOutcome,
+                       boolean asRecorded) {
+            this.name = name;
+            this.ticks = ticks;
+            this.nanos = nanos;
+            this.bytes = bytes;
+            this.outcome = outcome;
+            this.expectedOutcome = expectedOutcome;
+            this.asRecorded = asRecorded;
+        }
+
+        /**
+         * Returns the name of the replay.
+         *
+         * @return the replay's name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the ticks played per second of wall-clock time over the measured runs.
+         *
+         * @return the ticks per second.
+         */
+        public double getTicksPerSecond() {
+            return ticks * 1e9 / Math.max(1, nanos);
+        }
+
+        /**
+         * Returns the average bytes allocated per tick over the measured runs.
+         *
+         * @return the bytes per tick.
+         */
+        public long getBytesPerTick() {
+            return bytes / Math.max(1, ticks);
+        }
+
+        /**
+         * Returns the final score, level and object count of the game, e.g. "score 420, level 5, 31 objects".
+         *
+         * @return the outcome of the replay.
+         */
+        public String getOutcome() {
+            return outcome;
+        }
+
+        /**
+         * Returns the outcome stored in the replay when it was captured.
+         *
+         * @return the recorded outcome of the replay.
+         */
+        public String getExpectedOutcome() {
+            return expectedOutcome;
+        }
+
+        /**
+         * Returns whether every run ended with the outcome stored in the replay.
+         *
+         * @return true if the replay played out as recorded every time.
+         */
+        public boolean isAsRecorded() {
+            return asRecorded;
+        }
+    }
+
+    /**
+     * Creates a benchmark that plays each replay the given numbers of times.
+     *
+     * @param warmUpRuns - runs played before measuring, so that the JIT has compiled the game loop.
+     * @param measuredRuns - runs timed.
+     * @requires measuredRuns > 0
+     * @throws UnsupportedOperationException if the JVM cannot measure per-thread allocation.
+     */
+    public ReplayBenchmark(int warmUpRuns, int measuredRuns) {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)
+                || !bean.isThreadAllocatedMemorySupported()) {
+            throw new UnsupportedOperationException("Thread allocation measurement is not supported");
+        }
+        bean.setThreadAllocatedMemoryEnabled(true);
+        this.threads = bean;
+        this.warmUpRuns = warmUpRuns;
+        this.measuredRuns = measuredRuns;
+    }
+
+    /**
+     * Plays the replay the configured number of times and measures the measured runs.
+     *
+     * @param replay - the replay to play.
+     * @return the measurements.
+     */
+    public Result run(Replay replay) {
+        String expected = describe(replay.getFinalScore(), replay.getFinalLevel(), replay.getFinalObjectCount());
+        String outcome = null;
+        boolean asRecorded = true;
+        long nanos = 0;
+        long bytes = 0;
+        for (int run = 0; run < warmUpRuns + measuredRuns; run++) {
+            long beforeBytes = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            String result = play(replay);
+            if (run >= warmUpRuns) {
+                nanos += System.nanoTime() - start;
+                bytes += threads.getCurrentThreadAllocatedBytes() - beforeBytes;
+            }
+            asRecorded &= expected.equals(result);
+            outcome = result;
+        }
+        return new Result(replay.getName(), (long) replay.getTickCount() * measuredRuns, nanos, bytes,
+                outcome, expected, asRecorded);
+    }
+
+    /**
+     * Plays the replay once on a new game.
+     *
+     * @return the outcome of the game.
+     */
+    private static String play(Replay replay) {
+        HeadlessUI ui = new HeadlessUI();
+        GameModel model = new GameModel(ui::log);
+        model.setRandomSeed(replay.getSeed());
+        GameController controller = new GameController(ui, model);
+        int event = 0;
+        for (int tick = 0; tick < replay.getTickCount(); tick++) {
+            while (event < replay.getEventCount() && replay.getEventTick(event) == tick) {
+                controller.queuePlayerInput(replay.getEventKey(event++));
+            }
+            controller.onTick(tick);
+        }
+        return describe(model.getTeamScore(), model.getLevel(), model.getObjectCount());
+    }
+
+    private static String describe(int score, int level, int objectCount) {
+        return "score " + score + ", level " + level + ", " + objectCount + " objects";
+    }
+
+    /**
+     * Plays every replay in a corpus and prints its ticks per second and bytes allocated per tick.
+     * Exits with status 1 if any replay did not play out as recorded.
+     *
+     * @param args optionally the corpus file (default replays/canonical.replays), "--warmup {runs}"
+     *             (default 3) and "--runs {runs}" (default 5)
+     * @throws IOException if the corpus cannot be read.
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> options = Arrays.asList(args);
+        Path corpus = args.length > 0 && !args[0].startsWith("--")
+                ? Path.of(args[0])
+                : ReplayCorpusBuilder.DEFAULT_CORPUS;
+        int warmUp = Integer.parseInt(option(options, "--warmup", "3"));
+        int runs = Integer.parseInt(option(options, "--runs", "5"));
+
+        ReplayBenchmark benchmark = new ReplayBenchmark(warmUp, runs);
+        List<String> problems = new ArrayList<>();
+        for (Replay replay : ReplayCorpus.read(corpus)) {
+            Result result = benchmark.run(replay);
+            System.out.printf("%-22s %10.0f ticks/s %8d bytes/tick   (%s)%n", result.getName(),
+                    result.getTicksPerSecond(), result.getBytesPerTick(), result.getOutcome());
+            if (!result.isAsRecorded()) {
+                problems.add(result.getName() + " ended with " + result.getOutcome() + " but was recorded with "
+                        + result.getExpectedOutcome());
+            }
+        }
+        for (String problem : problems) {
+            System.out.println("PROBLEM: " + problem);
+        }
+        if (!problems.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    private static String option(List<String> options, String name, String fallback) {
+        int index = options.indexOf(name);
+        return index >= 0 && index + 1 < options.size() ? options.get(index + 1) : fallback;
+    }
+}
@@ -0,0 +1,157 @@
+package game.diagnostics;
+
+import game.GameController;
+import game.GameModel;
+import game.core.EntityKind;
+import game.core.Ship;
+import game.core.SpaceObject;
+import game.persistence.Replay;
+import game.persistence.ReplayCapture;
+import game.persistence.ReplayCorpus;
+import game.ui.headless.HeadlessUI;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the canonical replay corpus that ReplayBenchmark plays.
+ *
+ * Each canonical session is played on a headless game by a scripted player that reacts to the board,
+ * and captured with a ReplayCapture exactly as a live session captured with Main's "--capture" option
+ * would be. The scripts are seeded, so rebuilding the corpus reproduces the same file.
+ *
+ * The canonical sessions are:
+ * - "early-game": a few minutes of casual play on the first levels.
+ * - "late-level-saturation": a long session by a player who chases shield power-ups for their score
+ *   until SATURATION_LEVEL, where most ticks spawn something, then holds their position and keeps
+ *   playing at that level.
+ * - "bullet-spam": a long session firing every tick while sweeping across the board.
+ */
+public class ReplayCorpusBuilder {
+    /**
+     * The default corpus file.
+     */
+    public static final Path DEFAULT_CORPUS = Path.of("replays", "canonical.replays");
+
+    private static final String[] MOVES = {"A", "D", "W", "S"};
+    private static final int HOME_ROW = 10; // the row ships start on
+
+    /**
+     * The level at which the late-level session stops scoring: a spawn rate of 72%, busy but playable.
+     */
+    public static final int SATURATION_LEVEL = 15;
+
+    /**
+     * A scripted player.
+     */
+    private interface Script {
+        /**
+         * Returns the key to press before the given tick, or null to press nothing.
+         */
+        String next(GameModel model, int tick);
+    }
+
+    /**
+     * Plays and captures every canonical session.
+     *
+     * @return the captured replays.
+     */
+    public static List<Replay> buildCanonical() {
+        List<Replay> replays = new ArrayList<>();
+        replays.add(capture("early-game", 101, 3_000, casual(new Random(1))));
+        replays.add(capture("late-level-saturation", 202, 30_000, collector(new Random(2))));
+        replays.add(capture("bullet-spam", 303, 20_000, spammer()));
+        return replays;
+    }
+
+    /**
+     * Plays a headless game with the given seed for the given number of ticks, pressing the keys chosen
+     * by the script, and returns the captured session.
+     */
+    private static Replay capture(String name, int seed, int ticks, Script script) {
+        HeadlessUI ui = new HeadlessUI();
+        GameModel model = new GameModel(ui::log);
+        model.setRandomSeed(seed);
+        GameController controller = new GameController(ui, model);
+        ReplayCapture capture = new ReplayCapture(name, seed);
+        controller.setCapture(capture);
+        controller.startGame();
+        for (int tick = 0; tick < ticks; tick++) {
+            String key = script.next(model, tick);
+            if (key != null) {
+                ui.press(key);
+            }
+            ui.tick();
+        }
+        controller.stopGame();
+        return capture.toReplay(model.getTeamScore(), model.getLevel(), model.getObjectCount());
+    }
+
+    /**
+     * A player who presses a key on about a third of ticks, firing half the time and otherwise moving.
+     */
+    private static Script casual(Random random) {
+        return (model, tick) -> {
+            if (random.nextInt(3) != 0) {
+                return null;
+            }
+            return random.nextBoolean() ? "F" : MOVES[random.nextInt(MOVES.length)];
+        };
+    }
+
+    /**
+     * A player who flies up to each shield power-up as it appears, since shields score, and otherwise
+     * drops back to their starting row and fires now and then. Once at SATURATION_LEVEL they stop
+     * collecting, so the level, and the spawn rate, stop rising.
+     */
+    private static Script collector(Random random) {
+        return (model, tick) -> {
+            Ship ship = model.getShip();
+            SpaceObject target = null;
+            boolean collecting = model.getLevel() < SATURATION_LEVEL;
+            for (int i = 0; i < model.getObjectCount() && collecting && target == null; i++) {
+                if (model.getObject(i).getKind() == EntityKind.SHIELD_POWER_UP) {
+                    target = model.getObject(i);
+                }
+            }
+            if (target == null) {
+                return ship.getY() < HOME_ROW ? "S" : random.nextInt(4) == 0 ? "F" : null;
+            } else if (target.getX() != ship.getX()) {
+                return target.getX() < ship.getX() ? "A" : "D";
+            }
+            return target.getY() < ship.getY() ? "W" : "S";
+        };
+    }
+
+    /**
+     * A player who fires every other tick and sweeps from side to side between shots.
+     */
+    private static Script spammer() {
+        return (model, tick) -> {
+            if (tick % 2 == 0) {
+                return "F";
+            }
+            return (tick / GameModel.GAME_WIDTH) % 2 == 0 ? "D" : "A";
+        };
+    }
+
+    /**
+     * Builds the canonical corpus and writes it to a file.
+     *
+     * @param args optionally the corpus file to write (default replays/canonical.replays)
+     * @throws IOException if the corpus cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        Path out = args.length > 0 ? Path.of(args[0]) : DEFAULT_CORPUS;
+        List<Replay> replays = buildCanonical();
+        ReplayCorpus.write(out, replays);
+        for (Replay replay : replays) {
+            System.out.printf("%-22s seed %4d, %6d ticks, %6d key presses%n", replay.getName(),
+                    replay.getSeed(), replay.getTickCount(), replay.getEventCount());
+        }
+        System.out.println("Wrote " + out);
+    }
+}
@@ -0,0 +1,190 @@
+package game.diagnostics;
+
+import game.GameController;
+import game.GameModel;
+import game.SimulationClock;
+import game.ui.headless.HeadlessUI;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plays a headless game for hours of simulated time, as fast as the machine allows, watching for leaks
+ * and for ticks getting slower.
+ *
+ * Every sample interval the soak test records the heap in use after a garbage collection, the number of
+ * live objects and projectiles, and percentiles of the tick times within the interval. Samples are
+ * written as CSV rows so that runs of different builds can be diffed. At the end, any series that grows
+ * steadily across the run, or tick latency that drifts upwards, is reported.
+ *
+ * The ship moves and fires on a fixed pattern with a fixed seed, so two runs of the same build play the
+ * same game.
+ */
+public class SoakTest {
+    /**
+     * The CSV columns, in order.
+     */
+    public static final String CSV_HEADER =
+            "sample,tick,simulated_seconds,heap_bytes,objects,projectiles,p50_nanos,p99_nanos,max_nanos";
+
+    private static final int SEED = 2002;
+    private static final String[] INPUT_PATTERN = {"F", "A", "F", "D", "F", "W", "F", "S"};
+    private static final double GROWTH_TOLERANCE = 0.10; // growth under 10% over a run is noise
+    private static final double RISING_FRACTION = 0.75; // a series "grows" if 75% of its steps rise
+    private static final double LATENCY_DRIFT = 1.5; // late p99 this many times the early p99 is drift
+
+    private final long ticks;
+    private final int sampleInterval;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final List<long[]> samples = new ArrayList<>();
+
+    /**
+     * Creates a soak test that plays the given number of ticks, sampling every sampleInterval ticks.
+     *
+     * @param ticks - the number of ticks to play.
+     * @param sampleInterval - the number of ticks between samples.
+     * @requires ticks >= sampleInterval > 0
+     */
+    public SoakTest(long ticks, int sampleInterval) {
+        this.ticks = ticks;
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * Plays the game, writing one CSV row per sample to the given writer.
+     *
+     * @param csv - where to write the samples, starting with CSV_HEADER.
+     */
+    public void run(PrintWriter csv) {
+        HeadlessUI ui = new HeadlessUI();
+        GameModel model = new GameModel(ui::log);
+        model.setRandomSeed(SEED);
+        GameController controller = new GameController(ui, model);
+        controller.startGame();
+
+        csv.println(CSV_HEADER);
+        long[] tickNanos = new long[sampleInterval];
+        for (long tick = 0; tick < ticks; ) {
+            for (int i = 0; i < sampleInterval; i++, tick++) {
+                ui.press(INPUT_PATTERN[(int) (tick % INPUT_PATTERN.length)]);
+                long start = System.nanoTime();
+                ui.tick();
+                tickNanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(tickNanos);
+            System.gc();
+            long[] sample = {
+                samples.size(),
+                tick,
+                tick * SimulationClock.BASE_STEP_MICROS / 1_000_000,
+                memory.getHeapMemoryUsage().getUsed(),
+                model.getObjectCount(),
+                model.getProjectiles().size(),
+                tickNanos[sampleInterval / 2],
+                tickNanos[(int) (sampleInterval * 0.99)],
+                tickNanos[sampleInterval - 1]
+            };
+            samples.add(sample);
+            StringBuilder row = new StringBuilder();
+            for (int column = 0; column < sample.length; column++) {
+                row.append(column == 0 ? "" : ",").append(sample[column]);
+            }
+            csv.println(row);
+            csv.flush();
+        }
+        controller.stopGame();
+    }
+
+    /**
+     * Returns a description of every problem found in the samples: heap, object or projectile counts
+     * that grow steadily throughout the run, and p99 tick latency that drifts upwards.
+     *
+     * @return one line per problem; empty if none were found.
+     */
+    public List<String> problems() {
+        List<String> problems = new ArrayList<>();
+        checkGrowth(problems, "heap after GC", 3);
+        checkGrowth(problems, "live objects", 4);
+        checkGrowth(problems, "live projectiles", 5);
+        if (samples.size() >= 6) {
+            int third = samples.size() / 3;
+            long early = median(0, third, 7);
+            long late = median(samples.size() - third, samples.size(), 7);
+            if (late > early * LATENCY_DRIFT) {
+                problems.add("p99 tick latency drifted from " + early + "ns to " + late + "ns");
+            }
+        }
+        return problems;
+    }
+
+    private void checkGrowth(List<String> problems, String name, int column) {
+        if (samples.size() < 4) {
+            return;
+        }
+        int rising = 0;
+        for (int i = 1; i < samples.size(); i++) {
+            if (samples.get(i)[column] > samples.get(i - 1)[column]) {
+                rising++;
+            }
+        }
+        long first = samples.get(0)[column];
+        long last = samples.get(samples.size() - 1)[column];
+        if (rising >= (samples.size() - 1) * RISING_FRACTION && last > first * (1 + GROWTH_TOLERANCE)) {
+            problems.add(name + " grew in " + rising + " of " + (samples.size() - 1)
+                    + " samples, from " + first + " to " + last);
+        }
+    }
+
+    private long median(int from, int to, int column) {
+        long[] values = new long[to - from];
+        for (int i = from; i < to; i++) {
+            values[i - from] = samples.get(i)[column];
+        }
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    /**
+     * Runs a soak test and prints any problems found, exiting with status 1 if there are any.
+     *
+     * @param args optionally "--hours {simulated hours}" (default 2), "--sample {ticks}" (default 10000)
+     *             and "--out {csv file}" (default soak.csv)
+     * @throws IOException if the CSV file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        List<String> options = Arrays.asList(args);
+        double hours = Double.parseDouble(option(options, "--hours", "2"));
+        int sampleInterval = Integer.parseInt(option(options, "--sample", "10000"));
+        Path out = Path.of(option(options, "--out", "soak.csv"));
+
+        long ticksPerHour = 3600L * 1_000_000 / SimulationClock.BASE_STEP_MICROS;
+        long ticks = Math.max(sampleInterval, (long) (hours * ticksPerHour));
+        SoakTest soak = new SoakTest(ticks, sampleInterval);
+        long start = System.nanoTime();
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(out))) {
+            soak.run(csv);
+        }
+        System.out.printf("Played %d ticks (%.1f simulated hours) in %.1f seconds; samples in %s%n",
+                ticks, ticks / (double) ticksPerHour, (System.nanoTime() - start) / 1e9, out);
+
+        List<String> problems = soak.problems();
+        for (String problem : problems) {
+            System.out.println("PROBLEM: " + problem);
+        }
+        if (!problems.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    private static String option(List<String> options, String name, String fallback) {
+        int index = options.indexOf(name);
+        return index >= 0 && index + 1 < options.size() ? options.get(index + 1) : fallback;
+    }
+}
@@ -0,0 +1,164 @@
+package game.ecs;
+
+import java.util.Arrays;
+
+/**
+ * Stores every entity with one particular set of components, each component in its own densely packed
+ * primitive array (slots 0 to size() - 1 are live).
+ *
+ * Systems iterate an archetype's arrays directly, so a pass over a million entities touches only the
+ * arrays it needs, in order, with no per-entity objects or virtual calls. Arrays for components the
+ * archetype does not have are never allocated.
+ */
+public class Archetype {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int signature;
+    private int size = 0;
+    private int[] entity = new int[INITIAL_CAPACITY];
+
+    int[] x;
+    int[] y;
+    int[] velocityX;
+    int[] velocityY;
+    long[] remainderX;
+    long[] remainderY;
+    int[] kind;
+    int[] lifetime;
+
+    Archetype(int signature) {
+        this.signature = signature;
+        if (has(Components.POSITION)) {
+            x = new int[INITIAL_CAPACITY];
+            y = new int[INITIAL_CAPACITY];
+        }
+        if (has(Components.VELOCITY)) {
+            velocityX = new int[INITIAL_CAPACITY];
+            velocityY = new int[INITIAL_CAPACITY];
+            remainderX = new long[INITIAL_CAPACITY];
+            remainderY = new long[INITIAL_CAPACITY];
+        }
+        if (has(Components.KIND)) {
+            kind = new int[INITIAL_CAPACITY];
+        }
+        if (has(Components.LIFETIME)) {
+            lifetime = new int[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Returns the components every entity in this archetype has.
+     *
+     * @return the archetype's signature.
+     */
+    public int getSignature() {
+        return signature;
+    }
+
+    /**
+     * Returns whether this archetype's entities have every component in the mask.
+     *
+     * @param mask - the components required.
+     * @return true if the archetype matches the mask.
+     */
+    public boolean has(int mask) {
+        return Components.has(signature, mask);
+    }
+
+    /**
+     * Returns the number of entities in this archetype.
+     *
+     * @return the number of entities.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the id of the entity in the given slot.
+     *
+     * @param slot - a slot between 0 and size() - 1.
+     * @return the entity id.
+     */
+    public int entityAt(int slot) {
+        return entity[slot];
+    }
+
+    /**
+     * Appends an entity with zeroed components and returns its slot.
+     */
+    int add(int id) {
+        if (size == entity.length) {
+            grow(size * 2);
+        }
+        int slot = size++;
+        entity[slot] = id;
+        if (x != null) {
+            x[slot] = 0;
+            y[slot] = 0;
+        }
+        if (velocityX != null) {
+            velocityX[slot] = 0;
+            velocityY[slot] = 0;
+            remainderX[slot] = 0;
+            remainderY[slot] = 0;
+        }
+        if (kind != null) {
+            kind[slot] = 0;
+        }
+        if (lifetime != null) {
+            lifetime[slot] = 0;
+        }
+        return slot;
+    }
+
+    /**
+     * Removes the entity in the given slot by moving the last entity into it.
+     *
+     * @return the id of the entity moved into the slot, or -1 if the removed entity was the last.
+     */
+    int remove(int slot) {
+        int last = --size;
+        if (slot == last) {
+            return -1;
+        }
+        entity[slot] = entity[last];
+        if (x != null) {
+            x[slot] = x[last];
+            y[slot] = y[last];
+        }
+        if (velocityX != null) {
+            velocityX[slot] = velocityX[last];
+            velocityY[slot] = velocityY[last];
+            remainderX[slot] = remainderX[last];
+            remainderY[slot] = remainderY[last];
+        }
+        if (kind != null) {
+            kind[slot] = kind[last];
+        }
+        if (lifetime != null) {
+            lifetime[slot] = lifetime[last];
+        }
+        return entity[slot];
+    }
+
+    private void grow(int capacity) {
+        entity = Arrays.copyOf(entity, capacity);
+        if (x != null) {
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+        }
+        if (velocityX != null) {
+            velocityX = Arrays.copyOf(velocityX, capacity);
+            velocityY = Arrays.copyOf(velocityY, capacity);
+            remainderX = Arrays.copyOf(remainderX, capacity);
+            remainderY = Arrays.copyOf(remainderY, capacity);
+        }
+        if (kind != null) {
+            kind = Arrays.copyOf(kind, capacity);
+        }
+        if (lifetime != null) {
+            lifetime = Arrays.copyOf(lifetime, capacity);
+        }
+    }
+}
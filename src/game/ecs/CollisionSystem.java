@@ -0,0 +1,79 @@
+package game.ecs;
+
+import game.collision.CollisionMatrix;
+import game.collision.SpatialIndex;
+
+/**
+ * Finds entities sharing a cell and dispatches each pair through a CollisionMatrix of contact handlers
+ * keyed by the entities' KINDs.
+ *
+ * Every entity with a POSITION and a KIND is indexed once per update; only entities whose kind has a
+ * registered handler then look up their cell, so a pass costs O(n) in the number of entities.
+ */
+public class CollisionSystem implements EntitySystem {
+    private static final int MASK = Components.POSITION | Components.KIND;
+
+    private final CollisionMatrix<ContactHandler> handlers;
+    private final SpatialIndex index = new SpatialIndex(1024);
+
+    /**
+     * Decides what happens when an entity of one kind meets one of another.
+     */
+    public interface ContactHandler {
+        /**
+         * Called when the two entities occupy the same cell.
+         *
+         * @param world - the world holding the entities.
+         * @param first - the entity whose kind is the first of the registered pair.
+         * @param second - the entity whose kind is the second of the registered pair.
+         */
+        void onContact(World world, int first, int second);
+    }
+
+    /**
+     * Creates a collision system dispatching through the given handlers.
+     *
+     * @param handlers - the contact handlers, by pair of kinds.
+     */
+    public CollisionSystem(CollisionMatrix<ContactHandler> handlers) {
+        this.handlers = handlers;
+    }
+
+    @Override
+    public void update(World world, long elapsedMicros) {
+        index.clear();
+        for (int a = 0; a < world.getArchetypeCount(); a++) {
+            Archetype archetype = world.getArchetype(a);
+            if (!archetype.has(MASK)) {
+                continue;
+            }
+            for (int i = 0; i < archetype.size(); i++) {
+                index.insert(archetype.x[i], archetype.y[i], archetype.entityAt(i));
+            }
+        }
+        for (int a = 0; a < world.getArchetypeCount(); a++) {
+            Archetype archetype = world.getArchetype(a);
+            if (!archetype.has(MASK)) {
+                continue;
+            }
+            for (int i = 0; i < archetype.size(); i++) {
+                int kind = archetype.kind[i];
+                if (!handlers.hasHandlers(kind)) {
+                    continue;
+                }
+                int self = archetype.entityAt(i);
+                int entry = index.firstInCell(archetype.x[i], archetype.y[i]);
+                for (; entry != -1; entry = index.nextInCell(entry)) {
+                    int other = index.idOf(entry);
+                    if (other == self) {
+                        continue;
+                    }
+                    ContactHandler handler = handlers.get(kind, world.getKind(other));
+                    if (handler != null) {
+                        handler.onContact(world, self, other);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package game.ecs;
+
+/**
+ * Bit flags for the component types an entity can have. An entity's components are described by the
+ * bitwise OR of its flags, its signature.
+ */
+public final class Components {
+    /**
+     * A board cell, as int x and y.
+     */
+    public static final int POSITION = 1;
+
+    /**
+     * A velocity in 16.16 fixed-point cells per second (see FixedPoint), with sub-cell progress.
+     * Only moves entities that also have a POSITION.
+     */
+    public static final int VELOCITY = 1 << 1;
+
+    /**
+     * An EntityKind tag, deciding how the entity is drawn and how it collides.
+     */
+    public static final int KIND = 1 << 2;
+
+    /**
+     * A number of ticks after which the entity is destroyed.
+     */
+    public static final int LIFETIME = 1 << 3;
+
+    /**
+     * The number of component types; signatures are between 0 and (1 << COUNT) - 1.
+     */
+    public static final int COUNT = 4;
+
+    private Components() {
+    }
+
+    /**
+     * Returns whether a signature has every component in the given mask.
+     *
+     * @param signature - an entity's components.
+     * @param mask - the components required.
+     * @return true if the signature includes the mask.
+     */
+    public static boolean has(int signature, int mask) {
+        return (signature & mask) == mask;
+    }
+}
@@ -0,0 +1,16 @@
+package game.ecs;
+
+/**
+ * Behaviour that runs over every entity with a particular set of components, once per world update.
+ */
+public interface EntitySystem {
+    /**
+     * Runs the system over the world for one tick.
+     * Entities should be destroyed with world.destroyLater() so that archetypes are not reordered while
+     * other systems iterate them.
+     *
+     * @param world - the world to update.
+     * @param elapsedMicros - the simulation time covered by the tick, in microseconds.
+     */
+    void update(World world, long elapsedMicros);
+}
@@ -0,0 +1,63 @@
+package game.ecs;
+
+import game.core.EntityKind;
+import game.core.SpaceObject;
+import game.ui.ObjectGraphic;
+
+/**
+ * Presents an entity with a POSITION and a KIND as a SpaceObject, so existing code that works with
+ * SpaceObjects (rendering, logging, collision checks) can read entities from a World.
+ *
+ * A view reads through to the world on every call and holds no state of its own. Ticking a view does
+ * nothing: entities are updated by the world's systems. A view must not be used after its entity is
+ * destroyed, since the id may be reused.
+ */
+public class EntityView implements SpaceObject {
+    private final World world;
+    private final int id;
+
+    /**
+     * Creates a view of the given entity.
+     *
+     * @param world - the world holding the entity.
+     * @param id - a live entity with a POSITION and a KIND.
+     */
+    public EntityView(World world, int id) {
+        this.world = world;
+        this.id = id;
+    }
+
+    /**
+     * Returns the id of the entity this view presents.
+     *
+     * @return the entity id.
+     */
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public int getX() {
+        return world.getX(id);
+    }
+
+    @Override
+    public int getY() {
+        return world.getY(id);
+    }
+
+    @Override
+    public int getKind() {
+        return world.getKind(id);
+    }
+
+    @Override
+    public ObjectGraphic render() {
+        return EntityKind.getGraphic(getKind());
+    }
+
+    @Override
+    public void tick(int tick) {
+        // systems update entities
+    }
+}
@@ -0,0 +1,23 @@
+package game.ecs;
+
+/**
+ * Counts down the LIFETIME of every entity that has one, by one per update, and destroys entities whose
+ * lifetime reaches zero.
+ */
+public class LifetimeSystem implements EntitySystem {
+    @Override
+    public void update(World world, long elapsedMicros) {
+        for (int a = 0; a < world.getArchetypeCount(); a++) {
+            Archetype archetype = world.getArchetype(a);
+            if (!archetype.has(Components.LIFETIME)) {
+                continue;
+            }
+            int[] lifetime = archetype.lifetime;
+            for (int i = 0; i < archetype.size(); i++) {
+                if (--lifetime[i] <= 0) {
+                    world.destroyLater(archetype.entityAt(i));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package game.ecs;
+
+import game.utility.FixedPoint;
+
+/**
+ * Moves every entity with a POSITION and a VELOCITY, carrying sub-cell movement between ticks exactly as
+ * ProjectileSystem.advance() does.
+ *
+ * If bounds are given, entities that leave the board are destroyed at the end of the update.
+ */
+public class MovementSystem implements EntitySystem {
+    private static final int MASK = Components.POSITION | Components.VELOCITY;
+
+    private final int width;
+    private final int height;
+    private final boolean bounded;
+
+    /**
+     * Creates a movement system that never destroys entities.
+     */
+    public MovementSystem() {
+        this.width = 0;
+        this.height = 0;
+        this.bounded = false;
+    }
+
+    /**
+     * Creates a movement system that destroys entities leaving a width by height board.
+     *
+     * @param width - the board width in cells.
+     * @param height - the board height in cells.
+     */
+    public MovementSystem(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.bounded = true;
+    }
+
+    @Override
+    public void update(World world, long elapsedMicros) {
+        final long cell = FixedPoint.ONE * FixedPoint.MICROS_PER_SECOND;
+        for (int a = 0; a < world.getArchetypeCount(); a++) {
+            Archetype archetype = world.getArchetype(a);
+            if (!archetype.has(MASK)) {
+                continue;
+            }
+            int[] x = archetype.x;
+            int[] y = archetype.y;
+            int[] velocityX = archetype.velocityX;
+            int[] velocityY = archetype.velocityY;
+            long[] remainderX = archetype.remainderX;
+            long[] remainderY = archetype.remainderY;
+            for (int i = 0; i < archetype.size(); i++) {
+                long rx = remainderX[i] + velocityX[i] * elapsedMicros;
+                long ry = remainderY[i] + velocityY[i] * elapsedMicros;
+                x[i] += (int) (rx / cell);
+                y[i] += (int) (ry / cell);
+                remainderX[i] = rx % cell;
+                remainderY[i] = ry % cell;
+                if (bounded && (x[i] < 0 || x[i] >= width || y[i] < 0 || y[i] >= height)) {
+                    world.destroyLater(archetype.entityAt(i));
+                }
+            }
+        }
+    }
+}
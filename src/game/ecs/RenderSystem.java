@@ -0,0 +1,48 @@
+package game.ecs;
+
+import game.ui.FrameBuffer;
+import game.ui.FrameSnapshot;
+
+/**
+ * Publishes every entity with a POSITION and a KIND to a FrameBuffer once per update, so any UI can draw
+ * the world.
+ */
+public class RenderSystem implements EntitySystem {
+    private static final int MASK = Components.POSITION | Components.KIND;
+
+    private final FrameBuffer frames;
+
+    /**
+     * Creates a render system publishing to the given buffer.
+     *
+     * @param frames - the buffer to publish frames to.
+     */
+    public RenderSystem(FrameBuffer frames) {
+        this.frames = frames;
+    }
+
+    @Override
+    public void update(World world, long elapsedMicros) {
+        FrameSnapshot frame = frames.beginWrite();
+        writeTo(world, frame);
+        frames.publish();
+    }
+
+    /**
+     * Adds every entity with a POSITION and a KIND to the snapshot.
+     *
+     * @param world - the world to draw.
+     * @param frame - the snapshot to add to.
+     */
+    public static void writeTo(World world, FrameSnapshot frame) {
+        for (int a = 0; a < world.getArchetypeCount(); a++) {
+            Archetype archetype = world.getArchetype(a);
+            if (!archetype.has(MASK)) {
+                continue;
+            }
+            for (int i = 0; i < archetype.size(); i++) {
+                frame.add(archetype.kind[i], archetype.x[i], archetype.y[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package game.ecs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Holds every entity, grouped into archetypes by the components they have, and the systems that update
+ * them.
+ *
+ * Entities are plain int ids. The world maps each live id to its archetype and slot, so reading or
+ * writing one entity's component is two array lookups, while systems iterate whole archetypes at a time
+ * (see Archetype). Ids of destroyed entities are reused.
+ */
+public class World {
+    private static final int NONE = -1;
+
+    private final int[] archetypeBySignature = new int[1 << Components.COUNT];
+    private final List<Archetype> archetypes = new ArrayList<>();
+    private final List<EntitySystem> systems = new ArrayList<>();
+
+    private int[] archetypeOf = new int[64];
+    private int[] slotOf = new int[64];
+    private int nextId = 0;
+    private int[] freeIds = new int[64];
+    private int freeCount = 0;
+    private int size = 0;
+
+    private int[] doomed = new int[64];
+    private int doomedCount = 0;
+    private boolean[] isDoomed = new boolean[64];
+
+    /**
+     * Creates an empty world with no systems.
+     */
+    public World() {
+        Arrays.fill(archetypeBySignature, NONE);
+    }
+
+    /**
+     * Creates an entity with the given components, all zeroed.
+     *
+     * @param signature - the bitwise OR of the entity's Components flags.
+     * @return the new entity's id.
+     */
+    public int create(int signature) {
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            id = nextId++;
+            if (id == archetypeOf.length) {
+                int capacity = id * 2;
+                archetypeOf = Arrays.copyOf(archetypeOf, capacity);
+                slotOf = Arrays.copyOf(slotOf, capacity);
+                isDoomed = Arrays.copyOf(isDoomed, capacity);
+            }
+        }
+        int index = archetypeIndex(signature);
+        archetypeOf[id] = index;
+        slotOf[id] = archetypes.get(index).add(id);
+        size++;
+        return id;
+    }
+
+    /**
+     * Destroys the entity immediately. Systems should use destroyLater() instead.
+     *
+     * @param id - a live entity.
+     */
+    public void destroy(int id) {
+        Archetype archetype = archetypes.get(archetypeOf[id]);
+        int moved = archetype.remove(slotOf[id]);
+        if (moved != NONE) {
+            slotOf[moved] = slotOf[id];
+        }
+        archetypeOf[id] = NONE;
+        isDoomed[id] = false;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+        size--;
+    }
+
+    /**
+     * Marks the entity to be destroyed at the end of the current update (or the next flush()).
+     * Marking an entity more than once has no further effect.
+     *
+     * @param id - a live entity.
+     */
+    public void destroyLater(int id) {
+        if (isDoomed[id]) {
+            return;
+        }
+        isDoomed[id] = true;
+        if (doomedCount == doomed.length) {
+            doomed = Arrays.copyOf(doomed, doomedCount * 2);
+        }
+        doomed[doomedCount++] = id;
+    }
+
+    /**
+     * Destroys every entity marked by destroyLater().
+     */
+    public void flush() {
+        for (int i = 0; i < doomedCount; i++) {
+            destroy(doomed[i]);
+        }
+        doomedCount = 0;
+    }
+
+    /**
+     * Changes the entity's components. Components it keeps keep their values; new ones are zeroed.
+     *
+     * @param id - a live entity.
+     * @param signature - the entity's new components.
+     */
+    public void setSignature(int id, int signature) {
+        Archetype from = archetypes.get(archetypeOf[id]);
+        if (from.getSignature() == signature) {
+            return;
+        }
+        int fromSlot = slotOf[id];
+        int index = archetypeIndex(signature);
+        Archetype to = archetypes.get(index);
+        int slot = to.add(id);
+        if (to.x != null && from.x != null) {
+            to.x[slot] = from.x[fromSlot];
+            to.y[slot] = from.y[fromSlot];
+        }
+        if (to.velocityX != null && from.velocityX != null) {
+            to.velocityX[slot] = from.velocityX[fromSlot];
+            to.velocityY[slot] = from.velocityY[fromSlot];
+            to.remainderX[slot] = from.remainderX[fromSlot];
+            to.remainderY[slot] = from.remainderY[fromSlot];
+        }
+        if (to.kind != null && from.kind != null) {
+            to.kind[slot] = from.kind[fromSlot];
+        }
+        if (to.lifetime != null && from.lifetime != null) {
+            to.lifetime[slot] = from.lifetime[fromSlot];
+        }
+        int moved = from.remove(fromSlot);
+        if (moved != NONE) {
+            slotOf[moved] = fromSlot;
+        }
+        archetypeOf[id] = index;
+        slotOf[id] = slot;
+    }
+
+    /**
+     * Adds a system, to run after the systems already added.
+     *
+     * @param system - the system to add.
+     */
+    public void addSystem(EntitySystem system) {
+        systems.add(system);
+    }
+
+    /**
+     * Runs every system once, in the order they were added, then destroys the entities they marked.
+     *
+     * @param elapsedMicros - the simulation time covered by the tick, in microseconds.
+     */
+    public void update(long elapsedMicros) {
+        for (EntitySystem system : systems) {
+            system.update(this, elapsedMicros);
+        }
+        flush();
+    }
+
+    /**
+     * Returns whether the id belongs to a live entity.
+     *
+     * @param id - an entity id.
+     * @return true if the entity exists.
+     */
+    public boolean isAlive(int id) {
+        return id >= 0 && id < nextId && archetypeOf[id] != NONE;
+    }
+
+    /**
+     * Returns the number of live entities.
+     *
+     * @return the number of entities.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of archetypes, including empty ones.
+     *
+     * @return the number of archetypes.
+     */
+    public int getArchetypeCount() {
+        return archetypes.size();
+    }
+
+    /**
+     * Returns the archetype at the given index, for systems to iterate.
+     *
+     * @param index - an index between 0 and getArchetypeCount() - 1.
+     * @return the archetype.
+     */
+    public Archetype getArchetype(int index) {
+        return archetypes.get(index);
+    }
+
+    /**
+     * Returns the components the entity has.
+     *
+     * @param id - a live entity.
+     * @return the entity's signature.
+     */
+    public int getSignature(int id) {
+        return archetypes.get(archetypeOf[id]).getSignature();
+    }
+
+    /**
+     * Returns the entity's x coordinate.
+     *
+     * @param id - a live entity with a POSITION.
+     * @return the x coordinate.
+     */
+    public int getX(int id) {
+        return archetypes.get(archetypeOf[id]).x[slotOf[id]];
+    }
+
+    /**
+     * Returns the entity's y coordinate.
+     *
+     * @param id - a live entity with a POSITION.
+     * @return the y coordinate.
+     */
+    public int getY(int id) {
+        return archetypes.get(archetypeOf[id]).y[slotOf[id]];
+    }
+
+    /**
+     * Moves the entity to the given cell.
+     *
+     * @param id - a live entity with a POSITION.
+     * @param x - the new x coordinate.
+     * @param y - the new y coordinate.
+     */
+    public void setPosition(int id, int x, int y) {
+        Archetype archetype = archetypes.get(archetypeOf[id]);
+        archetype.x[slotOf[id]] = x;
+        archetype.y[slotOf[id]] = y;
+    }
+
+    /**
+     * Returns the entity's horizontal velocity.
+     *
+     * @param id - a live entity with a VELOCITY.
+     * @return the velocity in 16.16 fixed-point cells per second.
+     */
+    public int getVelocityX(int id) {
+        return archetypes.get(archetypeOf[id]).velocityX[slotOf[id]];
+    }
+
+    /**
+     * Returns the entity's vertical velocity.
+     *
+     * @param id - a live entity with a VELOCITY.
+     * @return the velocity in 16.16 fixed-point cells per second.
+     */
+    public int getVelocityY(int id) {
+        return archetypes.get(archetypeOf[id]).velocityY[slotOf[id]];
+    }
+
+    /**
+     * Sets the entity's velocity.
+     *
+     * @param id - a live entity with a VELOCITY.
+     * @param velocityX - the horizontal velocity in 16.16 fixed-point cells per second.
+     * @param velocityY - the vertical velocity in 16.16 fixed-point cells per second.
+     */
+    public void setVelocity(int id, int velocityX, int velocityY) {
+        Archetype archetype = archetypes.get(archetypeOf[id]);
+        archetype.velocityX[slotOf[id]] = velocityX;
+        archetype.velocityY[slotOf[id]] = velocityY;
+    }
+
+    /**
+     * Returns the entity's EntityKind tag.
+     *
+     * @param id - a live entity with a KIND.
+     * @return the kind.
+     */
+    public int getKind(int id) {
+        return archetypes.get(archetypeOf[id]).kind[slotOf[id]];
+    }
+
+    /**
+     * Sets the entity's EntityKind tag.
+     *
+     * @param id - a live entity with a KIND.
+     * @param kind - the new kind.
+     */
+    public void setKind(int id, int kind) {
+        archetypes.get(archetypeOf[id]).kind[slotOf[id]] = kind;
+    }
+
+    /**
+     * Returns the number of ticks the entity has left.
+     *
+     * @param id - a live entity with a LIFETIME.
+     * @return the remaining ticks.
+     */
+    public int getLifetime(int id) {
+        return archetypes.get(archetypeOf[id]).lifetime[slotOf[id]];
+    }
+
+    /**
+     * Sets the number of ticks the entity has left.
+     *
+     * @param id - a live entity with a LIFETIME.
+     * @param ticks - the remaining ticks.
+     */
+    public void setLifetime(int id, int ticks) {
+        archetypes.get(archetypeOf[id]).lifetime[slotOf[id]] = ticks;
+    }
+
+    /**
+     * Returns a SpaceObject presenting the entity, for code that works with SpaceObjects.
+     *
+     * @param id - a live entity with a POSITION and a KIND.
+     * @return a view of the entity.
+     */
+    public EntityView view(int id) {
+        return new EntityView(this, id);
+    }
+
+    private int archetypeIndex(int signature) {
+        if (archetypeBySignature[signature] == NONE) {
+            archetypeBySignature[signature] = archetypes.size();
+            archetypes.add(new Archetype(signature));
+        }
+        return archetypeBySignature[signature];
+    }
+}
@@ -0,0 +1,19 @@
+package game.exceptions;
+
+import java.io.IOException;
+
+/**
+ * An exception indicating a level file does not follow the level format.
+ */
+public class LevelFormatException extends IOException {
+
+    /**
+     * Creates a new LevelFormatException for the given line of a level file.
+     *
+     * @param line - the line number (starting at 1) the problem was found on.
+     * @param message - a description of the problem.
+     */
+    public LevelFormatException(int line, String message) {
+        super("Line " + line + ": " + message);
+    }
+}
@@ -0,0 +1,40 @@
+package game.input;
+
+import game.utility.Direction;
+
+/**
+ * The commands a player can issue, independent of the keys bound to them.
+ */
+public enum Command {
+    MOVE_UP(Direction.UP),
+    MOVE_LEFT(Direction.LEFT),
+    MOVE_DOWN(Direction.DOWN),
+    MOVE_RIGHT(Direction.RIGHT),
+    FIRE(null),
+    PAUSE(null);
+
+    private final Direction direction;
+
+    Command(Direction direction) {
+        this.direction = direction;
+    }
+
+    /**
+     * Returns the direction the command moves the ship, or null if it is not a movement command.
+     *
+     * @return the direction of movement, or null.
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Returns whether the command must run as soon as it is issued rather than with the next tick's batch.
+     * Pausing is immediate, since no ticks run while the game is paused.
+     *
+     * @return true if the command is not batched.
+     */
+    public boolean isImmediate() {
+        return this == PAUSE;
+    }
+}
@@ -0,0 +1,57 @@
+package game.input;
+
+/**
+ * Collects the commands issued between two ticks so they can be applied together at the start of the
+ * next tick. Each command is kept at most once per batch, in the order it was first issued, so holding
+ * a key down moves the ship at most one cell per tick however fast the key repeats.
+ *
+ * The buffer is safe to fill from the UI's input thread while the game thread drains it.
+ */
+public class CommandBuffer {
+    private static final Command[] COMMANDS = Command.values();
+
+    private final Command[] batch = new Command[COMMANDS.length];
+    private final boolean[] queued = new boolean[COMMANDS.length];
+    private int size = 0;
+
+    /**
+     * Adds the command to the current batch unless it is already in it.
+     *
+     * @param command - the command to add.
+     * @return true if the command was added, false if it was a duplicate.
+     */
+    public synchronized boolean offer(Command command) {
+        if (queued[command.ordinal()]) {
+            return false;
+        }
+        queued[command.ordinal()] = true;
+        batch[size++] = command;
+        return true;
+    }
+
+    /**
+     * Moves the current batch into the given array and starts a new batch.
+     *
+     * @param out - an array with room for every command (at least Command.values().length).
+     * @return the number of commands copied into out.
+     */
+    public synchronized int drainTo(Command[] out) {
+        int count = size;
+        for (int i = 0; i < count; i++) {
+            out[i] = batch[i];
+            queued[batch[i].ordinal()] = false;
+            batch[i] = null;
+        }
+        size = 0;
+        return count;
+    }
+
+    /**
+     * Returns the number of commands in the current batch.
+     *
+     * @return the batch size.
+     */
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,110 @@
+package game.input;
+
+import java.util.Arrays;
+
+/**
+ * Maps keys to commands. Keys are single characters and are case-insensitive.
+ *
+ * Bindings are held in a table indexed by character, so looking up a key costs one array read.
+ */
+public class KeyBindings {
+    private static final int KEYS = 128;
+
+    private final Command[] commands = new Command[KEYS];
+
+    /**
+     * Creates bindings with the default controls: W, A, S and D to move, F to fire and P to pause.
+     */
+    public KeyBindings() {
+        bind('W', Command.MOVE_UP);
+        bind('A', Command.MOVE_LEFT);
+        bind('S', Command.MOVE_DOWN);
+        bind('D', Command.MOVE_RIGHT);
+        bind('F', Command.FIRE);
+        bind('P', Command.PAUSE);
+    }
+
+    /**
+     * Creates bindings for a second player sharing the keyboard: I, J, K and L to move and H to fire.
+     * Pausing is left to the first player.
+     *
+     * @return the second player's bindings.
+     */
+    public static KeyBindings secondPlayer() {
+        KeyBindings bindings = new KeyBindings();
+        bindings.clear();
+        bindings.bind('I', Command.MOVE_UP);
+        bindings.bind('J', Command.MOVE_LEFT);
+        bindings.bind('K', Command.MOVE_DOWN);
+        bindings.bind('L', Command.MOVE_RIGHT);
+        bindings.bind('H', Command.FIRE);
+        return bindings;
+    }
+
+    /**
+     * Binds the key to the command, replacing any command it was bound to.
+     * A command may be bound to several keys.
+     *
+     * @param key - an ASCII character.
+     * @param command - the command the key issues.
+     * @throws IllegalArgumentException if the key is not an ASCII character.
+     */
+    public void bind(char key, Command command) {
+        commands[index(key)] = command;
+    }
+
+    /**
+     * Removes the key's binding, if any.
+     *
+     * @param key - an ASCII character.
+     * @throws IllegalArgumentException if the key is not an ASCII character.
+     */
+    public void unbind(char key) {
+        commands[index(key)] = null;
+    }
+
+    /**
+     * Removes every binding.
+     */
+    public void clear() {
+        Arrays.fill(commands, null);
+    }
+
+    /**
+     * Returns the command bound to the given key input.
+     *
+     * @param input - the key input, as passed to a KeyHandler.
+     * @return the bound command, or null if the input is not a single bound key.
+     */
+    public Command lookup(String input) {
+        if (input.length() != 1) {
+            return null;
+        }
+        char key = Character.toUpperCase(input.charAt(0));
+        return key < KEYS ? commands[key] : null;
+    }
+
+    /**
+     * Returns the keys bound to the given command, for showing the controls to the player.
+     *
+     * @param command - the command to look up.
+     * @return the bound keys, in character order.
+     */
+    public String keysFor(Command command) {
+        StringBuilder keys = new StringBuilder();
+        for (int key = 0; key < KEYS; key++) {
+            if (commands[key] == command) {
+                keys.append((char) key);
+            }
+        }
+        return keys.toString();
+    }
+
+    private static int index(char key) {
+        char upper = Character.toUpperCase(key);
+        if (upper >= KEYS) {
+            throw new IllegalArgumentException("Only ASCII keys can be bound: " + key);
+        }
+        return upper;
+    }
+}
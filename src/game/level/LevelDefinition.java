@@ -0,0 +1,168 @@
+package game.level;
+
+/**
+ * One level of the game: its board size, the spawn chances used each tick, the scripted waves, and the
+ * conditions for moving on to the next level.
+ *
+ * Waves are stored packed in parallel arrays sorted by tick, so a level with thousands of scripted
+ * spawns costs three ints per spawn.
+ */
+public class LevelDefinition {
+    /**
+     * A win condition that is not used by the level.
+     */
+    public static final int NONE = -1;
+
+    private final int number;
+    private final int width;
+    private final int height;
+    private final int asteroidRate;
+    private final int enemyRate;
+    private final int powerUpRate;
+    private final int winScore;
+    private final int winTicks;
+    private final int[] waveTicks;
+    private final int[] waveKinds;
+    private final int[] waveXs;
+
+    LevelDefinition(int number, int width, int height, int asteroidRate, int enemyRate, int powerUpRate,
+                    int winScore, int winTicks, int[] waveTicks, int[] waveKinds, int[] waveXs) {
+        this.number = number;
+        this.width = width;
+        this.height = height;
+        this.asteroidRate = asteroidRate;
+        this.enemyRate = enemyRate;
+        this.powerUpRate = powerUpRate;
+        this.winScore = winScore;
+        this.winTicks = winTicks;
+        this.waveTicks = waveTicks;
+        this.waveKinds = waveKinds;
+        this.waveXs = waveXs;
+    }
+
+    /**
+     * Returns the level number shown to the player.
+     *
+     * @return the level number.
+     */
+    public int getNumber() {
+        return number;
+    }
+
+    /**
+     * Returns the width of the board the level is designed for.
+     *
+     * @return the board width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the board the level is designed for.
+     *
+     * @return the board height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the percentage chance per tick of an asteroid spawning.
+     *
+     * @return the asteroid spawn chance.
+     */
+    public int getAsteroidRate() {
+        return asteroidRate;
+    }
+
+    /**
+     * Returns the percentage chance per tick of an enemy spawning.
+     *
+     * @return the enemy spawn chance.
+     */
+    public int getEnemyRate() {
+        return enemyRate;
+    }
+
+    /**
+     * Returns the percentage chance per tick of a power-up spawning.
+     *
+     * @return the power-up spawn chance.
+     */
+    public int getPowerUpRate() {
+        return powerUpRate;
+    }
+
+    /**
+     * Returns the score at which the level is won, or NONE.
+     *
+     * @return the winning score.
+     */
+    public int getWinScore() {
+        return winScore;
+    }
+
+    /**
+     * Returns the number of ticks the ship must survive to win the level, or NONE.
+     *
+     * @return the ticks to survive.
+     */
+    public int getWinTicks() {
+        return winTicks;
+    }
+
+    /**
+     * Returns whether the level is won with the given score after the given number of ticks.
+     * A level with no win conditions is never won.
+     *
+     * @param score - the ship's score.
+     * @param ticks - the number of ticks played on this level.
+     * @return true if every win condition the level uses is met.
+     */
+    public boolean isWon(int score, int ticks) {
+        if (winScore == NONE && winTicks == NONE) {
+            return false;
+        }
+        return (winScore == NONE || score >= winScore) && (winTicks == NONE || ticks >= winTicks);
+    }
+
+    /**
+     * Returns the number of scripted spawns in the level.
+     *
+     * @return the number of wave spawns.
+     */
+    public int getWaveCount() {
+        return waveTicks.length;
+    }
+
+    /**
+     * Returns the tick of the level at which the given scripted spawn happens.
+     *
+     * @param index - an index between 0 and getWaveCount() - 1, in tick order.
+     * @return the spawn tick.
+     */
+    public int getWaveTick(int index) {
+        return waveTicks[index];
+    }
+
+    /**
+     * Returns the EntityKind of the given scripted spawn.
+     *
+     * @param index - an index between 0 and getWaveCount() - 1, in tick order.
+     * @return the kind to spawn.
+     */
+    public int getWaveKind(int index) {
+        return waveKinds[index];
+    }
+
+    /**
+     * Returns the x coordinate of the given scripted spawn.
+     *
+     * @param index - an index between 0 and getWaveCount() - 1, in tick order.
+     * @return the x coordinate to spawn at.
+     */
+    public int getWaveX(int index) {
+        return waveXs[index];
+    }
+}
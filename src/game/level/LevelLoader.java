@@ -0,0 +1,123 @@
+package game.level;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Streams levels from a level file on a background thread, always keeping the next level parsed ahead
+ * of time so the game can switch levels without waiting on the file.
+ *
+ * The game thread only ever polls: if the next level is not ready yet, the current level simply keeps
+ * playing for another tick.
+ */
+public class LevelLoader implements AutoCloseable {
+    private final LevelReader reader;
+    private final ExecutorService executor;
+    private CompletableFuture<LevelDefinition> pending;
+    private boolean exhausted = false;
+
+    /**
+     * Opens the given level file and starts parsing its first level in the background.
+     *
+     * @param file - the level file to read.
+     * @throws IOException if the file cannot be opened.
+     */
+    public LevelLoader(Path file) throws IOException {
+        this(new LevelReader(Files.newBufferedReader(file)));
+    }
+
+    /**
+     * Starts parsing the first level from the given reader in the background.
+     *
+     * @param reader - the reader to take levels from.
+     */
+    public LevelLoader(LevelReader reader) {
+        this.reader = reader;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "level-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        prefetch();
+    }
+
+    /**
+     * Returns the next level if it has finished loading, and starts loading the one after it.
+     * Never blocks.
+     *
+     * @return the next level, or null if it is not ready yet or there are no more levels.
+     * @throws UncheckedIOException if the level could not be read or is malformed.
+     */
+    public LevelDefinition poll() {
+        if (exhausted || !pending.isDone()) {
+            return null;
+        }
+        LevelDefinition level;
+        try {
+            level = pending.join();
+        } catch (CompletionException e) {
+            exhausted = true;
+            throw e.getCause() instanceof UncheckedIOException cause ? cause : e;
+        }
+        if (level == null) {
+            exhausted = true;
+            return null;
+        }
+        prefetch();
+        return level;
+    }
+
+    /**
+     * Waits for the next level to finish loading, then returns it and starts loading the one after it.
+     * Intended for loading the first level before play starts.
+     *
+     * @return the next level, or null if there are no more levels.
+     * @throws UncheckedIOException if the level could not be read or is malformed.
+     */
+    public LevelDefinition take() {
+        if (!exhausted) {
+            try {
+                pending.join();
+            } catch (CompletionException e) {
+                // rethrown by poll()
+            }
+        }
+        return poll();
+    }
+
+    /**
+     * Returns whether every level in the file has been handed out.
+     *
+     * @return true if there are no more levels.
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * Stops loading and closes the level file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        reader.close();
+    }
+
+    private void prefetch() {
+        pending = CompletableFuture.supplyAsync(() -> {
+            try {
+                return reader.next();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+    }
+}
@@ -0,0 +1,217 @@
+package game.level;
+
+import game.GameModel;
+import game.core.EntityKind;
+import game.exceptions.LevelFormatException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Reads level definitions one at a time from a level file.
+ *
+ * A level file holds any number of levels, each between a "level" line and an "end" line:
+ * <pre>
+ * # comments and blank lines are ignored
+ * level 2
+ * board 10 20                 # width and height, at most the game's board size
+ * spawn asteroid 7            # percentage chance per tick; also enemy and powerup
+ * win score 200               # and/or: win survive {ticks}
+ * wave 40 enemy 2 5 7         # at tick 40 of the level, spawn enemies at x = 2, 5 and 7
+ * end
+ * </pre>
+ * Wave kinds are asteroid, enemy, shield, health, rapid and slow. Anything a level leaves out defaults
+ * to the game's board size, no spawns and no win condition.
+ *
+ * The file is read line by line as levels are requested, so only the level being parsed is ever held
+ * in memory, however large the file.
+ */
+public class LevelReader implements Closeable {
+    private final BufferedReader reader;
+    private int lineNumber = 0;
+
+    private int waveCount;
+    private int[] waveTicks = new int[16];
+    private int[] waveKinds = new int[16];
+    private int[] waveXs = new int[16];
+
+    /**
+     * Creates a reader over the given level file contents.
+     *
+     * @param reader - the source of the level file.
+     */
+    public LevelReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    /**
+     * Reads the next level from the file.
+     *
+     * @return the next level, or null if there are no more levels.
+     * @throws LevelFormatException if the level is malformed.
+     * @throws IOException if the file cannot be read.
+     */
+    public LevelDefinition next() throws IOException {
+        String[] words = nextLine();
+        if (words == null) {
+            return null;
+        }
+        if (!words[0].equals("level") || words.length != 2) {
+            throw new LevelFormatException(lineNumber, "expected 'level {number}'");
+        }
+        int number = parse(words[1]);
+        int width = GameModel.GAME_WIDTH;
+        int height = GameModel.GAME_HEIGHT;
+        int asteroidRate = 0;
+        int enemyRate = 0;
+        int powerUpRate = 0;
+        int winScore = LevelDefinition.NONE;
+        int winTicks = LevelDefinition.NONE;
+        waveCount = 0;
+
+        while ((words = nextLine()) != null) {
+            switch (words[0]) {
+                case "end" -> {
+                    for (int i = 0; i < waveCount; i++) {
+                        if (waveXs[i] >= width) {
+                            throw new LevelFormatException(lineNumber, "wave x " + waveXs[i] + " is off the board");
+                        }
+                    }
+                    return new LevelDefinition(number, width, height, asteroidRate, enemyRate, powerUpRate,
+                            winScore, winTicks, sortedWaves(waveTicks), sortedWaves(waveKinds),
+                            sortedWaves(waveXs));
+                }
+                case "board" -> {
+                    expectLength(words, 3, "board {width} {height}");
+                    width = parse(words[1]);
+                    height = parse(words[2]);
+                    if (width < 1 || height < 1 || width > GameModel.GAME_WIDTH || height > GameModel.GAME_HEIGHT) {
+                        throw new LevelFormatException(lineNumber, "board must fit within "
+                                + GameModel.GAME_WIDTH + " x " + GameModel.GAME_HEIGHT);
+                    }
+                }
+                case "spawn" -> {
+                    expectLength(words, 3, "spawn {asteroid|enemy|powerup} {percent}");
+                    int rate = parse(words[2]);
+                    switch (words[1]) {
+                        case "asteroid" -> asteroidRate = rate;
+                        case "enemy" -> enemyRate = rate;
+                        case "powerup" -> powerUpRate = rate;
+                        default -> throw new LevelFormatException(lineNumber, "unknown spawn '" + words[1] + "'");
+                    }
+                }
+                case "win" -> {
+                    expectLength(words, 3, "win {score|survive} {amount}");
+                    switch (words[1]) {
+                        case "score" -> winScore = parse(words[2]);
+                        case "survive" -> winTicks = parse(words[2]);
+                        default -> throw new LevelFormatException(lineNumber, "unknown win '" + words[1] + "'");
+                    }
+                }
+                case "wave" -> {
+                    if (words.length < 4) {
+                        throw new LevelFormatException(lineNumber, "expected 'wave {tick} {kind} {x}...'");
+                    }
+                    int tick = parse(words[1]);
+                    int kind = parseKind(words[2]);
+                    for (int i = 3; i < words.length; i++) {
+                        addWave(tick, kind, parse(words[i]));
+                    }
+                }
+                default -> throw new LevelFormatException(lineNumber, "unknown directive '" + words[0] + "'");
+            }
+        }
+        throw new LevelFormatException(lineNumber, "level " + number + " has no 'end'");
+    }
+
+    /**
+     * Closes the underlying file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Returns the words of the next line that is not blank or a comment, or null at the end of the file.
+     */
+    private String[] nextLine() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            line = line.strip();
+            if (!line.isEmpty()) {
+                return line.split("\\s+");
+            }
+        }
+        return null;
+    }
+
+    private void expectLength(String[] words, int length, String usage) throws LevelFormatException {
+        if (words.length != length) {
+            throw new LevelFormatException(lineNumber, "expected '" + usage + "'");
+        }
+    }
+
+    private int parse(String word) throws LevelFormatException {
+        try {
+            int value = Integer.parseInt(word);
+            if (value < 0) {
+                throw new LevelFormatException(lineNumber, "negative number " + word);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new LevelFormatException(lineNumber, "expected a number but found '" + word + "'");
+        }
+    }
+
+    private int parseKind(String word) throws LevelFormatException {
+        return switch (word) {
+            case "asteroid" -> EntityKind.ASTEROID;
+            case "enemy" -> EntityKind.ENEMY;
+            case "shield" -> EntityKind.SHIELD_POWER_UP;
+            case "health" -> EntityKind.HEALTH_POWER_UP;
+            case "rapid" -> EntityKind.RAPID_FIRE_POWER_UP;
+            case "slow" -> EntityKind.SLOW_TIME_POWER_UP;
+            default -> throw new LevelFormatException(lineNumber, "unknown kind '" + word + "'");
+        };
+    }
+
+    private void addWave(int tick, int kind, int x) {
+        if (waveCount == waveTicks.length) {
+            waveTicks = Arrays.copyOf(waveTicks, waveCount * 2);
+            waveKinds = Arrays.copyOf(waveKinds, waveCount * 2);
+            waveXs = Arrays.copyOf(waveXs, waveCount * 2);
+        }
+        waveTicks[waveCount] = tick;
+        waveKinds[waveCount] = kind;
+        waveXs[waveCount] = x;
+        waveCount++;
+    }
+
+    /**
+     * Returns a copy of one of the wave arrays, reordered so that wave ticks ascend. Spawns on the same
+     * tick keep the order they were written in.
+     */
+    private int[] sortedWaves(int[] values) {
+        long[] order = new long[waveCount];
+        for (int i = 0; i < waveCount; i++) {
+            order[i] = (long) waveTicks[i] << 32 | i;
+        }
+        Arrays.sort(order);
+        int[] sorted = new int[waveCount];
+        for (int i = 0; i < waveCount; i++) {
+            sorted[i] = values[(int) order[i]];
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,103 @@
+package game.persistence;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The encoding shared by FrameRecorder and FramePlayer.
+ *
+ * An entity is packed into one long as (kind, x, y), so a frame is a sorted array of longs and the
+ * difference between two frames is found, and applied, with a single merge. Sorted keys are stored as
+ * the gaps between them in variable-length integers, which for a board of small coordinates mostly
+ * take one or two bytes each.
+ */
+final class FrameCodec {
+    static final int MAGIC = 0x53534652; // "SSFR"
+    static final int FOOTER_MAGIC = 0x53534658; // "SSFX"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int FOOTER_SIZE = 12; // index offset, magic
+    static final byte KEYFRAME = 0;
+    static final byte DELTA = 1;
+
+    private static final int COORDINATE_BITS = 28;
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+    private static final int COORDINATE_OFFSET = 1 << (COORDINATE_BITS - 1);
+
+    private FrameCodec() {
+    }
+
+    static long pack(int kind, int x, int y) {
+        return ((long) kind << (2 * COORDINATE_BITS))
+                | (((x + COORDINATE_OFFSET) & COORDINATE_MASK) << COORDINATE_BITS)
+                | ((y + COORDINATE_OFFSET) & COORDINATE_MASK);
+    }
+
+    static int kindOf(long key) {
+        return (int) (key >>> (2 * COORDINATE_BITS));
+    }
+
+    static int xOf(long key) {
+        return (int) ((key >>> COORDINATE_BITS) & COORDINATE_MASK) - COORDINATE_OFFSET;
+    }
+
+    static int yOf(long key) {
+        return (int) (key & COORDINATE_MASK) - COORDINATE_OFFSET;
+    }
+
+    /**
+     * Writes an unsigned variable-length integer, seven bits per byte, low bits first.
+     */
+    static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    /**
+     * Writes the count, then the keys as gaps from the previous key.
+     *
+     * @requires keys[0..count) is sorted
+     */
+    static void putKeys(ByteBuffer buffer, long[] keys, int count) {
+        putVarLong(buffer, count);
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            putVarLong(buffer, keys[i] - previous);
+            previous = keys[i];
+        }
+    }
+
+    /**
+     * Reads keys written by putKeys() into the array, growing it if needed.
+     *
+     * @return the array holding the keys, and their count in count[0].
+     */
+    static long[] getKeys(ByteBuffer buffer, long[] keys, int[] count) {
+        int n = (int) getVarLong(buffer);
+        if (keys.length < n) {
+            keys = Arrays.copyOf(keys, Math.max(n, keys.length * 2));
+        }
+        long previous = 0;
+        for (int i = 0; i < n; i++) {
+            previous += getVarLong(buffer);
+            keys[i] = previous;
+        }
+        count[0] = n;
+        return keys;
+    }
+}
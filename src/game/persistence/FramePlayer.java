@@ -0,0 +1,255 @@
+package game.persistence;
+
+import game.ui.FrameSnapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Plays back a recording written by FrameRecorder, one tick at a time from any tick.
+ *
+ * The file is memory-mapped. A finished recording's keyframe index is read from its footer; a recording
+ * still being written has no footer, so its frames are scanned once to build the index and refresh()
+ * picks up frames appended since. Seeking jumps straight to the keyframe at or before the tick (tick /
+ * keyframe interval) and applies at most keyframeInterval - 1 deltas, however long the recording is.
+ *
+ * Many players may read the same file at once. A single mapping limits a recording to 2GB.
+ */
+public class FramePlayer implements Closeable {
+    private static final int LENGTH_SIZE = 4;
+
+    private final FileChannel channel;
+    private final int keyframeInterval;
+    private MappedByteBuffer map;
+    private long[] keyframeOffsets = new long[64];
+    private int keyframeCount = 0;
+    private long frameCount = 0;
+    private int scanned = FrameCodec.HEADER_SIZE; // end of the last complete frame seen
+    private boolean finished;
+
+    private long tick = -1; // the tick currently decoded, -1 before the first
+    private int position = FrameCodec.HEADER_SIZE; // the offset of the frame after the current one
+    private long[] keys = new long[64];
+    private int keyCount = 0;
+    private long[] removed = new long[64];
+    private long[] added = new long[64];
+    private long[] merged = new long[64];
+    private final int[] count = new int[1];
+    private int score;
+    private int health;
+    private int level;
+    private long timeSurvivedMillis;
+
+    /**
+     * Opens the recording at the given path.
+     *
+     * @param path - the recording.
+     * @throws IOException - if the file cannot be read or is not a recording.
+     */
+    public FramePlayer(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (map.capacity() < FrameCodec.HEADER_SIZE || map.getInt(0) != FrameCodec.MAGIC) {
+            channel.close();
+            throw new IOException("Not a frame recording: " + path);
+        }
+        this.keyframeInterval = map.getInt(8);
+        int footer = map.capacity() - FrameCodec.FOOTER_SIZE;
+        if (footer >= FrameCodec.HEADER_SIZE && map.getInt(footer + 8) == FrameCodec.FOOTER_MAGIC) {
+            readIndex((int) map.getLong(footer));
+        } else {
+            scan();
+        }
+    }
+
+    private void readIndex(int indexOffset) {
+        keyframeCount = map.getInt(indexOffset);
+        keyframeOffsets = new long[Math.max(1, keyframeCount)];
+        for (int i = 0; i < keyframeCount; i++) {
+            keyframeOffsets[i] = map.getLong(indexOffset + 4 + 8 * i);
+        }
+        // count the frames after the last keyframe to find the length of the recording
+        frameCount = (long) Math.max(0, keyframeCount - 1) * keyframeInterval;
+        int offset = keyframeCount == 0 ? FrameCodec.HEADER_SIZE : (int) keyframeOffsets[keyframeCount - 1];
+        while (offset < indexOffset) {
+            offset += LENGTH_SIZE + map.getInt(offset);
+            frameCount++;
+        }
+        scanned = indexOffset;
+        finished = true;
+    }
+
+    /**
+     * Indexes the complete frames between the last scanned frame and the end of the mapping.
+     */
+    private void scan() {
+        while (scanned + LENGTH_SIZE <= map.limit()) {
+            int length = map.getInt(scanned);
+            if (length <= 0 || scanned + LENGTH_SIZE + length > map.limit()) {
+                break; // partially written
+            }
+            if (frameCount % keyframeInterval == 0) {
+                if (keyframeCount == keyframeOffsets.length) {
+                    keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframeCount * 2);
+                }
+                keyframeOffsets[keyframeCount++] = scanned;
+            }
+            scanned += LENGTH_SIZE + length;
+            frameCount++;
+        }
+    }
+
+    /**
+     * Picks up frames appended to a recording that is still being written.
+     *
+     * @return true if new frames were found.
+     * @throws IOException - if the file cannot be remapped.
+     */
+    public boolean refresh() throws IOException {
+        if (finished || channel.size() == map.capacity()) {
+            return false;
+        }
+        long before = frameCount;
+        map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        int footer = map.capacity() - FrameCodec.FOOTER_SIZE;
+        if (map.getInt(footer + 8) == FrameCodec.FOOTER_MAGIC) {
+            finished = true; // the recorder closed; stop before the index
+            map.limit((int) map.getLong(footer));
+        }
+        scan();
+        return frameCount > before;
+    }
+
+    /**
+     * Returns the number of frames (ticks) in the recording.
+     *
+     * @return the number of frames.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Returns the tick currently decoded, or -1 if no frame has been read yet.
+     *
+     * @return the current tick.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Moves to the given tick, clamped to the recording.
+     *
+     * @param target - the tick to show.
+     * @return false if the recording is empty.
+     */
+    public boolean seek(long target) {
+        if (frameCount == 0) {
+            return false;
+        }
+        target = Math.max(0, Math.min(target, frameCount - 1));
+        int keyframe = (int) (target / keyframeInterval);
+        if (tick < 0 || target < tick || target / keyframeInterval != tick / keyframeInterval) {
+            tick = (long) keyframe * keyframeInterval - 1;
+            position = (int) keyframeOffsets[keyframe];
+        }
+        while (tick < target) {
+            next();
+        }
+        return true;
+    }
+
+    /**
+     * Moves to the next tick.
+     *
+     * @return false if there are no more frames (yet).
+     */
+    public boolean next() {
+        if (tick + 1 >= frameCount) {
+            return false;
+        }
+        ByteBuffer frame = map.duplicate();
+        int length = frame.getInt(position);
+        frame.position(position + LENGTH_SIZE);
+        byte type = frame.get();
+        score = (int) FrameCodec.getVarLong(frame);
+        health = (int) FrameCodec.getVarLong(frame);
+        level = (int) FrameCodec.getVarLong(frame);
+        timeSurvivedMillis = FrameCodec.getVarLong(frame);
+        if (type == FrameCodec.KEYFRAME) {
+            keys = FrameCodec.getKeys(frame, keys, count);
+            keyCount = count[0];
+        } else {
+            removed = FrameCodec.getKeys(frame, removed, count);
+            int removedCount = count[0];
+            added = FrameCodec.getKeys(frame, added, count);
+            applyDelta(removedCount, count[0]);
+        }
+        position += LENGTH_SIZE + length;
+        tick++;
+        return true;
+    }
+
+    /**
+     * Merges the current sorted keys with the added keys, skipping the removed ones.
+     */
+    private void applyDelta(int removedCount, int addedCount) {
+        int capacity = keyCount + addedCount;
+        if (merged.length < capacity) {
+            merged = new long[Math.max(capacity, merged.length * 2)];
+        }
+        int n = 0;
+        int r = 0;
+        int a = 0;
+        for (int i = 0; i < keyCount; i++) {
+            long key = keys[i];
+            if (r < removedCount && removed[r] == key) {
+                r++;
+                continue;
+            }
+            while (a < addedCount && added[a] < key) {
+                merged[n++] = added[a++];
+            }
+            merged[n++] = key;
+        }
+        while (a < addedCount) {
+            merged[n++] = added[a++];
+        }
+        long[] swap = keys;
+        keys = merged;
+        merged = swap;
+        keyCount = n;
+    }
+
+    /**
+     * Records the current tick's entities and HUD values into the snapshot.
+     *
+     * @param frame - the snapshot to write; it is cleared first.
+     */
+    public void writeTo(FrameSnapshot frame) {
+        frame.clear();
+        for (int i = 0; i < keyCount; i++) {
+            long key = keys[i];
+            frame.add(FrameCodec.kindOf(key), FrameCodec.xOf(key), FrameCodec.yOf(key));
+        }
+        frame.setHud(score, health, level);
+        frame.setTimeSurvived(timeSurvivedMillis);
+    }
+
+    /**
+     * Closes the recording.
+     *
+     * @throws IOException - if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
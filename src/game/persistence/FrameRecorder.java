@@ -0,0 +1,210 @@
+package game.persistence;
+
+import game.ui.FrameSnapshot;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writes a stream of frames to a file that FramePlayer can seek in and play back.
+ *
+ * Every keyframeInterval-th frame is a keyframe holding every entity; the frames between hold only the
+ * entities that disappeared since the previous frame and those that appeared (an entity that moves
+ * counts as both). Each frame is prefixed with its length. Frames are buffered and written a chunk at a
+ * time, at every keyframe, so a file being recorded can be followed by players while it grows. On close,
+ * an index of keyframe offsets and a footer are appended, letting a player open an hours-long recording
+ * without scanning it.
+ *
+ * The file layout is a 16 byte header (magic number, version, keyframe interval, reserved), the frames,
+ * then the index (keyframe count and offsets) and a footer (index offset, magic number).
+ */
+public class FrameRecorder implements Closeable {
+    /**
+     * The default number of frames from one keyframe to the next.
+     */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 100;
+
+    private static final int LENGTH_SIZE = 4;
+
+    private final FileChannel channel;
+    private final int keyframeInterval;
+    private ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+    private long written;
+    private long frameCount = 0;
+    private long[] keyframeOffsets = new long[64];
+    private int keyframeCount = 0;
+
+    private long[] previous = new long[64];
+    private int previousCount = 0;
+    private long[] current = new long[64];
+    private long[] removed = new long[64];
+    private long[] added = new long[64];
+
+    /**
+     * Creates a recording at the given path with the default keyframe interval, replacing any file there.
+     *
+     * @param path - the file to record to.
+     * @throws IOException - if the file cannot be created.
+     */
+    public FrameRecorder(Path path) throws IOException {
+        this(path, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Creates a recording at the given path, replacing any file there.
+     *
+     * @param path - the file to record to.
+     * @param keyframeInterval - the number of frames from one keyframe to the next.
+     * @throws IOException - if the file cannot be created.
+     * @requires keyframeInterval > 0
+     */
+    public FrameRecorder(Path path, int keyframeInterval) throws IOException {
+        this.keyframeInterval = keyframeInterval;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(FrameCodec.HEADER_SIZE);
+        header.putInt(FrameCodec.MAGIC).putInt(FrameCodec.VERSION).putInt(keyframeInterval).putInt(0);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        this.written = FrameCodec.HEADER_SIZE;
+    }
+
+    /**
+     * Appends the frame as the next tick of the recording.
+     *
+     * @param frame - the frame to record.
+     * @throws IOException - if a chunk cannot be written.
+     */
+    public void record(FrameSnapshot frame) throws IOException {
+        int count = frame.size();
+        if (current.length < count) {
+            current = new long[Math.max(count, current.length * 2)];
+        }
+        for (int i = 0; i < count; i++) {
+            current[i] = FrameCodec.pack(frame.kindAt(i), frame.xAt(i), frame.yAt(i));
+        }
+        Arrays.sort(current, 0, count);
+
+        boolean keyframe = frameCount % keyframeInterval == 0;
+        if (keyframe) {
+            flush(); // each keyframe starts a new chunk
+            if (keyframeCount == keyframeOffsets.length) {
+                keyframeOffsets = Arrays.copyOf(keyframeOffsets, keyframeCount * 2);
+            }
+            keyframeOffsets[keyframeCount++] = written;
+        }
+        // worst case: every key removed and added at ten bytes each, plus the header fields
+        ensureRemaining(LENGTH_SIZE + 64 + 10 * 2 * (count + previousCount));
+        int start = buffer.position();
+        buffer.position(start + LENGTH_SIZE);
+        buffer.put(keyframe ? FrameCodec.KEYFRAME : FrameCodec.DELTA);
+        FrameCodec.putVarLong(buffer, frame.getScore());
+        FrameCodec.putVarLong(buffer, frame.getHealth());
+        FrameCodec.putVarLong(buffer, frame.getLevel());
+        FrameCodec.putVarLong(buffer, frame.getTimeSurvivedMillis());
+        if (keyframe) {
+            FrameCodec.putKeys(buffer, current, count);
+        } else {
+            writeDelta(count);
+        }
+        buffer.putInt(start, buffer.position() - start - LENGTH_SIZE);
+
+        long[] swap = previous;
+        previous = current;
+        current = swap;
+        previousCount = count;
+        frameCount++;
+    }
+
+    /**
+     * Merges the previous and current sorted keys, writing the keys only in the previous frame (removed)
+     * then the keys only in the current frame (added).
+     */
+    private void writeDelta(int count) {
+        int capacity = count + previousCount;
+        if (removed.length < capacity) {
+            removed = new long[capacity];
+            added = new long[capacity];
+        }
+        int removedCount = 0;
+        int addedCount = 0;
+        int i = 0;
+        int j = 0;
+        while (i < previousCount && j < count) {
+            if (previous[i] == current[j]) {
+                i++;
+                j++;
+            } else if (previous[i] < current[j]) {
+                removed[removedCount++] = previous[i++];
+            } else {
+                added[addedCount++] = current[j++];
+            }
+        }
+        while (i < previousCount) {
+            removed[removedCount++] = previous[i++];
+        }
+        while (j < count) {
+            added[addedCount++] = current[j++];
+        }
+        FrameCodec.putKeys(buffer, removed, removedCount);
+        FrameCodec.putKeys(buffer, added, addedCount);
+    }
+
+    /**
+     * Returns the number of frames recorded.
+     *
+     * @return the number of frames.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Writes all buffered frames to the file, so players following it can read them.
+     *
+     * @throws IOException - if the frames cannot be written.
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes the remaining frames, the keyframe index and the footer, then closes the file.
+     *
+     * @throws IOException - if the file cannot be written or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        long indexOffset = written;
+        ensureRemaining(4 + 8 * keyframeCount + FrameCodec.FOOTER_SIZE);
+        buffer.putInt(keyframeCount);
+        for (int i = 0; i < keyframeCount; i++) {
+            buffer.putLong(keyframeOffsets[i]);
+        }
+        buffer.putLong(indexOffset).putInt(FrameCodec.FOOTER_MAGIC);
+        flush();
+        channel.close();
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        flush();
+        if (buffer.capacity() < bytes) {
+            buffer = ByteBuffer.allocate(bytes);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package game.persistence;
+
+import java.util.Arrays;
+
+/**
+ * A recorded game session, stored as the random seed it was played with and the keys pressed.
+ *
+ * GameModel.spawnObjects() draws from its random number generator in a fixed order, so a game started
+ * with the same seed and given the same keys at the same ticks plays out identically. A replay is
+ * therefore only a few bytes per key press, however long or busy the session was.
+ *
+ * Key presses are stored in the order they happened, each with the number of ticks that had been played
+ * before it was pressed. The score, level and object count the session ended with are stored too, so a
+ * replay that no longer plays out as recorded can be detected.
+ */
+public class Replay {
+    private final String name;
+    private final int seed;
+    private final int tickCount;
+    private final int finalScore;
+    private final int finalLevel;
+    private final int finalObjectCount;
+    private final int[] eventTicks;
+    private final String[] eventKeys;
+
+    /**
+     * Creates a replay.
+     *
+     * @param name - a name describing the session.
+     * @param seed - the seed the game's random number generator was set to.
+     * @param tickCount - the number of ticks played.
+     * @param finalScore - the players' combined score when the session ended.
+     * @param finalLevel - the level when the session ended.
+     * @param finalObjectCount - the number of objects, excluding projectiles, when the session ended.
+     * @param eventTicks - the ticks played before each key press, in non-decreasing order.
+     * @param eventKeys - the keys pressed.
+     * @requires eventTicks.length == eventKeys.length
+     */
+    public Replay(String name, int seed, int tickCount, int finalScore, int finalLevel, int finalObjectCount,
+                  int[] eventTicks, String[] eventKeys) {
+        this.name = name;
+        this.seed = seed;
+        this.tickCount = tickCount;
+        this.finalScore = finalScore;
+        this.finalLevel = finalLevel;
+        this.finalObjectCount = finalObjectCount;
+        this.eventTicks = Arrays.copyOf(eventTicks, eventTicks.length);
+        this.eventKeys = Arrays.copyOf(eventKeys, eventKeys.length);
+    }
+
+    /**
+     * Returns the name describing the session.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the seed to pass to GameModel.setRandomSeed() before replaying.
+     *
+     * @return the seed.
+     */
+    public int getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of ticks played.
+     *
+     * @return the number of ticks.
+     */
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Returns the players' combined score when the session ended.
+     *
+     * @return the final score.
+     */
+    public int getFinalScore() {
+        return finalScore;
+    }
+
+    /**
+     * Returns the level when the session ended.
+     *
+     * @return the final level.
+     */
+    public int getFinalLevel() {
+        return finalLevel;
+    }
+
+    /**
+     * Returns the number of objects, excluding projectiles, when the session ended.
+     *
+     * @return the final object count.
+     */
+    public int getFinalObjectCount() {
+        return finalObjectCount;
+    }
+
+    /**
+     * Returns the number of key presses.
+     *
+     * @return the number of key presses.
+     */
+    public int getEventCount() {
+        return eventKeys.length;
+    }
+
+    /**
+     * Returns the number of ticks played before the given key press.
+     *
+     * @param index - the key press, in the order they happened.
+     * @return the tick.
+     */
+    public int getEventTick(int index) {
+        return eventTicks[index];
+    }
+
+    /**
+     * Returns the key pressed by the given key press.
+     *
+     * @param index - the key press, in the order they happened.
+     * @return the key.
+     */
+    public String getEventKey(int index) {
+        return eventKeys[index];
+    }
+}
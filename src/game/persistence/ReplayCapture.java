@@ -0,0 +1,63 @@
+package game.persistence;
+
+import java.util.Arrays;
+
+/**
+ * Captures a game session as a Replay while it is played.
+ *
+ * Set the capture on the game's controller (GameController.setCapture()) after setting the game's
+ * seed; the controller reports each tick it plays and each key it is given between them.
+ */
+public class ReplayCapture {
+    private final String name;
+    private final int seed;
+    private int tickCount = 0;
+    private int[] eventTicks = new int[256];
+    private String[] eventKeys = new String[256];
+    private int eventCount = 0;
+
+    /**
+     * Creates a capture of a session played with the given seed.
+     *
+     * @param name - a name describing the session.
+     * @param seed - the seed the game's random number generator was set to.
+     */
+    public ReplayCapture(String name, int seed) {
+        this.name = name;
+        this.seed = seed;
+    }
+
+    /**
+     * Counts a tick played.
+     */
+    public synchronized void tick() {
+        tickCount++;
+    }
+
+    /**
+     * Notes a key pressed before the next tick.
+     *
+     * @param key - the key pressed.
+     */
+    public synchronized void press(String key) {
+        if (eventCount == eventKeys.length) {
+            eventTicks = Arrays.copyOf(eventTicks, eventCount * 2);
+            eventKeys = Arrays.copyOf(eventKeys, eventCount * 2);
+        }
+        eventTicks[eventCount] = tickCount;
+        eventKeys[eventCount++] = key;
+    }
+
+    /**
+     * Returns the session captured so far, ending in the given state.
+     *
+     * @param score - the players' combined score now.
+     * @param level - the level now.
+     * @param objectCount - the number of objects now, excluding projectiles.
+     * @return the replay.
+     */
+    public synchronized Replay toReplay(int score, int level, int objectCount) {
+        return new Replay(name, seed, tickCount, score, level, objectCount,
+                Arrays.copyOf(eventTicks, eventCount), Arrays.copyOf(eventKeys, eventCount));
+    }
+}
@@ -0,0 +1,147 @@
+package game.persistence;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reads and writes files of Replays, used as repeatable workloads for benchmarks.
+ *
+ * Each replay is stored as its name, seed, tick count and final score, level and object count, followed
+ * by its key presses, each as the number of ticks since the previous press and the key, in
+ * variable-length integers (see FrameCodec). Real play presses the same few keys at short intervals, so
+ * the whole file is then gzipped, which typically shrinks it several times over again.
+ *
+ * The uncompressed layout is a magic number, a version and the replay count, then the replays.
+ */
+public final class ReplayCorpus {
+    private static final int MAGIC = 0x53535243; // "SSRC"
+    private static final int VERSION = 2;
+
+    private ReplayCorpus() {
+    }
+
+    /**
+     * Writes the replays to the given file, replacing any file there.
+     *
+     * @param path - the corpus file.
+     * @param replays - the replays to write.
+     * @throws IOException - if the file cannot be written.
+     */
+    public static void write(Path path, List<Replay> replays) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(path))) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            buffer.putInt(MAGIC).putInt(VERSION);
+            FrameCodec.putVarLong(buffer, replays.size());
+            for (Replay replay : replays) {
+                byte[] name = replay.getName().getBytes(StandardCharsets.UTF_8);
+                buffer = ensureRemaining(buffer, out, name.length + 32);
+                FrameCodec.putVarLong(buffer, name.length);
+                buffer.put(name);
+                buffer.putInt(replay.getSeed());
+                FrameCodec.putVarLong(buffer, replay.getTickCount());
+                FrameCodec.putVarLong(buffer, replay.getFinalScore());
+                FrameCodec.putVarLong(buffer, replay.getFinalLevel());
+                FrameCodec.putVarLong(buffer, replay.getFinalObjectCount());
+                FrameCodec.putVarLong(buffer, replay.getEventCount());
+                int previous = 0;
+                for (int i = 0; i < replay.getEventCount(); i++) {
+                    byte[] key = replay.getEventKey(i).getBytes(StandardCharsets.UTF_8);
+                    buffer = ensureRemaining(buffer, out, key.length + 20);
+                    FrameCodec.putVarLong(buffer, replay.getEventTick(i) - previous);
+                    FrameCodec.putVarLong(buffer, key.length);
+                    buffer.put(key);
+                    previous = replay.getEventTick(i);
+                }
+            }
+            out.write(buffer.array(), 0, buffer.position());
+        }
+    }
+
+    /**
+     * Reads every replay in the given file.
+     *
+     * @param path - the corpus file.
+     * @return the replays, in the order they were written.
+     * @throws IOException - if the file cannot be read or is not a replay corpus.
+     */
+    public static List<Replay> read(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            buffer = ByteBuffer.wrap(in.readAllBytes());
+        }
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a replay corpus: " + path);
+            }
+            if (buffer.getInt() != VERSION) {
+                throw new IOException("Unsupported replay corpus version, rebuild it: " + path);
+            }
+            int count = (int) FrameCodec.getVarLong(buffer);
+            List<Replay> replays = new ArrayList<>(count);
+            for (int r = 0; r < count; r++) {
+                String name = getString(buffer);
+                int seed = buffer.getInt();
+                int tickCount = (int) FrameCodec.getVarLong(buffer);
+                int finalScore = (int) FrameCodec.getVarLong(buffer);
+                int finalLevel = (int) FrameCodec.getVarLong(buffer);
+                int finalObjectCount = (int) FrameCodec.getVarLong(buffer);
+                int eventCount = (int) FrameCodec.getVarLong(buffer);
+                int[] eventTicks = new int[eventCount];
+                String[] eventKeys = new String[eventCount];
+                int tick = 0;
+                for (int i = 0; i < eventCount; i++) {
+                    tick += (int) FrameCodec.getVarLong(buffer);
+                    eventTicks[i] = tick;
+                    eventKeys[i] = getString(buffer);
+                }
+                replays.add(new Replay(name, seed, tickCount, finalScore, finalLevel, finalObjectCount,
+                        eventTicks, eventKeys));
+            }
+            return replays;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated replay corpus: " + path);
+        }
+    }
+
+    /**
+     * Adds the replay to the end of the given file, creating the file if it does not exist.
+     *
+     * @param path - the corpus file.
+     * @param replay - the replay to add.
+     * @throws IOException - if the file cannot be read or written.
+     */
+    public static void append(Path path, Replay replay) throws IOException {
+        List<Replay> replays = Files.exists(path) ? read(path) : new ArrayList<>();
+        replays.add(replay);
+        write(path, replays);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[(int) FrameCodec.getVarLong(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes out the buffer's contents if fewer than the given number of bytes remain in it, growing
+     * it if even an empty buffer would be too small.
+     */
+    private static ByteBuffer ensureRemaining(ByteBuffer buffer, OutputStream out, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        out.write(buffer.array(), 0, buffer.position());
+        buffer.clear();
+        return buffer.capacity() >= bytes ? buffer : ByteBuffer.allocate(bytes);
+    }
+}
@@ -0,0 +1,230 @@
+package game.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An index over every log record, kept as a chain of SortedIndex segment files.
+ *
+ * Each segment covers a contiguous range of log records. Its file name {name}-{from}-{to}.idx gives the
+ * range, and the segments chain from record 0 up to the watermark. New records are added by writing
+ * them as a new segment, so adding costs O(k log k) for k records however large the index has grown.
+ * Segments are merged in tiers: once the MERGE_FACTOR newest segments are in the same tier, they are
+ * streamed into one segment of the next tier. Each record is therefore rewritten O(log n) times, and a
+ * lookup binary-searches O(log n) segments.
+ *
+ * A merged segment is written before the segments it replaces are deleted. Segment files left behind
+ * by an interrupted merge, or that do not continue the chain, are deleted when the index is opened; the
+ * records they covered are then above the watermark and are added again by the owner.
+ */
+public class SegmentedIndex implements Closeable {
+    /**
+     * The number of segments of one tier that are merged into a segment of the next tier.
+     */
+    public static final int MERGE_FACTOR = 4;
+
+    private final Path directory;
+    private final String name;
+    private final int baseSize;
+    private final List<Segment> segments = new ArrayList<>(); // oldest first
+
+    private SegmentedIndex(Path directory, String name, int baseSize) {
+        this.directory = directory;
+        this.name = name;
+        this.baseSize = baseSize;
+    }
+
+    /**
+     * Opens the index with the given name in the given directory, deleting segment files that are not
+     * part of the chain. An index with no segments is empty.
+     *
+     * @param directory - the directory holding the segment files.
+     * @param name - the prefix of the segment file names.
+     * @param baseSize - the number of entries a segment of the lowest tier holds at most.
+     * @return the opened index.
+     * @throws IOException - if the directory or a segment cannot be read.
+     * @requires baseSize > 0
+     */
+    public static SegmentedIndex open(Path directory, String name, int baseSize) throws IOException {
+        SegmentedIndex index = new SegmentedIndex(directory, name, baseSize);
+        Pattern pattern = Pattern.compile(Pattern.quote(name) + "-(\\d+)-(\\d+)\\.idx");
+        List<long[]> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, name + "-*.idx")) {
+            for (Path file : files) {
+                Matcher matcher = pattern.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    found.add(new long[]{Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2))});
+                }
+            }
+        }
+        // widest first, so a merged segment wins over the segments it replaced
+        found.sort(Comparator.<long[]>comparingLong(range -> range[0]).thenComparingLong(range -> -range[1]));
+        long next = 0;
+        try {
+            for (long[] range : found) {
+                Path path = index.pathOf(range[0], range[1]);
+                if (range[0] == next && range[1] > next) {
+                    index.segments.add(new Segment(range[0], range[1], SortedIndex.open(path)));
+                    next = range[1];
+                } else {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException e) {
+            index.close();
+            throw e;
+        }
+        return index;
+    }
+
+    /**
+     * Adds the entries of the records from the watermark up to the given record as a new segment,
+     * then merges segments as needed.
+     *
+     * @param keys - the entry keys, sorted ascending.
+     * @param records - the record index of each entry, ascending for equal keys.
+     * @param count - the number of entries to add.
+     * @param to - the new watermark: one past the last record the entries cover.
+     * @throws IOException - if a segment cannot be written.
+     * @requires to > getWatermark()
+     */
+    public void add(long[] keys, long[] records, int count, long to) throws IOException {
+        long from = getWatermark();
+        Path path = pathOf(from, to);
+        SortedIndex.write(path, keys, records, count, to);
+        segments.add(new Segment(from, to, SortedIndex.open(path)));
+        while (segments.size() >= MERGE_FACTOR && newestShareTier()) {
+            mergeNewest();
+        }
+    }
+
+    /**
+     * Returns the record indices of every entry with the given key, ascending.
+     *
+     * @param key - the key to look up.
+     * @return the matching record indices.
+     */
+    public List<Long> recordsWithKey(long key) {
+        List<Long> result = new ArrayList<>();
+        for (Segment segment : segments) { // older segments hold lower record indices
+            SortedIndex index = segment.index;
+            for (int i = index.lowerBound(key); i < index.size() && index.keyAt(i) == key; i++) {
+                result.add(index.recordAt(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of log records covered by this index.
+     *
+     * @return the watermark.
+     */
+    public long getWatermark() {
+        return segments.isEmpty() ? 0 : segments.get(segments.size() - 1).to;
+    }
+
+    /**
+     * Returns the number of segment files the index is made of.
+     *
+     * @return the number of segments.
+     */
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Returns whether the MERGE_FACTOR newest segments are in the same tier.
+     */
+    private boolean newestShareTier() {
+        int last = segments.size() - 1;
+        int tier = tierOf(segments.get(last).index.size());
+        for (int i = last - MERGE_FACTOR + 1; i < last; i++) {
+            if (tierOf(segments.get(i).index.size()) != tier) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the tier of a segment with the given number of entries: the smallest t for which it holds
+     * at most baseSize * MERGE_FACTOR^t entries.
+     */
+    private int tierOf(int size) {
+        int tier = 0;
+        for (long limit = baseSize; size > limit; limit *= MERGE_FACTOR) {
+            tier++;
+        }
+        return tier;
+    }
+
+    /**
+     * Streams the MERGE_FACTOR newest segments into one, then deletes them.
+     */
+    private void mergeNewest() throws IOException {
+        List<Segment> merged = segments.subList(segments.size() - MERGE_FACTOR, segments.size());
+        List<SortedIndex> inputs = new ArrayList<>();
+        for (Segment segment : merged) {
+            inputs.add(segment.index);
+        }
+        long from = merged.get(0).from;
+        long to = merged.get(merged.size() - 1).to;
+        Path path = pathOf(from, to);
+        SortedIndex.merge(path, inputs, to);
+        for (Segment segment : merged) {
+            segment.index.close();
+            Files.delete(pathOf(segment.from, segment.to));
+        }
+        merged.clear();
+        segments.add(new Segment(from, to, SortedIndex.open(path)));
+    }
+
+    private Path pathOf(long from, long to) {
+        return directory.resolve(name + "-" + from + "-" + to + ".idx");
+    }
+
+    /**
+     * Closes every segment file.
+     *
+     * @throws IOException - if a file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (Segment segment : segments) {
+            try {
+                segment.index.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        segments.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * An open segment file and the range of log records it covers.
+     */
+    private static final class Segment {
+        private final long from;
+        private final long to;
+        private final SortedIndex index;
+
+        private Segment(long from, long to, SortedIndex index) {
+            this.from = from;
+            this.to = to;
+            this.index = index;
+        }
+    }
+}
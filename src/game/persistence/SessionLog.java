@@ -0,0 +1,110 @@
+package game.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An append-only, memory-mapped file of SessionRecords.
+ *
+ * The file is a 16 byte header (magic number, version, record count) followed by fixed-size records,
+ * so record i can be read in O(1). A record is written before the count in the header is advanced,
+ * so a crash mid-append never exposes a partial record. The mapping grows in CHUNK_SIZE steps.
+ *
+ * A single mapping limits the log to about 44 million records (2GB).
+ */
+public class SessionLog implements Closeable {
+    private static final int MAGIC = 0x53534C47; // "SSLG"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int COUNT_OFFSET = 8;
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    private long count;
+
+    /**
+     * Opens the log at the given path, creating it if it does not exist.
+     *
+     * @param path - the log file.
+     * @throws IOException - if the file cannot be opened or is not a session log.
+     */
+    public SessionLog(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean created = channel.size() == 0;
+        remap(Math.max(channel.size(), CHUNK_SIZE));
+        if (created) {
+            map.putInt(0, MAGIC);
+            map.putInt(4, VERSION);
+            map.putLong(COUNT_OFFSET, 0);
+        } else if (map.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException("Not a session log: " + path);
+        }
+        this.count = map.getLong(COUNT_OFFSET);
+    }
+
+    /**
+     * Appends a record to the end of the log.
+     *
+     * @param record - the record to append.
+     * @return the index of the appended record.
+     * @throws IOException - if the file cannot be grown.
+     */
+    public long append(SessionRecord record) throws IOException {
+        long position = HEADER_SIZE + count * SessionRecord.SIZE;
+        if (position + SessionRecord.SIZE > map.capacity()) {
+            remap(map.capacity() + CHUNK_SIZE);
+        }
+        record.writeTo(map, (int) position);
+        map.putLong(COUNT_OFFSET, count + 1);
+        return count++;
+    }
+
+    /**
+     * Reads the record at the given index.
+     *
+     * @param index - the index of the record.
+     * @return the record.
+     * @requires 0 <= index < size()
+     */
+    public SessionRecord get(long index) {
+        return SessionRecord.readFrom(map, (int) (HEADER_SIZE + index * SessionRecord.SIZE));
+    }
+
+    /**
+     * Returns the number of records in the log.
+     *
+     * @return the number of records.
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Writes any changes in the mapping through to the storage device.
+     */
+    public void force() {
+        map.force();
+    }
+
+    /**
+     * Flushes and closes the log.
+     *
+     * @throws IOException - if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private void remap(long capacity) throws IOException {
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+}
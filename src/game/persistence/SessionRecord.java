@@ -0,0 +1,180 @@
+package game.persistence;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An immutable summary of one finished game session.
+ *
+ * Records are stored in a fixed-size binary form of SIZE bytes so they can be addressed by index.
+ */
+public class SessionRecord {
+    /**
+     * The number of bytes a record occupies when stored.
+     */
+    public static final int SIZE = 48;
+
+    private final long timestamp;
+    private final long seed;
+    private final long durationMillis;
+    private final int score;
+    private final int level;
+    private final int asteroidHits;
+    private final int enemyHits;
+    private final int powerUpsCollected;
+    private final int enemiesDestroyed;
+
+    /**
+     * Creates a session record.
+     *
+     * @param timestamp - when the session ended, in milliseconds since the epoch.
+     * @param seed - the seed of the session's random number generator.
+     * @param durationMillis - how long the session lasted, in milliseconds.
+     * @param score - the final score.
+     * @param level - the final level.
+     * @param asteroidHits - the number of times the ship was hit by an asteroid.
+     * @param enemyHits - the number of times the ship was hit by an enemy or enemy fire.
+     * @param powerUpsCollected - the number of power-ups collected.
+     * @param enemiesDestroyed - the number of enemies destroyed by bullets.
+     */
+    public SessionRecord(long timestamp, long seed, long durationMillis, int score, int level,
+                         int asteroidHits, int enemyHits, int powerUpsCollected, int enemiesDestroyed) {
+        this.timestamp = timestamp;
+        this.seed = seed;
+        this.durationMillis = durationMillis;
+        this.score = score;
+        this.level = level;
+        this.asteroidHits = asteroidHits;
+        this.enemyHits = enemyHits;
+        this.powerUpsCollected = powerUpsCollected;
+        this.enemiesDestroyed = enemiesDestroyed;
+    }
+
+    /**
+     * Writes this record at the given absolute position of the buffer.
+     *
+     * @param buffer - the buffer to write to.
+     * @param position - the position to write at.
+     */
+    void writeTo(ByteBuffer buffer, int position) {
+        buffer.putLong(position, timestamp);
+        buffer.putLong(position + 8, seed);
+        buffer.putLong(position + 16, durationMillis);
+        buffer.putInt(position + 24, score);
+        buffer.putInt(position + 28, level);
+        buffer.putInt(position + 32, asteroidHits);
+        buffer.putInt(position + 36, enemyHits);
+        buffer.putInt(position + 40, powerUpsCollected);
+        buffer.putInt(position + 44, enemiesDestroyed);
+    }
+
+    /**
+     * Reads a record from the given absolute position of the buffer.
+     *
+     * @param buffer - the buffer to read from.
+     * @param position - the position to read at.
+     * @return the record stored there.
+     */
+    static SessionRecord readFrom(ByteBuffer buffer, int position) {
+        return new SessionRecord(
+                buffer.getLong(position),
+                buffer.getLong(position + 8),
+                buffer.getLong(position + 16),
+                buffer.getInt(position + 24),
+                buffer.getInt(position + 28),
+                buffer.getInt(position + 32),
+                buffer.getInt(position + 36),
+                buffer.getInt(position + 40),
+                buffer.getInt(position + 44));
+    }
+
+    /**
+     * Returns when the session ended, in milliseconds since the epoch.
+     *
+     * @return the end time.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the seed of the session's random number generator.
+     *
+     * @return the seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns how long the session lasted, in milliseconds.
+     *
+     * @return the duration.
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Returns the final score.
+     *
+     * @return the score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the final level.
+     *
+     * @return the level.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the number of times the ship was hit by an asteroid.
+     *
+     * @return the number of asteroid hits.
+     */
+    public int getAsteroidHits() {
+        return asteroidHits;
+    }
+
+    /**
+     * Returns the number of times the ship was hit by an enemy or enemy fire.
+     *
+     * @return the number of enemy hits.
+     */
+    public int getEnemyHits() {
+        return enemyHits;
+    }
+
+    /**
+     * Returns the number of power-ups collected.
+     *
+     * @return the number of power-ups collected.
+     */
+    public int getPowerUpsCollected() {
+        return powerUpsCollected;
+    }
+
+    /**
+     * Returns the number of enemies destroyed by bullets.
+     *
+     * @return the number of enemies destroyed.
+     */
+    public int getEnemiesDestroyed() {
+        return enemiesDestroyed;
+    }
+
+    /**
+     * Returns a readable summary of the record.
+     *
+     * @return the summary.
+     */
+    @Override
+    public String toString() {
+        return "Score " + score + ", level " + level + ", " + durationMillis / 1000 + " seconds (seed " + seed + ")";
+    }
+}
@@ -0,0 +1,222 @@
+package game.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Persists finished sessions and answers leaderboard and per-seed history queries.
+ *
+ * Sessions are appended to a SessionLog. Every COMPACTION_THRESHOLD appends (and on close) the records
+ * added since the last compaction are sorted and merged into a SortedIndex leaderboard holding the
+ * TOP_N best scores, and added as a new segment to a SegmentedIndex over every record's seed. Neither
+ * rewrite grows with the number of sessions recorded: the leaderboard is bounded, and seed segments are
+ * merged in tiers. Queries binary-search the indices and only scan the small uncompacted tail of the
+ * log, so they stay O(log n) however many sessions have been recorded.
+ *
+ * Files used in the store directory: sessions.log, leaderboard.idx and the seeds-{from}-{to}.idx
+ * segments. A seeds.idx written by earlier versions is adopted as the first segment.
+ */
+public class SessionStore implements Closeable {
+    /**
+     * The number of best scores kept in the leaderboard.
+     */
+    public static final int TOP_N = 100;
+
+    /**
+     * The number of uncompacted records that triggers a compaction.
+     */
+    public static final int COMPACTION_THRESHOLD = 1024;
+
+    private static final Comparator<long[]> BY_KEY_THEN_RECORD =
+            Comparator.<long[]>comparingLong(entry -> entry[0]).thenComparingLong(entry -> entry[1]);
+
+    private final Path leaderboardPath;
+    private final SessionLog log;
+    private SortedIndex leaderboard;
+    private final SegmentedIndex seeds;
+
+    /**
+     * Opens the store in the given directory, creating the directory and files if needed.
+     *
+     * @param directory - the directory holding the store's files.
+     * @throws IOException - if the files cannot be opened.
+     */
+    public SessionStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.leaderboardPath = directory.resolve("leaderboard.idx");
+        this.log = new SessionLog(directory.resolve("sessions.log"));
+        this.leaderboard = SortedIndex.open(leaderboardPath);
+        adoptSingleSeedIndex(directory);
+        this.seeds = SegmentedIndex.open(directory, "seeds", COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Renames a seeds.idx written by earlier versions, which covers every record below its watermark,
+     * to the name of the first segment.
+     */
+    private static void adoptSingleSeedIndex(Path directory) throws IOException {
+        Path single = directory.resolve("seeds.idx");
+        if (!Files.exists(single)) {
+            return;
+        }
+        long watermark;
+        try (SortedIndex index = SortedIndex.open(single)) {
+            watermark = index.getWatermark();
+        }
+        if (watermark == 0) {
+            Files.delete(single);
+        } else {
+            Files.move(single, directory.resolve("seeds-0-" + watermark + ".idx"),
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Records a finished session, compacting the indices if enough records have accumulated.
+     *
+     * @param record - the session to record.
+     * @throws IOException - if the session cannot be written.
+     */
+    public void record(SessionRecord record) throws IOException {
+        log.append(record);
+        if (log.size() - seeds.getWatermark() >= COMPACTION_THRESHOLD) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns up to count of the highest-scoring sessions, best first.
+     *
+     * @param count - the maximum number of sessions to return.
+     * @return the best sessions.
+     * @requires count <= TOP_N
+     */
+    public List<SessionRecord> topScores(int count) {
+        List<long[]> candidates = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, leaderboard.size()); i++) {
+            candidates.add(new long[]{leaderboard.keyAt(i), leaderboard.recordAt(i)});
+        }
+        for (long i = leaderboard.getWatermark(); i < log.size(); i++) {
+            candidates.add(new long[]{-log.get(i).getScore(), i});
+        }
+        candidates.sort(BY_KEY_THEN_RECORD);
+        List<SessionRecord> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, candidates.size()); i++) {
+            result.add(log.get(candidates.get(i)[1]));
+        }
+        return result;
+    }
+
+    /**
+     * Returns every recorded session played with the given seed, oldest first.
+     *
+     * @param seed - the seed to look up.
+     * @return the sessions with that seed.
+     */
+    public List<SessionRecord> historyForSeed(long seed) {
+        List<SessionRecord> result = new ArrayList<>();
+        for (long record : seeds.recordsWithKey(seed)) {
+            result.add(log.get(record));
+        }
+        for (long i = seeds.getWatermark(); i < log.size(); i++) {
+            SessionRecord record = log.get(i);
+            if (record.getSeed() == seed) {
+                result.add(record);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of sessions recorded.
+     *
+     * @return the number of sessions.
+     */
+    public long size() {
+        return log.size();
+    }
+
+    /**
+     * Merges the records appended since the last compaction into the leaderboard, and adds them to the
+     * seed index as a new segment.
+     *
+     * @throws IOException - if the indices cannot be rewritten.
+     */
+    public void compact() throws IOException {
+        long from = seeds.getWatermark();
+        long to = log.size();
+        if (from == to) {
+            return;
+        }
+        long scoredFrom = Math.max(from, leaderboard.getWatermark()); // seed segments may have been dropped
+        long[][] newSeeds = new long[(int) (to - from)][];
+        long[][] newScores = new long[(int) (to - scoredFrom)][];
+        for (long i = from; i < to; i++) {
+            SessionRecord record = log.get(i);
+            newSeeds[(int) (i - from)] = new long[]{record.getSeed(), i};
+            if (i >= scoredFrom) {
+                newScores[(int) (i - scoredFrom)] = new long[]{-record.getScore(), i};
+            }
+        }
+        Arrays.sort(newSeeds, BY_KEY_THEN_RECORD);
+        Arrays.sort(newScores, BY_KEY_THEN_RECORD);
+        long[] seedKeys = new long[newSeeds.length];
+        long[] seedRecords = new long[newSeeds.length];
+        for (int i = 0; i < newSeeds.length; i++) {
+            seedKeys[i] = newSeeds[i][0];
+            seedRecords[i] = newSeeds[i][1];
+        }
+
+        log.force();
+        seeds.add(seedKeys, seedRecords, seedKeys.length, to);
+        leaderboard = rewrite(leaderboard, leaderboardPath, newScores, TOP_N, to);
+    }
+
+    /**
+     * Merges the sorted additions into the existing index, keeping at most limit entries, and
+     * replaces the index file.
+     */
+    private static SortedIndex rewrite(SortedIndex existing, Path path, long[][] additions, int limit,
+                                       long watermark) throws IOException {
+        int total = (int) Math.min((long) existing.size() + additions.length, limit);
+        long[] keys = new long[total];
+        long[] records = new long[total];
+        int i = 0;
+        int j = 0;
+        for (int out = 0; out < total; out++) {
+            boolean takeExisting = j == additions.length
+                    || (i < existing.size() && (existing.keyAt(i) < additions[j][0]
+                    || (existing.keyAt(i) == additions[j][0] && existing.recordAt(i) < additions[j][1])));
+            if (takeExisting) {
+                keys[out] = existing.keyAt(i);
+                records[out] = existing.recordAt(i++);
+            } else {
+                keys[out] = additions[j][0];
+                records[out] = additions[j++][1];
+            }
+        }
+        existing.close();
+        SortedIndex.write(path, keys, records, total, watermark);
+        return SortedIndex.open(path);
+    }
+
+    /**
+     * Compacts any outstanding records and closes the store's files.
+     *
+     * @throws IOException - if the files cannot be written or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        compact();
+        seeds.close();
+        leaderboard.close();
+        log.close();
+    }
+}
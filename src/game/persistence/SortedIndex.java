@@ -0,0 +1,210 @@
+package game.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * A read-only, memory-mapped file of (key, record index) entries sorted by key, then record index.
+ *
+ * The header stores the number of entries and a watermark: the number of log records that had been
+ * indexed when the file was written. Lookups by key are binary searches, so they cost O(log n) no
+ * matter how many entries the index holds. Index files are replaced atomically by write() and merge().
+ */
+public class SortedIndex implements Closeable {
+    private static final int MAGIC = 0x53534958; // "SSIX"
+    private static final int HEADER_SIZE = 24;
+    private static final int ENTRY_SIZE = 16;
+    private static final int MERGE_BUFFER_ENTRIES = 4096; // entries buffered per write while merging
+
+    private final FileChannel channel;
+    private final MappedByteBuffer map;
+    private final int count;
+    private final long watermark;
+
+    private SortedIndex(FileChannel channel, MappedByteBuffer map) {
+        this.channel = channel;
+        this.map = map;
+        this.count = map == null ? 0 : (int) map.getLong(8);
+        this.watermark = map == null ? 0 : map.getLong(16);
+    }
+
+    /**
+     * Opens the index at the given path. A missing file is treated as an empty index.
+     *
+     * @param path - the index file.
+     * @return the opened index.
+     * @throws IOException - if the file cannot be read or is not an index.
+     */
+    public static SortedIndex open(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return new SortedIndex(null, null);
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (map.capacity() < HEADER_SIZE || map.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException("Not a session index: " + path);
+        }
+        return new SortedIndex(channel, map);
+    }
+
+    /**
+     * Writes a new index file, replacing any existing one atomically.
+     *
+     * @param path - the index file.
+     * @param keys - the entry keys, sorted ascending.
+     * @param records - the record index of each entry.
+     * @param count - the number of entries to write.
+     * @param watermark - the number of log records covered by this index.
+     * @throws IOException - if the file cannot be written.
+     */
+    public static void write(Path path, long[] keys, long[] records, int count, long watermark)
+            throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * ENTRY_SIZE);
+        buffer.putInt(MAGIC).putInt(1).putLong(count).putLong(watermark);
+        for (int i = 0; i < count; i++) {
+            buffer.putLong(keys[i]).putLong(records[i]);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes a new index file holding the entries of every given index, replacing any existing one
+     * atomically. The inputs are merged through a fixed-size buffer, so memory use does not grow with
+     * their size.
+     *
+     * @param path - the index file.
+     * @param inputs - the indices to merge; for equal keys, earlier inputs must hold lower record indices.
+     * @param watermark - the number of log records covered by the new index.
+     * @throws IOException - if the file cannot be written.
+     */
+    public static void merge(Path path, List<SortedIndex> inputs, long watermark) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        long total = 0;
+        for (SortedIndex input : inputs) {
+            total += input.size();
+        }
+        int[] positions = new int[inputs.size()];
+        ByteBuffer buffer = ByteBuffer.allocateDirect(HEADER_SIZE + MERGE_BUFFER_ENTRIES * ENTRY_SIZE);
+        buffer.putInt(MAGIC).putInt(1).putLong(total).putLong(watermark);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (long written = 0; written < total; written++) {
+                int next = -1;
+                for (int i = 0; i < positions.length; i++) {
+                    SortedIndex input = inputs.get(i);
+                    if (positions[i] < input.size()
+                            && (next == -1 || input.keyAt(positions[i]) < inputs.get(next).keyAt(positions[next]))) {
+                        next = i;
+                    }
+                }
+                SortedIndex input = inputs.get(next);
+                buffer.putLong(input.keyAt(positions[next])).putLong(input.recordAt(positions[next]++));
+                if (buffer.remaining() < ENTRY_SIZE) {
+                    drain(channel, buffer);
+                }
+            }
+            drain(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes everything in the buffer to the channel and clears the buffer.
+     */
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Returns the position of the first entry whose key is not less than the given key.
+     *
+     * @param key - the key to search for.
+     * @return the first position with a key >= key, or size() if there is none.
+     */
+    public int lowerBound(long key) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keyAt(middle) < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the key of the entry at the given position.
+     *
+     * @param position - a position between 0 and size() - 1.
+     * @return the key.
+     */
+    public long keyAt(int position) {
+        return map.getLong(HEADER_SIZE + position * ENTRY_SIZE);
+    }
+
+    /**
+     * Returns the record index of the entry at the given position.
+     *
+     * @param position - a position between 0 and size() - 1.
+     * @return the record index.
+     */
+    public long recordAt(int position) {
+        return map.getLong(HEADER_SIZE + position * ENTRY_SIZE + 8);
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the number of log records that had been indexed when this index was written.
+     *
+     * @return the watermark.
+     */
+    public long getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * Closes the index file.
+     *
+     * @throws IOException - if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
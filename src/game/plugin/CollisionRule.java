@@ -0,0 +1,43 @@
+package game.plugin;
+
+import game.core.SpaceObject;
+
+/**
+ * What happens when an entity of one kind meets one of another, as registered with
+ * EntityRegistry.collide().
+ *
+ * A rule may change either object (a Ship can be damaged or scored, for example) and returns which of
+ * the two the game should remove.
+ */
+public interface CollisionRule {
+    /**
+     * Neither object is removed.
+     */
+    int KEEP = 0;
+
+    /**
+     * The first object is removed.
+     */
+    int REMOVE_FIRST = 1;
+
+    /**
+     * The second object is removed.
+     */
+    int REMOVE_SECOND = 2;
+
+    /**
+     * Both objects are removed.
+     */
+    int REMOVE_BOTH = REMOVE_FIRST | REMOVE_SECOND;
+
+    /**
+     * Decides the outcome of the two objects meeting.
+     *
+     * @param first - the object of the first kind of the registered pair. If that kind is a pooled
+     *              projectile (EntityKind.BULLET or EntityKind.ENEMY_BULLET), this is a copy giving its
+     *              kind and the cell where it reached the second object; changing it has no effect.
+     * @param second - the object of the second kind of the registered pair.
+     * @return KEEP, REMOVE_FIRST, REMOVE_SECOND or REMOVE_BOTH.
+     */
+    int onCollision(SpaceObject first, SpaceObject second);
+}
@@ -0,0 +1,20 @@
+package game.plugin;
+
+/**
+ * What an entity of a plugin type does each tick.
+ */
+public interface EntityBehaviour {
+    /**
+     * A behaviour that does nothing; entities stay where they are placed.
+     */
+    EntityBehaviour NONE = (entity, tick) -> {
+    };
+
+    /**
+     * Updates the entity for the given tick.
+     *
+     * @param entity - the entity to update.
+     * @param tick - the game tick.
+     */
+    void tick(PluginEntity entity, int tick);
+}
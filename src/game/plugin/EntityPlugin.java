@@ -0,0 +1,18 @@
+package game.plugin;
+
+/**
+ * A mod adding entity types to the game.
+ *
+ * Plugins are discovered with java.util.ServiceLoader: a plugin jar lists its implementation in
+ * META-INF/services/game.plugin.EntityPlugin and is placed on the classpath. Every plugin is asked to
+ * register its types once, at startup, before the game starts; nothing about a plugin is looked up while
+ * the game runs.
+ */
+public interface EntityPlugin {
+    /**
+     * Defines the plugin's entity types, their collision rules and spawn chances.
+     *
+     * @param registry - the registry to add to.
+     */
+    void register(EntityRegistry registry);
+}
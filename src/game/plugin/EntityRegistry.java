@@ -0,0 +1,198 @@
+package game.plugin;
+
+import game.core.EntityKind;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Collects the entity types, collision rules and spawn chances defined by plugins.
+ *
+ * Everything is registered at startup and flattened into arrays indexed by kind or by registration
+ * order, which GameModel.setPlugins() copies into its own dispatch tables (a CollisionMatrix and spawn
+ * arrays). Nothing is looked up by name or found by reflection once the game is running.
+ */
+public class EntityRegistry {
+    private final Map<String, Integer> kindsByName = new HashMap<>();
+    private final EntityBehaviour[] behaviours = new EntityBehaviour[EntityKind.CAPACITY];
+    private final List<String> pluginNames = new ArrayList<>();
+
+    private final List<int[]> rulePairs = new ArrayList<>();
+    private final List<CollisionRule> rules = new ArrayList<>();
+
+    private final List<Integer> spawnKinds = new ArrayList<>();
+    private final List<Double> spawnChances = new ArrayList<>();
+
+    /**
+     * Creates a registry and lets every plugin found by ServiceLoader on the context class path register
+     * with it.
+     *
+     * @return the populated registry.
+     * @throws java.util.ServiceConfigurationError if a plugin cannot be loaded.
+     */
+    public static EntityRegistry loadPlugins() {
+        EntityRegistry registry = new EntityRegistry();
+        for (EntityPlugin plugin : ServiceLoader.load(EntityPlugin.class)) {
+            registry.pluginNames.add(plugin.getClass().getName());
+            plugin.register(registry);
+        }
+        return registry;
+    }
+
+    /**
+     * Defines a new entity type.
+     *
+     * @param name - a unique name for the type, e.g. "comet".
+     * @param text - the text used to draw the type.
+     * @param imagePath - the image used to draw the type, in the asset bundle, on disk or on the classpath.
+     * @param behaviour - what entities of the type do each tick.
+     * @return the type's kind, for use with collide(), spawn() and create().
+     * @throws IllegalArgumentException if the name is already defined.
+     * @throws IllegalStateException if there are already EntityKind.CAPACITY kinds.
+     */
+    public int define(String name, String text, String imagePath, EntityBehaviour behaviour) {
+        if (kindsByName.containsKey(name)) {
+            throw new IllegalArgumentException("Entity type already defined: " + name);
+        }
+        int kind = EntityKind.register(text, imagePath);
+        kindsByName.put(name, kind);
+        behaviours[kind] = behaviour;
+        return kind;
+    }
+
+    /**
+     * Returns the kind of the named type.
+     *
+     * @param name - the type's name.
+     * @return the kind, or -1 if no type has that name.
+     */
+    public int kindOf(String name) {
+        return kindsByName.getOrDefault(name, -1);
+    }
+
+    /**
+     * Registers the rule deciding what happens when an entity of the first kind meets one of the second.
+     * Either kind may be built-in, so plugin types can hit the ship (EntityKind.SHIP first) or be shot
+     * (EntityKind.BULLET first).
+     *
+     * @param first - the first kind.
+     * @param second - the second kind.
+     * @param rule - the rule.
+     */
+    public void collide(int first, int second, CollisionRule rule) {
+        rulePairs.add(new int[]{first, second});
+        rules.add(rule);
+    }
+
+    /**
+     * Makes entities of the given plugin kind spawn at the top of the board.
+     *
+     * @param kind - a kind returned by define().
+     * @param chance - the percentage chance of one spawning each tick.
+     */
+    public void spawn(int kind, double chance) {
+        spawnKinds.add(kind);
+        spawnChances.add(chance);
+    }
+
+    /**
+     * Creates an entity of the given plugin kind.
+     *
+     * @param kind - a kind returned by define().
+     * @param x - the x coordinate.
+     * @param y - the y coordinate.
+     * @return the new entity.
+     */
+    public PluginEntity create(int kind, int x, int y) {
+        return new PluginEntity(kind, behaviours[kind], x, y);
+    }
+
+    /**
+     * Returns the class names of the plugins that registered with this registry.
+     *
+     * @return the plugin class names.
+     */
+    public List<String> getPluginNames() {
+        return pluginNames;
+    }
+
+    /**
+     * Returns the number of types defined.
+     *
+     * @return the number of types.
+     */
+    public int getTypeCount() {
+        return kindsByName.size();
+    }
+
+    /**
+     * Returns the number of collision rules registered.
+     *
+     * @return the number of rules.
+     */
+    public int getRuleCount() {
+        return rules.size();
+    }
+
+    /**
+     * Returns the first kind of the given rule's pair.
+     *
+     * @param index - the rule's index, in registration order.
+     * @return the first kind.
+     */
+    public int getRuleFirst(int index) {
+        return rulePairs.get(index)[0];
+    }
+
+    /**
+     * Returns the second kind of the given rule's pair.
+     *
+     * @param index - the rule's index, in registration order.
+     * @return the second kind.
+     */
+    public int getRuleSecond(int index) {
+        return rulePairs.get(index)[1];
+    }
+
+    /**
+     * Returns the given rule.
+     *
+     * @param index - the rule's index, in registration order.
+     * @return the rule.
+     */
+    public CollisionRule getRule(int index) {
+        return rules.get(index);
+    }
+
+    /**
+     * Returns the number of spawn chances registered.
+     *
+     * @return the number of spawns.
+     */
+    public int getSpawnCount() {
+        return spawnKinds.size();
+    }
+
+    /**
+     * Returns the kind spawned by the given spawn.
+     *
+     * @param index - the spawn's index, in registration order.
+     * @return the kind.
+     */
+    public int getSpawnKind(int index) {
+        return spawnKinds.get(index);
+    }
+
+    /**
+     * Returns the percentage chance per tick of the given spawn.
+     *
+     * @param index - the spawn's index, in registration order.
+     * @return the chance.
+     */
+    public double getSpawnChance(int index) {
+        return spawnChances.get(index);
+    }
+}
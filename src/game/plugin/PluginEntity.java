@@ -0,0 +1,80 @@
+package game.plugin;
+
+import game.core.EntityKind;
+import game.core.ObjectWithPosition;
+import game.ui.ObjectGraphic;
+
+/**
+ * An entity of a type defined by a plugin.
+ *
+ * Every plugin type shares this one final class, differing only in its kind and behaviour, so adding
+ * mods never adds receiver classes to the game loop's tick and collision call sites.
+ */
+public final class PluginEntity extends ObjectWithPosition {
+    private final int kind;
+    private final EntityBehaviour behaviour;
+    private int state = 0;
+
+    /**
+     * Creates an entity of the given plugin kind. Use EntityRegistry.create() rather than calling this.
+     *
+     * @param kind - the entity's kind.
+     * @param behaviour - what the entity does each tick.
+     * @param x - the initial x coordinate.
+     * @param y - the initial y coordinate.
+     */
+    PluginEntity(int kind, EntityBehaviour behaviour, int x, int y) {
+        super(x, y);
+        this.kind = kind;
+        this.behaviour = behaviour;
+    }
+
+    @Override
+    public int getKind() {
+        return kind;
+    }
+
+    @Override
+    public ObjectGraphic render() {
+        return EntityKind.getGraphic(kind);
+    }
+
+    /**
+     * Runs the type's behaviour.
+     *
+     * @param tick - the game tick.
+     */
+    @Override
+    public void tick(int tick) {
+        behaviour.tick(this, tick);
+    }
+
+    /**
+     * Moves the entity to the given cell.
+     *
+     * @param x - the new x coordinate.
+     * @param y - the new y coordinate.
+     */
+    public void moveTo(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Returns a value the behaviour may use to keep state between ticks; 0 initially.
+     *
+     * @return the entity's state.
+     */
+    public int getState() {
+        return state;
+    }
+
+    /**
+     * Sets the value returned by getState().
+     *
+     * @param state - the new state.
+     */
+    public void setState(int state) {
+        this.state = state;
+    }
+}
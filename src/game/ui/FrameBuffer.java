@@ -0,0 +1,54 @@
+package game.ui;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands frames from the game thread to a renderer without copying and without locks.
+ *
+ * Three reusable FrameSnapshots rotate between the writer, the reader and a hand-off slot. The writer
+ * fills the snapshot from beginWrite() and calls publish() to swap it into the hand-off slot; the reader
+ * calls acquire() to swap the newest published snapshot out of it. Neither side ever touches the
+ * snapshot the other holds, so a renderer can draw the acquired frame on its own thread, at its own
+ * pace, while the game keeps producing frames. Nothing is allocated after construction.
+ */
+public class FrameBuffer {
+    private static final int FRESH = 4;
+    private static final int INDEX = 3;
+
+    private final FrameSnapshot[] snapshots = {new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot()};
+    private final AtomicInteger handOff = new AtomicInteger(1);
+    private int writing = 0;
+    private int reading = 2;
+
+    /**
+     * Returns the snapshot to record the next frame into, cleared. Only the writing thread may call this.
+     *
+     * @return the snapshot to write.
+     */
+    public FrameSnapshot beginWrite() {
+        FrameSnapshot snapshot = snapshots[writing];
+        snapshot.clear();
+        return snapshot;
+    }
+
+    /**
+     * Publishes the snapshot returned by the last beginWrite() as the newest frame.
+     * Only the writing thread may call this.
+     */
+    public void publish() {
+        writing = handOff.getAndSet(writing | FRESH) & INDEX;
+    }
+
+    /**
+     * Returns the newest published frame. If nothing new has been published since the last call, the
+     * same snapshot is returned again. Only the reading thread may call this.
+     *
+     * @return the newest frame.
+     */
+    public FrameSnapshot acquire() {
+        if ((handOff.get() & FRESH) != 0) {
+            reading = handOff.getAndSet(reading) & INDEX;
+        }
+        return snapshots[reading];
+    }
+}
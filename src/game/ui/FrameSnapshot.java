@@ -0,0 +1,164 @@
+package game.ui;
+
+import game.core.EntityKind;
+import game.core.SpaceObject;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compact record of everything a renderer needs to draw one frame.
+ *
+ * Entities are packed as (kind, x, y) int triples, with kinds from EntityKind, alongside the HUD
+ * values. Snapshots are written by the game thread and read by renderers through a FrameBuffer; a
+ * snapshot handed out by FrameBuffer.acquire() is never written to while the reader holds it, so
+ * renderers may read it on any thread.
+ */
+public class FrameSnapshot {
+    private int[] entities = new int[3 * 64];
+    private int count = 0;
+    private int score;
+    private int health;
+    private int level;
+    private long timeSurvivedMillis;
+
+    /**
+     * Removes all entities and resets the HUD values, ready to record a new frame.
+     */
+    public void clear() {
+        count = 0;
+        score = 0;
+        health = 0;
+        level = 0;
+        timeSurvivedMillis = 0;
+    }
+
+    /**
+     * Records an entity of the given kind at the given cell.
+     *
+     * @param kind - the entity's kind.
+     * @param x - the x coordinate.
+     * @param y - the y coordinate.
+     */
+    public void add(int kind, int x, int y) {
+        int offset = count * 3;
+        if (offset == entities.length) {
+            entities = Arrays.copyOf(entities, entities.length * 2);
+        }
+        entities[offset] = kind;
+        entities[offset + 1] = x;
+        entities[offset + 2] = y;
+        count++;
+    }
+
+    /**
+     * Records every object of a built-in kind in the list. Other objects are skipped.
+     *
+     * @param objects - the objects to record.
+     */
+    public void addAll(List<SpaceObject> objects) {
+        for (SpaceObject object : objects) {
+            int kind = object.getKind();
+            if (kind >= 0) {
+                add(kind, object.getX(), object.getY());
+            }
+        }
+    }
+
+    /**
+     * Sets the HUD values for this frame.
+     *
+     * @param score - the ship's score.
+     * @param health - the ship's health.
+     * @param level - the current level.
+     */
+    public void setHud(int score, int health, int level) {
+        this.score = score;
+        this.health = health;
+        this.level = level;
+    }
+
+    /**
+     * Sets how long the player has survived at this frame.
+     *
+     * @param timeSurvivedMillis - the time survived in milliseconds.
+     */
+    public void setTimeSurvived(long timeSurvivedMillis) {
+        this.timeSurvivedMillis = timeSurvivedMillis;
+    }
+
+    /**
+     * Returns the number of entities in this frame.
+     *
+     * @return the number of entities.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the kind of the entity at the given index.
+     *
+     * @param index - an index between 0 and size() - 1.
+     * @return the entity's kind.
+     */
+    public int kindAt(int index) {
+        return entities[index * 3];
+    }
+
+    /**
+     * Returns the x coordinate of the entity at the given index.
+     *
+     * @param index - an index between 0 and size() - 1.
+     * @return the x coordinate.
+     */
+    public int xAt(int index) {
+        return entities[index * 3 + 1];
+    }
+
+    /**
+     * Returns the y coordinate of the entity at the given index.
+     *
+     * @param index - an index between 0 and size() - 1.
+     * @return the y coordinate.
+     */
+    public int yAt(int index) {
+        return entities[index * 3 + 2];
+    }
+
+    /**
+     * Returns the ship's score at this frame.
+     *
+     * @return the score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the ship's health at this frame.
+     *
+     * @return the health.
+     */
+    public int getHealth() {
+        return health;
+    }
+
+    /**
+     * Returns the level at this frame.
+     *
+     * @return the level.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns how long the player had survived at this frame, in milliseconds.
+     *
+     * @return the time survived.
+     */
+    public long getTimeSurvivedMillis() {
+        return timeSurvivedMillis;
+    }
+}
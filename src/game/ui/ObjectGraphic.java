@@ -1,16 +1,22 @@
 package game.ui;
 
-import javax.imageio.ImageIO;
-import java.awt.*;
-import java.io.File;
+import game.ui.assets.AssetBundle;
+
+import java.awt.Image;
 import java.io.IOException;
 
 /**
  * Represents the way an object is represented.
+ *
+ * The text and the image are separate facets. The text is a plain string; the image is only loaded the
+ * first time getGraphicalRepresentation() is called, then kept. Logging and text renderers therefore
+ * never load images, or the AWT and ImageIO classes behind them. Graphics hold no per-object state, so
+ * one is shared by every object of a kind (see EntityKind.getGraphic()).
  */
 public class ObjectGraphic {
     private final String textRepresentation;
-    private final Image graphicalRepresentation;
+    private final String pathToImage;
+    private volatile Image graphicalRepresentation = null; // loaded on first use
 
     /**
      * Creates a new ObjectGraphic with the given text and image.
@@ -19,12 +25,7 @@ public class ObjectGraphic {
      */
     public ObjectGraphic(String textRepresentation, String pathToImage) {
         this.textRepresentation = textRepresentation;
-        try {
-            this.graphicalRepresentation = ImageIO.read(new File(pathToImage));
-        } catch (IOException e) {
-            // programming error, turn into runtime
-            throw new RuntimeException("Image path not found: " + pathToImage);
-        }
+        this.pathToImage = pathToImage;
     }
 
     /**
@@ -38,10 +39,30 @@ public class ObjectGraphic {
     }
 
     /**
-     * Returns the graphical representation of the ObjectGraphic.
+     * Returns the path of the image, without loading it.
+     *
+     * @return the image path
+     */
+    public String getImagePath() {
+        return pathToImage;
+    }
+
+    /**
+     * Returns the graphical representation of the ObjectGraphic, loading it the first time.
      * @return the graphical representation
+     * @throws RuntimeException if the image cannot be found
      */
     public Image getGraphicalRepresentation() {
-        return graphicalRepresentation;
+        Image image = graphicalRepresentation;
+        if (image == null) {
+            try {
+                image = AssetBundle.getImage(pathToImage);
+            } catch (IOException e) {
+                // programming error, turn into runtime
+                throw new RuntimeException("Image path not found: " + pathToImage);
+            }
+            graphicalRepresentation = image;
+        }
+        return image;
     }
 }
@@ -24,6 +24,24 @@ public interface UI {
      */
     void stop();
 
+    /**
+     * Stops stepping the stored tickables and passing keys to the stored KeyHandlers for good, waiting
+     * for a step already in progress to finish, so the game can be saved or closed safely afterwards.
+     * The UI cannot be resumed.
+     */
+    void shutdown();
+
+    /**
+     * Sets how many times per second the stored tickables are stepped.
+     * May be called before or after start(). Unless the game is driven by a SimulationClock, the
+     * game speed follows the tick rate.
+     *
+     * @param ticksPerSecond the new tick rate
+     * @requires ticksPerSecond > 0
+     */
+    default void setTickRate(int ticksPerSecond) {
+    }
+
     /**
      * Stores the provided tickable.
      * @param tickable the provided tickable
@@ -36,12 +54,45 @@ public interface UI {
      */
     void onKey(KeyHandler key);
 
+    /**
+     * Removes a tickable previously stored by onStep(), so it is no longer stepped.
+     * Does nothing if the tickable is not stored.
+     *
+     * @param tickable the tickable to remove
+     */
+    default void removeStep(Tickable tickable) {
+    }
+
+    /**
+     * Removes a KeyHandler previously stored by onKey(), so it no longer receives keys.
+     * Does nothing if the handler is not stored.
+     *
+     * @param key the KeyHandler to remove
+     */
+    default void removeKey(KeyHandler key) {
+    }
+
     /**
      * Renders the provided objects, and refreshes the UI.
+     * The objects are captured into a FrameSnapshot and drawn by render(FrameBuffer), without HUD values.
      *
      * @param objects the list of SpaceObjects to be rendered.
      */
-    void render(List<SpaceObject> objects);
+    default void render(List<SpaceObject> objects) {
+        FrameBuffer frames = new FrameBuffer();
+        frames.beginWrite().addAll(objects);
+        frames.publish();
+        render(frames);
+    }
+
+    /**
+     * Notifies the UI that a new frame has been published to the given buffer, and refreshes the UI.
+     * Implementations draw the frame returned by frames.acquire(), which may be done later and on another
+     * thread; the model is never read directly.
+     *
+     * @param frames the buffer holding the newest frame.
+     */
+    void render(FrameBuffer frames);
 
     /**
      * Log the provided message.
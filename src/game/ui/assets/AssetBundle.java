@@ -0,0 +1,156 @@
+package game.ui.assets;
+
+import javax.imageio.ImageIO;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides game images, loaded from a prebuilt asset bundle where possible.
+ *
+ * The bundle (written by AssetBundler) is a single file on the classpath:
+ *     int magic, int atlasWidth, int atlasHeight, int count,
+ *     count x (UTF name, int x, int y, int width, int height),
+ *     atlasWidth * atlasHeight x int ARGB pixel
+ * It is read with one mapped (or, inside a jar, one bulk) read and needs no image decoding. Images are
+ * cached by path, so each is loaded at most once. Paths missing from the bundle, or every path if there
+ * is no bundle, fall back to decoding the PNG from the working directory or the classpath.
+ */
+public final class AssetBundle {
+    /**
+     * The name of the bundle on the classpath, and the default output of AssetBundler.
+     */
+    public static final String RESOURCE_NAME = "assets.bundle";
+
+    static final int MAGIC = 0x53534142; // "SSAB"
+
+    private static final Map<String, Image> images = new ConcurrentHashMap<>();
+    private static volatile CompletableFuture<Void> preload = null;
+
+    private AssetBundle() {
+    }
+
+    /**
+     * Starts loading the bundle on a background thread, if it has not already been started.
+     * Later calls to getImage() wait for this load rather than decoding images themselves. If the bundle
+     * cannot be read, the future completes exceptionally for the caller to report, and getImage() falls
+     * back to decoding each image.
+     *
+     * @return a future completing once the bundle has been loaded (or found to be missing).
+     */
+    public static synchronized CompletableFuture<Void> preloadAsync() {
+        if (preload == null) {
+            preload = new CompletableFuture<>();
+            Thread loader = new Thread(() -> {
+                try {
+                    loadBundle();
+                    preload.complete(null);
+                } catch (IOException | RuntimeException e) {
+                    preload.completeExceptionally(e);
+                }
+            }, "asset-preload");
+            loader.setDaemon(true);
+            loader.start();
+        }
+        return preload;
+    }
+
+    /**
+     * Returns the image for the given path, e.g. "assets/ship.png".
+     *
+     * @param path the image path
+     * @return the image
+     * @throws IOException if the image is neither in the bundle nor readable from disk or the classpath
+     */
+    public static Image getImage(String path) throws IOException {
+        CompletableFuture<Void> loading = preload;
+        if (loading != null) {
+            try {
+                loading.join();
+            } catch (CompletionException e) {
+                // bundle unreadable (reported by preloadAsync()'s caller); decode instead
+            }
+        }
+        Image image = images.get(path);
+        if (image == null) {
+            image = decode(path);
+            images.putIfAbsent(path, image);
+        }
+        return image;
+    }
+
+    private static void loadBundle() throws IOException {
+        URL url = AssetBundle.class.getClassLoader().getResource(RESOURCE_NAME);
+        if (url == null) {
+            return;
+        }
+        ByteBuffer buffer;
+        if ("file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        } else {
+            try (InputStream in = url.openStream()) {
+                buffer = ByteBuffer.wrap(in.readAllBytes());
+            }
+        }
+
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not an asset bundle: " + url);
+        }
+        int atlasWidth = buffer.getInt();
+        int atlasHeight = buffer.getInt();
+        int count = buffer.getInt();
+        String[] names = new String[count];
+        int[] bounds = new int[count * 4];
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[buffer.getShort() & 0xFFFF];
+            buffer.get(name);
+            names[i] = new String(name, StandardCharsets.UTF_8);
+            for (int j = 0; j < 4; j++) {
+                bounds[i * 4 + j] = buffer.getInt();
+            }
+        }
+
+        BufferedImage atlas = new BufferedImage(atlasWidth, atlasHeight, BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = ((DataBufferInt) atlas.getRaster().getDataBuffer()).getData();
+        buffer.asIntBuffer().get(pixels);
+        for (int i = 0; i < count; i++) {
+            images.put(names[i], atlas.getSubimage(bounds[i * 4], bounds[i * 4 + 1],
+                    bounds[i * 4 + 2], bounds[i * 4 + 3]));
+        }
+    }
+
+    private static Image decode(String path) throws IOException {
+        File file = new File(path);
+        BufferedImage image = null;
+        if (file.exists()) {
+            image = ImageIO.read(file);
+        } else {
+            URL url = AssetBundle.class.getClassLoader().getResource(path);
+            if (url != null) {
+                image = ImageIO.read(url);
+            }
+        }
+        if (image == null) {
+            throw new IOException("Image path not found: " + path);
+        }
+        return image;
+    }
+}
@@ -0,0 +1,119 @@
+package game.ui.assets;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Build step that packs every PNG in a directory into a single asset bundle.
+ *
+ * The images are decoded once here and packed onto one ARGB atlas using shelf packing, so loading the
+ * bundle needs no PNG decoding. See AssetBundle for the file format.
+ *
+ * Usage (from the project root, after compiling):
+ *     java -cp out/production/CSSE2002_A1 game.ui.assets.AssetBundler assets out/production/CSSE2002_A1/assets.bundle
+ */
+public class AssetBundler {
+    private static final int ATLAS_WIDTH = 1024;
+
+    /**
+     * Packs the PNGs in the given directory into a bundle.
+     *
+     * @param args the asset directory (default "assets") and the output file (default "assets.bundle")
+     * @throws IOException if an image cannot be read or the bundle cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of(args.length > 0 ? args[0] : "assets");
+        Path output = Path.of(args.length > 1 ? args[1] : AssetBundle.RESOURCE_NAME);
+        int count = bundle(directory, output);
+        System.out.println("Packed " + count + " images into " + output);
+    }
+
+    /**
+     * Packs the PNGs in the given directory into a bundle at the given path. Each image is named by its
+     * path relative to the directory's parent, e.g. "assets/ship.png", matching the paths the game uses.
+     *
+     * @param directory the directory of PNG images
+     * @param output the bundle file to write
+     * @return the number of images packed
+     * @throws IOException if an image cannot be read or the bundle cannot be written
+     */
+    public static int bundle(Path directory, Path output) throws IOException {
+        List<Sprite> sprites = new ArrayList<>();
+        File[] files = directory.toFile().listFiles((dir, name) -> name.endsWith(".png"));
+        if (files == null) {
+            throw new IOException("Not a directory: " + directory);
+        }
+        for (File file : files) {
+            BufferedImage image = ImageIO.read(file);
+            if (image == null) {
+                throw new IOException("Cannot decode image: " + file);
+            }
+            sprites.add(new Sprite(directory.getFileName() + "/" + file.getName(), image));
+        }
+
+        // shelf packing: tallest first, left to right, starting a new shelf when a row is full
+        sprites.sort(Comparator.comparingInt((Sprite sprite) -> sprite.image.getHeight()).reversed());
+        int x = 0;
+        int y = 0;
+        int shelfHeight = 0;
+        for (Sprite sprite : sprites) {
+            if (x + sprite.image.getWidth() > ATLAS_WIDTH) {
+                x = 0;
+                y += shelfHeight;
+                shelfHeight = 0;
+            }
+            sprite.x = x;
+            sprite.y = y;
+            x += sprite.image.getWidth();
+            shelfHeight = Math.max(shelfHeight, sprite.image.getHeight());
+        }
+        int atlasHeight = Math.max(1, y + shelfHeight);
+
+        int[] atlas = new int[ATLAS_WIDTH * atlasHeight];
+        for (Sprite sprite : sprites) {
+            int width = sprite.image.getWidth();
+            int height = sprite.image.getHeight();
+            sprite.image.getRGB(0, 0, width, height, atlas, sprite.y * ATLAS_WIDTH + sprite.x, ATLAS_WIDTH);
+        }
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(output)))) {
+            out.writeInt(AssetBundle.MAGIC);
+            out.writeInt(ATLAS_WIDTH);
+            out.writeInt(atlasHeight);
+            out.writeInt(sprites.size());
+            for (Sprite sprite : sprites) {
+                out.writeUTF(sprite.name);
+                out.writeInt(sprite.x);
+                out.writeInt(sprite.y);
+                out.writeInt(sprite.image.getWidth());
+                out.writeInt(sprite.image.getHeight());
+            }
+            for (int pixel : atlas) {
+                out.writeInt(pixel);
+            }
+        }
+        return sprites.size();
+    }
+
+    private static class Sprite {
+        private final String name;
+        private final BufferedImage image;
+        private int x;
+        private int y;
+
+        private Sprite(String name, BufferedImage image) {
+            this.name = name;
+            this.image = image;
+        }
+    }
+}
@@ -1,61 +1,267 @@
 package game.ui.gui;
 
-import game.core.SpaceObject;
+import game.collision.SpatialIndex;
+import game.core.EntityKind;
+import game.ui.FrameBuffer;
+import game.ui.FrameSnapshot;
+import game.ui.assets.AssetBundle;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.ImageObserver;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.util.Arrays;
 
+/**
+ * Draws the cells of the board inside a movable, zoomable viewport.
+ *
+ * Entities outside the viewport are culled. When the viewport covers fewer cells than the frame holds
+ * entities, each new frame is indexed by cell in a SpatialIndex and only the visible cells are looked up;
+ * otherwise the frame is scanned once. Either way, painting costs at most the smaller of the viewport and
+ * the world. When zoomed out so far that a cell is under LOD_CELL_PIXELS wide, entities are not drawn
+ * individually: the viewport is split into tiles of at least LOD_TILE_PIXELS and each tile is shaded by
+ * how many entities it holds.
+ *
+ * With software rendering enabled, frames are instead rasterized off the event dispatch thread by a
+ * SoftwareRenderer, and painting only draws its finished image.
+ */
 class Canvas extends JPanel {
-    private List<SpaceObject> objects = new ArrayList<>();
+    private static final ImageObserver OBSERVER = (img, i, x, y, w, h) -> false;
+    static final int LOD_CELL_PIXELS = 8;
+    static final int LOD_TILE_PIXELS = 16;
+
+    private FrameBuffer frames = new FrameBuffer();
+    private final Image[] sprites = new Image[EntityKind.CAPACITY];
     private final int width;
     private final int height;
     private int pixelWidth = 0;
     private int pixelHeight = 0;
 
+    private int viewX = 0;
+    private int viewY = 0;
+    private int viewWidth;
+    private int viewHeight;
+
+    private final SpatialIndex index = new SpatialIndex(1024);
+    private FrameSnapshot indexed = null;
+    private int[] tileCounts = new int[0];
+    private SoftwareRenderer renderer = null;
+
     public Canvas(int width, int height) {
         this.width = width;
         this.height = height;
+        this.viewWidth = width;
+        this.viewHeight = height;
         this.setBackground(Color.black);
     }
 
-    public void setGraphicalDimensions(int pixelWidth, int pixelHeight) {
+    public synchronized void setGraphicalDimensions(int pixelWidth, int pixelHeight) {
         this.pixelWidth = pixelWidth;
         this.pixelHeight = pixelHeight;
     }
 
-    public void updateSpaceObjects(List<SpaceObject> objects) {
-        this.objects = objects;
+    public void updateFrames(FrameBuffer frames) {
+        this.frames = frames;
+        if (renderer != null) {
+            renderer.request(frames);
+        }
+    }
+
+    /**
+     * Rasterizes frames on worker threads from now on instead of drawing them while painting.
+     *
+     * @param onFrame - run on a renderer thread whenever a new image is ready to paint.
+     */
+    public void enableSoftwareRendering(Runnable onFrame) {
+        if (renderer == null) {
+            renderer = new SoftwareRenderer(this, onFrame);
+        }
+    }
+
+    /**
+     * Copies the viewport and the canvas size into the array, for a renderer on another thread:
+     * the visible column and row, the visible columns and rows, then the width and height in pixels.
+     *
+     * @param view - an array of at least six ints.
+     */
+    synchronized void copyView(int[] view) {
+        view[0] = viewX;
+        view[1] = viewY;
+        view[2] = viewWidth;
+        view[3] = viewHeight;
+        view[4] = pixelWidth;
+        view[5] = pixelHeight;
+    }
+
+    /**
+     * Shows the given region of the board. The default viewport is the whole board.
+     *
+     * @param x - the left-most visible column.
+     * @param y - the top-most visible row.
+     * @param cellsWide - the number of visible columns.
+     * @param cellsHigh - the number of visible rows.
+     */
+    public synchronized void setViewport(int x, int y, int cellsWide, int cellsHigh) {
+        this.viewX = x;
+        this.viewY = y;
+        this.viewWidth = Math.max(1, cellsWide);
+        this.viewHeight = Math.max(1, cellsHigh);
+    }
+
+    /**
+     * Moves the viewport by the given number of cells.
+     *
+     * @param dx - the number of columns to move right.
+     * @param dy - the number of rows to move down.
+     */
+    public void pan(int dx, int dy) {
+        setViewport(viewX + dx, viewY + dy, viewWidth, viewHeight);
+    }
+
+    /**
+     * Zooms the viewport about its centre, showing the given fraction of the cells currently visible
+     * in each direction (less than one zooms in).
+     *
+     * @param factor - the scale of the new viewport relative to the current one.
+     */
+    public void zoom(double factor) {
+        int cellsWide = Math.max(1, (int) Math.round(viewWidth * factor));
+        int cellsHigh = Math.max(1, (int) Math.round(viewHeight * factor));
+        setViewport(viewX + (viewWidth - cellsWide) / 2, viewY + (viewHeight - cellsHigh) / 2,
+                cellsWide, cellsHigh);
+    }
+
+    /**
+     * Shows the whole board again.
+     */
+    public void resetViewport() {
+        setViewport(0, 0, width, height);
     }
 
     private int getPixelX(int x) {
-        return (x * (pixelWidth / width));
+        return ((x - viewX) * (pixelWidth / viewWidth));
     }
 
     private int getPixelMidX(int x) {
-        return getPixelX(x) + (pixelWidth / width / 2);
+        return getPixelX(x) + (pixelWidth / viewWidth / 2);
     }
 
     private int getPixelY(int y) {
-        return (y * (pixelHeight / height));
+        return ((y - viewY) * (pixelHeight / viewHeight));
     }
 
     private int getPixelMidY(int y) {
-        return getPixelY(y) + (pixelHeight / height / 2);
+        return getPixelY(y) + (pixelHeight / viewHeight / 2);
     }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        for (SpaceObject object : objects) {
-            ImageObserver observer = (img, i, x, y, w, h) -> false;
-            Image image = object.render().getGraphicalRepresentation();
-            int x = getPixelMidX(object.getX()) - image.getWidth(observer) / 2;
-            int y = getPixelMidY(object.getY()) - image.getHeight(observer) / 2;
-            g.drawImage(image, x, y, observer);
+        if (renderer != null) {
+            Image image = renderer.acquire();
+            if (image != null) {
+                g.drawImage(image, 0, 0, OBSERVER);
+            }
+            return;
+        }
+        FrameSnapshot frame = frames.acquire();
+        if (pixelWidth == 0 || pixelHeight == 0) {
+            return; // not laid out yet
+        }
+        if (pixelWidth / viewWidth < LOD_CELL_PIXELS || pixelHeight / viewHeight < LOD_CELL_PIXELS) {
+            paintDensity(g, frame);
+        } else if ((long) viewWidth * viewHeight < frame.size()) {
+            paintVisibleCells(g, frame);
+        } else {
+            for (int i = 0; i < frame.size(); i++) {
+                if (isVisible(frame.xAt(i), frame.yAt(i))) {
+                    paintEntity(g, frame, i);
+                }
+            }
+        }
+    }
+
+    private boolean isVisible(int x, int y) {
+        return x >= viewX && x < viewX + viewWidth && y >= viewY && y < viewY + viewHeight;
+    }
+
+    private void paintVisibleCells(Graphics g, FrameSnapshot frame) {
+        if (frame != indexed) { // a different snapshot means a newly published frame
+            index.clear();
+            for (int i = 0; i < frame.size(); i++) {
+                index.insert(frame.xAt(i), frame.yAt(i), i);
+            }
+            indexed = frame;
+        }
+        for (int y = viewY; y < viewY + viewHeight; y++) {
+            for (int x = viewX; x < viewX + viewWidth; x++) {
+                for (int entry = index.firstInCell(x, y); entry != -1; entry = index.nextInCell(entry)) {
+                    paintEntity(g, frame, index.idOf(entry));
+                }
+            }
+        }
+    }
+
+    private void paintEntity(Graphics g, FrameSnapshot frame, int i) {
+        Image image = sprite(frame.kindAt(i));
+        int x = getPixelMidX(frame.xAt(i)) - image.getWidth(OBSERVER) / 2;
+        int y = getPixelMidY(frame.yAt(i)) - image.getHeight(OBSERVER) / 2;
+        g.drawImage(image, x, y, OBSERVER);
+    }
+
+    /**
+     * Shades each tile of the viewport by the number of entities in it, relative to the fullest tile.
+     */
+    private void paintDensity(Graphics g, FrameSnapshot frame) {
+        double cellPixelsX = (double) pixelWidth / viewWidth;
+        double cellPixelsY = (double) pixelHeight / viewHeight;
+        int tileCellsX = Math.max(1, (int) Math.ceil(LOD_TILE_PIXELS / Math.max(cellPixelsX, 1e-9)));
+        int tileCellsY = Math.max(1, (int) Math.ceil(LOD_TILE_PIXELS / Math.max(cellPixelsY, 1e-9)));
+        int tilesX = (viewWidth + tileCellsX - 1) / tileCellsX;
+        int tilesY = (viewHeight + tileCellsY - 1) / tileCellsY;
+        if (tileCounts.length < tilesX * tilesY) {
+            tileCounts = new int[tilesX * tilesY];
+        }
+        Arrays.fill(tileCounts, 0, tilesX * tilesY, 0);
+
+        int densest = 0;
+        for (int i = 0; i < frame.size(); i++) {
+            int x = frame.xAt(i);
+            int y = frame.yAt(i);
+            if (isVisible(x, y)) {
+                int tile = ((y - viewY) / tileCellsY) * tilesX + (x - viewX) / tileCellsX;
+                densest = Math.max(densest, ++tileCounts[tile]);
+            }
+        }
+        if (densest == 0) {
+            return;
+        }
+        for (int ty = 0; ty < tilesY; ty++) {
+            for (int tx = 0; tx < tilesX; tx++) {
+                int count = tileCounts[ty * tilesX + tx];
+                if (count == 0) {
+                    continue;
+                }
+                int left = (int) (tx * tileCellsX * cellPixelsX);
+                int top = (int) (ty * tileCellsY * cellPixelsY);
+                int right = (int) (Math.min(viewWidth, (tx + 1) * tileCellsX) * cellPixelsX);
+                int bottom = (int) (Math.min(viewHeight, (ty + 1) * tileCellsY) * cellPixelsY);
+                g.setColor(new Color(255, 255, 255, 48 + 207 * count / densest));
+                g.fillRect(left, top, right - left, bottom - top);
+            }
+        }
+    }
+
+    private Image sprite(int kind) {
+        if (sprites[kind] == null) {
+            try {
+                sprites[kind] = AssetBundle.getImage(EntityKind.getImagePath(kind));
+            } catch (IOException e) {
+                // programming error, turn into runtime
+                throw new RuntimeException(e.getMessage());
+            }
         }
+        return sprites[kind];
     }
 
     private void drawGrid(Graphics g) {
@@ -0,0 +1,126 @@
+package game.ui.gui;
+
+import javax.swing.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Paints the GUI's components at a fixed frame rate, at most once per frame each.
+ *
+ * Components are invalidated rather than repainted: any number of invalidations between two frames,
+ * from any thread, collapse into a single paint of each dirty component when the next frame is due.
+ * Frames are painted actively on the event dispatch thread with paintImmediately(), so the time spent
+ * painting is measured directly. A frame that starts more than half a period late counts the periods
+ * it missed as dropped frames.
+ */
+class FrameScheduler {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final JComponent[] components;
+    private final AtomicInteger dirty = new AtomicInteger();
+    private final long periodNanos;
+    private final int periodMillis;
+    private final Runnable onReport;
+    private Timer timer;
+
+    private long lastFrameStart = 0;
+    private long lastReport = 0;
+    private long frameNanos = 0;
+    private long framesPainted = 0;
+    private long droppedFrames = 0;
+
+    /**
+     * Creates a scheduler painting the given components at the given frame rate.
+     *
+     * @param framesPerSecond - the target frame rate.
+     * @param onReport - run on the event dispatch thread about once a second, to publish frame statistics.
+     * @param components - the components to paint; at most 32.
+     */
+    FrameScheduler(int framesPerSecond, Runnable onReport, JComponent... components) {
+        this.components = components;
+        this.onReport = onReport;
+        this.periodMillis = Math.max(1, 1000 / framesPerSecond);
+        this.periodNanos = NANOS_PER_SECOND / framesPerSecond;
+    }
+
+    /**
+     * Starts painting frames.
+     */
+    void start() {
+        timer = new Timer(periodMillis, e -> frame());
+        timer.setCoalesce(true);
+        timer.start();
+    }
+
+    /**
+     * Marks the component as needing a repaint in the next frame. Safe to call from any thread.
+     *
+     * @param component - one of the scheduler's components.
+     */
+    void invalidate(JComponent component) {
+        for (int i = 0; i < components.length; i++) {
+            if (components[i] == component) {
+                int bit = 1 << i;
+                int mask;
+                do {
+                    mask = dirty.get();
+                } while ((mask & bit) == 0 && !dirty.compareAndSet(mask, mask | bit));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns how long the most recent frame took to paint.
+     *
+     * @return the frame time in nanoseconds.
+     */
+    long getFrameNanos() {
+        return frameNanos;
+    }
+
+    /**
+     * Returns the number of frames that painted at least one component.
+     *
+     * @return the number of frames painted.
+     */
+    long getFramesPainted() {
+        return framesPainted;
+    }
+
+    /**
+     * Returns the number of frame periods that passed without a frame starting on time.
+     *
+     * @return the number of dropped frames.
+     */
+    long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    private void frame() {
+        long start = System.nanoTime();
+        if (lastFrameStart != 0) {
+            long late = start - lastFrameStart - periodNanos;
+            if (late > periodNanos / 2) {
+                droppedFrames += (late + periodNanos / 2) / periodNanos;
+            }
+        }
+        lastFrameStart = start;
+        if (start - lastReport >= NANOS_PER_SECOND) {
+            lastReport = start;
+            onReport.run();
+        }
+
+        int mask = dirty.getAndSet(0);
+        if (mask == 0) {
+            return;
+        }
+        for (int i = 0; i < components.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                JComponent component = components[i];
+                component.paintImmediately(0, 0, component.getWidth(), component.getHeight());
+            }
+        }
+        frameNanos = System.nanoTime() - start;
+        framesPainted++;
+    }
+}
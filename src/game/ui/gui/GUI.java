@@ -1,10 +1,11 @@
 package game.ui.gui;
 
-import game.core.SpaceObject;
 import game.GameModel;
+import game.ui.FrameBuffer;
 import game.ui.KeyHandler;
 import game.ui.Tickable;
 import game.ui.UI;
+import game.ui.assets.AssetBundle;
 
 import javax.swing.*;
 import java.awt.*;
@@ -12,26 +13,40 @@ import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents a GUI implementation of the UI interface.
+ *
+ * Ticks, logging and stats only invalidate the panels they change; a FrameScheduler repaints each
+ * invalidated panel once per frame at FRAME_RATE, and the frame time and dropped frames are shown as
+ * stats.
+ *
+ * The arrow keys pan the canvas viewport, + and - zoom it and 0 shows the whole board again; these keys
+ * are not passed to the key handlers.
  */
 public class GUI implements UI {
     private static final int TICK_SPEED = 100;
+    private static final int FRAME_RATE = 60;
     private static final int WINDOW_HEIGHT = 600;
     private static final int WINDOW_WIDTH = 650;
+    private static final int PAN_CELLS = 1;
+    private static final double ZOOM_STEP = 2.0;
 
     // GAME_HEIGHT + 1 required for bottom row (row 19) to render correctly
     private Canvas canvas = new Canvas(GameModel.GAME_WIDTH, GameModel.GAME_HEIGHT + 1);
     private final Log log = new Log();
     private final Stats stats = new Stats();
+    private final FrameScheduler scheduler = new FrameScheduler(FRAME_RATE, this::reportFrames, canvas, log, stats);
 
-    private final List<Tickable> tickables = new ArrayList<>();
-    private final List<KeyHandler> handlers = new ArrayList<>();
+    private final List<Tickable> tickables = new CopyOnWriteArrayList<>(); // may be removed mid-tick
+    private final List<KeyHandler> handlers = new CopyOnWriteArrayList<>();
 
+    private final Object stepLock = new Object(); // held by the EDT while stepping or passing keys
+    private boolean shutDown = false;
     private Timer gameTimer;
+    private int tickDelay = TICK_SPEED;
     private int tick = 0;
 
     /**
@@ -39,6 +54,11 @@ public class GUI implements UI {
      */
     @Override
     public void start() {
+        AssetBundle.preloadAsync().exceptionally(e -> { // decode images while the window is built
+            log("Asset bundle not loaded: " + e.getMessage());
+            return null;
+        });
+
         JFrame frame = new JFrame();
         frame.setTitle("Space Shooter");
         frame.setSize(WINDOW_WIDTH, WINDOW_HEIGHT); // Sets default window size
@@ -81,10 +101,18 @@ public class GUI implements UI {
 
             @Override
             public void keyPressed(KeyEvent e) {
-                for (KeyHandler handler : handlers) {
-                    handler.onPress(e.getKeyChar() + "");
+                if (moveCamera(e)) {
+                    scheduler.invalidate(canvas);
+                    return;
+                }
+                synchronized (stepLock) {
+                    if (shutDown) {
+                        return;
+                    }
+                    for (KeyHandler handler : handlers) {
+                        handler.onPress(e.getKeyChar() + "");
+                    }
                 }
-                canvas.updateUI();
             }
 
             @Override
@@ -92,13 +120,108 @@ public class GUI implements UI {
             }
         });
 
-        gameTimer = new Timer(TICK_SPEED, (e) -> {
-            for (Tickable tickable : tickables) {
-                tickable.tick(tick++);
-                canvas.updateUI();
+        gameTimer = new Timer(tickDelay, (e) -> {
+            synchronized (stepLock) {
+                if (shutDown) {
+                    return;
+                }
+                for (Tickable tickable : tickables) {
+                    tickable.tick(tick++);
+                }
             }
         });
         gameTimer.start();
+        scheduler.start();
+    }
+
+    /**
+     * Pans or zooms the canvas viewport if the key is a camera key.
+     *
+     * @return true if the key moved the camera.
+     */
+    private boolean moveCamera(KeyEvent e) {
+        int code = e.getKeyCode();
+        char key = e.getKeyChar();
+        if (code == KeyEvent.VK_LEFT) {
+            canvas.pan(-PAN_CELLS, 0);
+        } else if (code == KeyEvent.VK_RIGHT) {
+            canvas.pan(PAN_CELLS, 0);
+        } else if (code == KeyEvent.VK_UP) {
+            canvas.pan(0, -PAN_CELLS);
+        } else if (code == KeyEvent.VK_DOWN) {
+            canvas.pan(0, PAN_CELLS);
+        } else if (key == '+' || key == '=') {
+            canvas.zoom(1 / ZOOM_STEP);
+        } else if (key == '-') {
+            canvas.zoom(ZOOM_STEP);
+        } else if (key == '0') {
+            canvas.resetViewport();
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Shows the given region of the board on the canvas. The whole board is shown by default.
+     *
+     * @param x the left-most visible column
+     * @param y the top-most visible row
+     * @param cellsWide the number of visible columns
+     * @param cellsHigh the number of visible rows
+     */
+    public void setViewport(int x, int y, int cellsWide, int cellsHigh) {
+        canvas.setViewport(x, y, cellsWide, cellsHigh);
+        scheduler.invalidate(canvas);
+    }
+
+    /**
+     * Rasterizes frames on worker threads, one horizontal stripe per core, instead of drawing them on
+     * the event dispatch thread. The event dispatch thread then only draws each finished image.
+     */
+    public void enableSoftwareRendering() {
+        canvas.enableSoftwareRendering(() -> scheduler.invalidate(canvas));
+    }
+
+    /**
+     * Shows the time the latest frame took to paint and the number of dropped frames as stats.
+     */
+    private void reportFrames() {
+        setStat("Frame Time", String.format("%.2f ms", scheduler.getFrameNanos() / 1e6));
+        setStat("Dropped Frames", String.valueOf(scheduler.getDroppedFrames()));
+    }
+
+    /**
+     * Returns how long the most recent frame took to paint.
+     *
+     * @return the frame time in nanoseconds.
+     */
+    public long getFrameNanos() {
+        return scheduler.getFrameNanos();
+    }
+
+    /**
+     * Returns the number of frames that were due but not painted on time.
+     *
+     * @return the number of dropped frames.
+     */
+    public long getDroppedFrames() {
+        return scheduler.getDroppedFrames();
+    }
+
+    /**
+     * Sets how many times per second the registered tickables are stepped.
+     * May be called before or after start().
+     *
+     * @param ticksPerSecond the new tick rate
+     * @requires ticksPerSecond > 0
+     */
+    @Override
+    public void setTickRate(int ticksPerSecond) {
+        tickDelay = Math.max(1, 1000 / ticksPerSecond);
+        if (gameTimer != null) {
+            gameTimer.setDelay(tickDelay);
+        }
     }
 
     /**
@@ -121,6 +244,20 @@ public class GUI implements UI {
         gameTimer.start();
     }
 
+    /**
+     * Stops the game timer for good, waiting for a tick in progress on the EDT to finish.
+     * Safe to call from a shutdown hook: the EDT is never waited on, only the tick it may be running.
+     */
+    @Override
+    public void shutdown() {
+        synchronized (stepLock) {
+            shutDown = true;
+        }
+        if (gameTimer != null) {
+            SwingUtilities.invokeLater(gameTimer::stop);
+        }
+    }
+
     /**
      * Stores the provided tickable.
      * @param tickable the provided tickable
@@ -140,14 +277,32 @@ public class GUI implements UI {
     }
 
     /**
-     * Renders the provided objects, and refreshes the UI.
+     * Removes the provided tickable.
+     * @param tickable the tickable to remove
+     */
+    @Override
+    public void removeStep(Tickable tickable) {
+        tickables.remove(tickable);
+    }
+
+    /**
+     * Removes the provided KeyHandler.
+     * @param key the KeyHandler to remove
+     */
+    @Override
+    public void removeKey(KeyHandler key) {
+        handlers.remove(key);
+    }
+
+    /**
+     * Draws the newest frame in the provided buffer in the next painted frame.
      *
-     * @param objects the list of SpaceObjects to be rendered.
+     * @param frames the buffer holding the newest frame.
      */
     @Override
-    public void render(List<SpaceObject> objects) {
-        canvas.updateSpaceObjects(objects);
-        canvas.updateUI();
+    public void render(FrameBuffer frames) {
+        canvas.updateFrames(frames);
+        scheduler.invalidate(canvas);
     }
 
     /**
@@ -158,7 +313,7 @@ public class GUI implements UI {
     @Override
     public void log(String message) {
         log.log(message);
-        log.updateUI();
+        scheduler.invalidate(log);
     }
 
     /**
@@ -173,7 +328,7 @@ public class GUI implements UI {
             stats.registerStat(label);
         }
         stats.setStat(label, value);
-        stats.updateUI();
+        scheduler.invalidate(stats);
     }
 }
 
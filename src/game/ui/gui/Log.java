@@ -3,11 +3,12 @@ package game.ui.gui;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.ImageObserver;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.ArrayDeque;
 
 class Log extends JPanel {
-    private List<String> messages = new ArrayList<>();
+    private static final int MAX_MESSAGES = 200; // far more than fit on screen
+
+    private final ArrayDeque<String> messages = new ArrayDeque<>();
     private int pixelWidth = 0;
     private int pixelHeight = 0;
 
@@ -21,21 +22,28 @@ class Log extends JPanel {
     }
 
     public void log(String message) {
-        messages.add(message);
+        synchronized (messages) { // logged from the game thread, painted on the event dispatch thread
+            if (messages.size() == MAX_MESSAGES) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
     }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        int windowHeight = (messages.size() + 1) * 20;
-        int y = 0;
-        if (windowHeight > pixelHeight) {
-            y = (pixelHeight - windowHeight);
-        }
-        for (String message : messages) {
-            g.setColor(Color.white);
-            g.drawString(message, 10, y);
-            y += 20;
+        synchronized (messages) {
+            int windowHeight = (messages.size() + 1) * 20;
+            int y = 0;
+            if (windowHeight > pixelHeight) {
+                y = (pixelHeight - windowHeight);
+            }
+            for (String message : messages) {
+                g.setColor(Color.white);
+                g.drawString(message, 10, y);
+                y += 20;
+            }
         }
     }
 }
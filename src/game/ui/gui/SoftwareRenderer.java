@@ -0,0 +1,318 @@
+package game.ui.gui;
+
+import game.core.EntityKind;
+import game.ui.FrameBuffer;
+import game.ui.FrameSnapshot;
+import game.ui.assets.AssetBundle;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rasterizes frames off the event dispatch thread, straight into the int pixels of a BufferedImage, so
+ * the EDT only has to draw one finished image per frame.
+ *
+ * A coordinator thread acquires the newest frame, culls it against the canvas viewport and bins each
+ * visible sprite into the horizontal stripes it overlaps. Worker threads, one per stripe and core, then
+ * clear their stripe and blit its sprites with plain array loops; no stripe is written by two threads.
+ * Finished images are handed to the EDT through three rotating images, in the same way FrameBuffer hands
+ * over snapshots, so the EDT never draws an image that is being written. Requests made while a frame is
+ * being rasterized collapse into one.
+ *
+ * When zoomed out past Canvas.LOD_CELL_PIXELS the same density tiles as Canvas are filled instead.
+ */
+class SoftwareRenderer {
+    private static final int BACKGROUND = 0xFF000000;
+    private static final int FRESH = 4;
+    private static final int INDEX = 3;
+
+    private final Canvas canvas;
+    private final Runnable onFrame;
+    private final ExecutorService coordinator;
+    private final ExecutorService workers;
+    private final List<Callable<Void>> stripeTasks = new ArrayList<>();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private volatile FrameBuffer frames;
+
+    private final BufferedImage[] images = new BufferedImage[3];
+    private final AtomicInteger handOff = new AtomicInteger(1);
+    private int writing = 0;
+    private int reading = 2;
+
+    private final int[][] sprites = new int[EntityKind.CAPACITY][];
+    private final int[] spriteWidth = new int[EntityKind.CAPACITY];
+    private final int[] spriteHeight = new int[EntityKind.CAPACITY];
+
+    // per-frame state, written by the coordinator before the stripes run
+    private final int[] view = new int[6];
+    private int[] pixels;
+    private int imageWidth;
+    private int stripeHeight;
+    private int[][] stripeSprites; // (kind, left, top) triples
+    private int[] stripeCounts;
+    private boolean lod;
+    private int[] tileCounts = new int[0];
+    private int tilesX;
+    private int tilesY;
+    private int densest;
+
+    /**
+     * Creates a renderer drawing the canvas's viewport.
+     *
+     * @param canvas - the canvas whose viewport and size are drawn.
+     * @param onFrame - run on the coordinator thread after each frame is finished, to schedule a paint.
+     */
+    SoftwareRenderer(Canvas canvas, Runnable onFrame) {
+        this.canvas = canvas;
+        this.onFrame = onFrame;
+        int stripes = Math.max(1, Runtime.getRuntime().availableProcessors());
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "raster-coordinator"));
+        this.workers = Executors.newFixedThreadPool(stripes, runnable -> daemon(runnable, "raster-worker"));
+        this.stripeSprites = new int[stripes][3 * 64];
+        this.stripeCounts = new int[stripes];
+        for (int i = 0; i < stripes; i++) {
+            final int stripe = i;
+            stripeTasks.add(() -> {
+                rasterizeStripe(stripe);
+                return null;
+            });
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Asks for the newest frame in the buffer to be rasterized. Safe to call from any thread.
+     *
+     * @param frames - the buffer holding the newest frame; this renderer becomes its only reader.
+     */
+    void request(FrameBuffer frames) {
+        this.frames = frames;
+        if (pending.compareAndSet(false, true)) {
+            coordinator.execute(this::rasterize);
+        }
+    }
+
+    /**
+     * Returns the newest finished image, or null if none has been finished. Only the EDT may call this.
+     *
+     * @return the image to present.
+     */
+    BufferedImage acquire() {
+        if ((handOff.get() & FRESH) != 0) {
+            reading = handOff.getAndSet(reading) & INDEX;
+        }
+        return images[reading];
+    }
+
+    private void rasterize() {
+        pending.set(false);
+        canvas.copyView(view);
+        int width = view[4];
+        int height = view[5];
+        if (width == 0 || height == 0) {
+            return;
+        }
+        BufferedImage image = images[writing];
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            images[writing] = image;
+        }
+        pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        imageWidth = width;
+        stripeHeight = (height + stripeCounts.length - 1) / stripeCounts.length;
+
+        FrameSnapshot frame = frames.acquire();
+        lod = width / view[2] < Canvas.LOD_CELL_PIXELS || height / view[3] < Canvas.LOD_CELL_PIXELS;
+        if (lod) {
+            countTiles(frame);
+        } else {
+            binSprites(frame);
+        }
+        try {
+            workers.invokeAll(stripeTasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        writing = handOff.getAndSet(writing | FRESH) & INDEX;
+        onFrame.run();
+    }
+
+    /**
+     * Records each visible sprite's position in every stripe it overlaps.
+     */
+    private void binSprites(FrameSnapshot frame) {
+        Arrays.fill(stripeCounts, 0);
+        int cellWidth = view[4] / view[2];
+        int cellHeight = view[5] / view[3];
+        for (int i = 0; i < frame.size(); i++) {
+            int x = frame.xAt(i) - view[0];
+            int y = frame.yAt(i) - view[1];
+            if (x < 0 || x >= view[2] || y < 0 || y >= view[3]) {
+                continue;
+            }
+            int kind = frame.kindAt(i);
+            loadSprite(kind);
+            int left = x * cellWidth + cellWidth / 2 - spriteWidth[kind] / 2;
+            int top = y * cellHeight + cellHeight / 2 - spriteHeight[kind] / 2;
+            int first = Math.max(0, top / stripeHeight);
+            int last = Math.min(stripeCounts.length - 1, (top + spriteHeight[kind] - 1) / stripeHeight);
+            for (int stripe = first; stripe <= last; stripe++) {
+                int offset = stripeCounts[stripe]++ * 3;
+                if (offset == stripeSprites[stripe].length) {
+                    stripeSprites[stripe] = Arrays.copyOf(stripeSprites[stripe], offset * 2);
+                }
+                stripeSprites[stripe][offset] = kind;
+                stripeSprites[stripe][offset + 1] = left;
+                stripeSprites[stripe][offset + 2] = top;
+            }
+        }
+    }
+
+    /**
+     * Counts the visible entities in each density tile, using Canvas's tile sizes.
+     */
+    private void countTiles(FrameSnapshot frame) {
+        int tileCellsX = tileCells(view[4], view[2]);
+        int tileCellsY = tileCells(view[5], view[3]);
+        tilesX = (view[2] + tileCellsX - 1) / tileCellsX;
+        tilesY = (view[3] + tileCellsY - 1) / tileCellsY;
+        if (tileCounts.length < tilesX * tilesY) {
+            tileCounts = new int[tilesX * tilesY];
+        }
+        Arrays.fill(tileCounts, 0, tilesX * tilesY, 0);
+        densest = 0;
+        for (int i = 0; i < frame.size(); i++) {
+            int x = frame.xAt(i) - view[0];
+            int y = frame.yAt(i) - view[1];
+            if (x >= 0 && x < view[2] && y >= 0 && y < view[3]) {
+                int tile = (y / tileCellsY) * tilesX + x / tileCellsX;
+                densest = Math.max(densest, ++tileCounts[tile]);
+            }
+        }
+    }
+
+    private static int tileCells(int pixels, int cells) {
+        return Math.max(1, (int) Math.ceil(Canvas.LOD_TILE_PIXELS * (double) cells / pixels));
+    }
+
+    private void rasterizeStripe(int stripe) {
+        int top = stripe * stripeHeight;
+        int bottom = Math.min(top + stripeHeight, pixels.length / imageWidth);
+        if (top >= bottom) {
+            return;
+        }
+        Arrays.fill(pixels, top * imageWidth, bottom * imageWidth, BACKGROUND);
+        if (lod) {
+            fillTiles(top, bottom);
+            return;
+        }
+        int[] bin = stripeSprites[stripe];
+        for (int i = 0; i < stripeCounts[stripe]; i++) {
+            blit(bin[i * 3], bin[i * 3 + 1], bin[i * 3 + 2], top, bottom);
+        }
+    }
+
+    /**
+     * Draws the rows of a sprite that fall between top and bottom, blending by the sprite's alpha.
+     */
+    private void blit(int kind, int left, int spriteTop, int top, int bottom) {
+        int[] sprite = sprites[kind];
+        int width = spriteWidth[kind];
+        int fromRow = Math.max(top, spriteTop);
+        int toRow = Math.min(bottom, spriteTop + spriteHeight[kind]);
+        int fromColumn = Math.max(0, left);
+        int toColumn = Math.min(imageWidth, left + width);
+        for (int row = fromRow; row < toRow; row++) {
+            int source = (row - spriteTop) * width - left;
+            int target = row * imageWidth;
+            for (int column = fromColumn; column < toColumn; column++) {
+                int colour = sprite[source + column];
+                int alpha = colour >>> 24;
+                if (alpha == 0xFF) {
+                    pixels[target + column] = colour;
+                } else if (alpha != 0) {
+                    pixels[target + column] = blend(pixels[target + column], colour, alpha);
+                }
+            }
+        }
+    }
+
+    private static int blend(int under, int over, int alpha) {
+        int inverse = 0xFF - alpha;
+        int red = (((over >> 16) & 0xFF) * alpha + ((under >> 16) & 0xFF) * inverse) / 0xFF;
+        int green = (((over >> 8) & 0xFF) * alpha + ((under >> 8) & 0xFF) * inverse) / 0xFF;
+        int blue = ((over & 0xFF) * alpha + (under & 0xFF) * inverse) / 0xFF;
+        return 0xFF000000 | (red << 16) | (green << 8) | blue;
+    }
+
+    private void fillTiles(int top, int bottom) {
+        if (densest == 0) {
+            return;
+        }
+        double cellPixelsX = (double) view[4] / view[2];
+        double cellPixelsY = (double) view[5] / view[3];
+        int tileCellsX = tileCells(view[4], view[2]);
+        int tileCellsY = tileCells(view[5], view[3]);
+        for (int ty = 0; ty < tilesY; ty++) {
+            int tileTop = Math.max(top, (int) (ty * tileCellsY * cellPixelsY));
+            int tileBottom = Math.min(bottom, (int) (Math.min(view[3], (ty + 1) * tileCellsY) * cellPixelsY));
+            if (tileTop >= tileBottom) {
+                continue;
+            }
+            for (int tx = 0; tx < tilesX; tx++) {
+                int count = tileCounts[ty * tilesX + tx];
+                if (count == 0) {
+                    continue;
+                }
+                int left = (int) (tx * tileCellsX * cellPixelsX);
+                int right = Math.min(imageWidth, (int) (Math.min(view[2], (tx + 1) * tileCellsX) * cellPixelsX));
+                int grey = 48 + 207 * count / densest;
+                int colour = 0xFF000000 | (grey << 16) | (grey << 8) | grey;
+                for (int row = tileTop; row < tileBottom; row++) {
+                    Arrays.fill(pixels, row * imageWidth + left, row * imageWidth + right, colour);
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts the kind's image to ARGB pixels the first time the kind is drawn.
+     */
+    private void loadSprite(int kind) {
+        if (sprites[kind] != null) {
+            return;
+        }
+        Image image;
+        try {
+            image = AssetBundle.getImage(EntityKind.getImagePath(kind));
+        } catch (IOException e) {
+            // programming error, turn into runtime
+            throw new RuntimeException(e.getMessage());
+        }
+        int width = Math.max(1, image.getWidth(null));
+        int height = Math.max(1, image.getHeight(null));
+        BufferedImage argb = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = argb.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        spriteWidth[kind] = width;
+        spriteHeight[kind] = height;
+        sprites[kind] = ((DataBufferInt) argb.getRaster().getDataBuffer()).getData();
+    }
+}
@@ -0,0 +1,179 @@
+package game.ui.headless;
+
+import game.core.SpaceObject;
+import game.ui.FrameBuffer;
+import game.ui.KeyHandler;
+import game.ui.Tickable;
+import game.ui.UI;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+
+/**
+ * Represents a UI that draws nothing, for bots, benchmarks and servers.
+ *
+ * Ticks and keys are driven by the caller through tick() and press() rather than a timer, so a
+ * headless game runs exactly as fast as its driver steps it. Logged messages are counted but not kept.
+ */
+public class HeadlessUI implements UI {
+    private final List<Tickable> tickables = new CopyOnWriteArrayList<>(); // may be removed mid-tick
+    private final List<KeyHandler> handlers = new CopyOnWriteArrayList<>();
+    private final Map<String, String> stats = new HashMap<>();
+    private boolean paused = false;
+    private boolean shutDown = false;
+    private long logCount = 0;
+    private int tick = 0;
+
+    /**
+     * Starts the UI. Headless UIs have nothing to start.
+     */
+    @Override
+    public void start() {
+    }
+
+    /**
+     * Alternates between paused and unpaused state. While paused, tick() does nothing.
+     */
+    @Override
+    public void pause() {
+        paused = !paused;
+    }
+
+    /**
+     * Pauses the game
+     */
+    @Override
+    public void stop() {
+        paused = true;
+    }
+
+    /**
+     * Makes further calls to tick() and press() do nothing, waiting for one in progress to finish.
+     */
+    @Override
+    public synchronized void shutdown() {
+        shutDown = true;
+    }
+
+    /**
+     * Stores the provided tickable.
+     * @param tickable the provided tickable
+     */
+    @Override
+    public void onStep(Tickable tickable) {
+        tickables.add(tickable);
+    }
+
+    /**
+     * Stores the provided KeyHandler.
+     * @param key the provided KeyHandler
+     */
+    @Override
+    public void onKey(KeyHandler key) {
+        handlers.add(key);
+    }
+
+    /**
+     * Removes the provided tickable.
+     * @param tickable the tickable to remove
+     */
+    @Override
+    public void removeStep(Tickable tickable) {
+        tickables.remove(tickable);
+    }
+
+    /**
+     * Removes the provided KeyHandler.
+     * @param key the KeyHandler to remove
+     */
+    @Override
+    public void removeKey(KeyHandler key) {
+        handlers.remove(key);
+    }
+
+    /**
+     * Ignores the provided objects; there is nothing to draw.
+     *
+     * @param objects the list of SpaceObjects to be rendered.
+     */
+    @Override
+    public void render(List<SpaceObject> objects) {
+    }
+
+    /**
+     * Ignores the published frame; there is nothing to draw.
+     *
+     * @param frames the buffer holding the newest frame.
+     */
+    @Override
+    public void render(FrameBuffer frames) {
+    }
+
+    /**
+     * Counts the provided message without storing it.
+     *
+     * @param message the provided message
+     */
+    @Override
+    public void log(String message) {
+        logCount++;
+    }
+
+    /**
+     * Sets the stats to the provided label and value.
+     *
+     * @param label the provided label
+     * @param value the provided value
+     */
+    @Override
+    public void setStat(String label, String value) {
+        stats.put(label, value);
+    }
+
+    /**
+     * Steps every registered tickable once, unless paused or shut down.
+     */
+    public synchronized void tick() {
+        if (paused || shutDown) {
+            return;
+        }
+        for (Tickable tickable : tickables) {
+            tickable.tick(tick++);
+        }
+    }
+
+    /**
+     * Passes the given key to every registered KeyHandler, unless shut down.
+     *
+     * @param key the pressed key
+     */
+    public synchronized void press(String key) {
+        if (shutDown) {
+            return;
+        }
+        for (KeyHandler handler : handlers) {
+            handler.onPress(key);
+        }
+    }
+
+    /**
+     * Returns the most recent value of the given stat, or null if it has not been set.
+     *
+     * @param label the stat label
+     * @return the stat value, or null
+     */
+    public String getStat(String label) {
+        return stats.get(label);
+    }
+
+    /**
+     * Returns the number of messages logged so far.
+     *
+     * @return the number of logged messages
+     */
+    public long getLogCount() {
+        return logCount;
+    }
+}
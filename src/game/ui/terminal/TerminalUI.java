@@ -0,0 +1,481 @@
+package game.ui.terminal;
+
+import game.GameModel;
+import game.core.EntityKind;
+import game.ui.FrameBuffer;
+import game.ui.FrameSnapshot;
+import game.ui.KeyHandler;
+import game.ui.Tickable;
+import game.ui.UI;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a terminal implementation of the UI interface, drawing the game with ANSI escape codes.
+ *
+ * Each frame is diffed against the previous one and only changed grid cells, stats and log lines are
+ * redrawn. All output for a frame is encoded into a single preallocated buffer and written with one
+ * write call, so frames are cheap enough to run over SSH or inside a container.
+ *
+ * Keys are read from standard input on a background thread and handed to the key handlers on the
+ * game thread, so handlers and tickables never run concurrently.
+ */
+public class TerminalUI implements UI {
+    private static final int TICK_SPEED = 100;
+    private static final long SHUTDOWN_TIMEOUT = 5000; // ms to wait for the last tick
+    private static final int CELL_WIDTH = 2; // emoji occupy two terminal columns
+    private static final int LOG_LINES = 6;
+    private static final int LINE_WIDTH = 60;
+    private static final int EMPTY = 0;
+    private static final int ESCAPE = 0x1b;
+
+    private static final byte[] CLEAR_SCREEN = "\033[2J\033[?25l".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SHOW_CURSOR = "\033[?25h\033[0m\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLEAR_LINE = "\033[K".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BLANK_CELL = "  ".getBytes(StandardCharsets.US_ASCII);
+
+    private final int width = GameModel.GAME_WIDTH;
+    private final int height = GameModel.GAME_HEIGHT;
+
+    private final int[] front = new int[width * height];
+    private final int[] back = new int[width * height];
+    private final List<String> glyphs = new ArrayList<>(List.of(""));
+    private final List<byte[]> glyphBytes = new ArrayList<>(List.of(BLANK_CELL));
+    private final int[] kindGlyphs = new int[EntityKind.CAPACITY];
+
+    private final Map<String, String> stats = new LinkedHashMap<>();
+    private final String[] drawnStatLines = new String[16];
+    private final String[] logLines = new String[LOG_LINES];
+    private final String[] drawnLogLines = new String[LOG_LINES];
+    private int logCount = 0;
+
+    private final ByteBuffer frame;
+    private FileChannel out;
+    private boolean firstFrame = true;
+
+    private final List<Tickable> tickables = new CopyOnWriteArrayList<>(); // may be removed mid-tick
+    private final List<KeyHandler> handlers = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<String> pendingKeys = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService scheduler;
+    private volatile Thread tickThread;
+    private volatile boolean paused = false;
+    private int tick = 0;
+    private long tickDelay = TICK_SPEED;
+    private ScheduledFuture<?> ticking;
+
+    /**
+     * Creates a terminal UI. Nothing is drawn until start() is called.
+     */
+    public TerminalUI() {
+        // worst case: every cell, stat and log line repositioned and rewritten
+        int cellBytes = width * height * (16 + 16);
+        int lineBytes = (drawnStatLines.length + LOG_LINES) * (16 + LINE_WIDTH * 4 + CLEAR_LINE.length);
+        this.frame = ByteBuffer.allocateDirect(CLEAR_SCREEN.length + cellBytes + lineBytes + 64);
+    }
+
+    /**
+     * Starts the UI: switches the terminal to unbuffered input, then starts reading keys and ticking.
+     */
+    @Override
+    public void start() {
+        out = new FileOutputStream(FileDescriptor.out).getChannel();
+        setRawMode(true);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::restoreTerminal));
+
+        Thread input = new Thread(this::readKeys, "terminal-input");
+        input.setDaemon(true);
+        input.start();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "terminal-tick");
+            thread.setDaemon(false);
+            tickThread = thread;
+            return thread;
+        });
+        ticking = scheduler.scheduleAtFixedRate(this::step, tickDelay, tickDelay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sets how many times per second the stored tickables are stepped.
+     * May be called before or after start().
+     *
+     * @param ticksPerSecond the new tick rate
+     * @requires ticksPerSecond > 0
+     */
+    @Override
+    public void setTickRate(int ticksPerSecond) {
+        tickDelay = Math.max(1, 1000 / ticksPerSecond);
+        if (scheduler != null) {
+            ticking.cancel(false);
+            ticking = scheduler.scheduleAtFixedRate(this::step, tickDelay, tickDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Alternates between paused and unpaused state.
+     */
+    @Override
+    public void pause() {
+        paused = !paused;
+    }
+
+    /**
+     * Stops the game for good: shuts the tick thread down (see shutdown()), so the JVM can exit once the
+     * rest of the program has finished.
+     */
+    @Override
+    public void stop() {
+        shutdown();
+    }
+
+    /**
+     * Shuts the tick thread down, waiting for a tick in progress to finish unless called from that tick.
+     */
+    @Override
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        if (Thread.currentThread() == tickThread) {
+            return;
+        }
+        try {
+            if (!scheduler.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                log("Timed out waiting for the last tick to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stores the provided tickable.
+     * @param tickable the provided tickable
+     */
+    @Override
+    public void onStep(Tickable tickable) {
+        tickables.add(tickable);
+    }
+
+    /**
+     * Stores the provided KeyHandler.
+     * @param key the provided KeyHandler
+     */
+    @Override
+    public void onKey(KeyHandler key) {
+        handlers.add(key);
+    }
+
+    /**
+     * Removes the provided tickable.
+     * @param tickable the tickable to remove
+     */
+    @Override
+    public void removeStep(Tickable tickable) {
+        tickables.remove(tickable);
+    }
+
+    /**
+     * Removes the provided KeyHandler.
+     * @param key the KeyHandler to remove
+     */
+    @Override
+    public void removeKey(KeyHandler key) {
+        handlers.remove(key);
+    }
+
+    /**
+     * Renders the newest frame, writing only the cells that changed since the previous frame.
+     *
+     * @param frames the buffer holding the newest frame.
+     */
+    @Override
+    public void render(FrameBuffer frames) {
+        FrameSnapshot frame = frames.acquire();
+        Arrays.fill(back, EMPTY);
+        for (int i = 0; i < frame.size(); i++) {
+            int x = frame.xAt(i);
+            int y = frame.yAt(i);
+            if (x >= 0 && x < width && y >= 0 && y < height) {
+                back[y * width + x] = glyphForKind(frame.kindAt(i));
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Log the provided message.
+     *
+     * @param message the provided message
+     */
+    @Override
+    public void log(String message) {
+        synchronized (logLines) {
+            if (logCount == LOG_LINES) {
+                System.arraycopy(logLines, 1, logLines, 0, LOG_LINES - 1);
+                logCount--;
+            }
+            logLines[logCount++] = message;
+        }
+    }
+
+    /**
+     * Sets the stats to the provided label and value.
+     *
+     * @param label the provided label
+     * @param value the provided value
+     */
+    @Override
+    public void setStat(String label, String value) {
+        synchronized (stats) {
+            stats.put(label, value);
+        }
+    }
+
+    /**
+     * Runs one tick on the game thread: dispatches pending keys, then steps every tickable.
+     */
+    private void step() {
+        try {
+            String key;
+            while ((key = pendingKeys.poll()) != null) {
+                for (KeyHandler handler : handlers) {
+                    handler.onPress(key);
+                }
+            }
+            if (paused) {
+                flush();
+                return;
+            }
+            for (Tickable tickable : tickables) {
+                tickable.tick(tick++);
+            }
+        } catch (RuntimeException e) {
+            log(e.getMessage());
+        }
+    }
+
+    /**
+     * Encodes the difference between the drawn frame and the new one into the frame buffer, then writes
+     * it in a single call.
+     */
+    private synchronized void flush() {
+        if (out == null) {
+            return;
+        }
+        frame.clear();
+        if (firstFrame) {
+            frame.put(CLEAR_SCREEN);
+            Arrays.fill(front, -1);
+            firstFrame = false;
+        }
+        for (int y = 0; y < height; y++) {
+            int lastDrawn = -2;
+            for (int x = 0; x < width; x++) {
+                int cell = y * width + x;
+                if (front[cell] == back[cell]) {
+                    continue;
+                }
+                if (lastDrawn != x - 1) {
+                    moveCursor(y + 1, x * CELL_WIDTH + 1);
+                }
+                frame.put(glyphBytes.get(back[cell]));
+                front[cell] = back[cell];
+                lastDrawn = x;
+            }
+        }
+
+        int row = height + 2;
+        synchronized (stats) {
+            int line = 0;
+            for (Map.Entry<String, String> stat : stats.entrySet()) {
+                if (line == drawnStatLines.length) {
+                    break;
+                }
+                String text = stat.getKey() + ": " + stat.getValue();
+                drawLine(row++, text, drawnStatLines, line++);
+            }
+        }
+        row++;
+        synchronized (logLines) {
+            for (int line = 0; line < LOG_LINES; line++) {
+                drawLine(row++, line < logCount ? logLines[line] : "", drawnLogLines, line);
+            }
+        }
+        if (frame.position() == 0) {
+            return; // nothing changed
+        }
+        moveCursor(row, 1);
+
+        frame.flip();
+        try {
+            while (frame.hasRemaining()) {
+                out.write(frame);
+            }
+        } catch (IOException e) {
+            out = null; // terminal went away; stop drawing
+        }
+    }
+
+    private void drawLine(int row, String text, String[] drawn, int index) {
+        if (text.equals(drawn[index])) {
+            return;
+        }
+        drawn[index] = text;
+        moveCursor(row, 1);
+        putText(text);
+        frame.put(CLEAR_LINE);
+    }
+
+    /**
+     * Encodes up to LINE_WIDTH chars of the text into the frame as UTF-8, with newlines drawn as spaces.
+     * Encoding straight into the frame keeps redraws from allocating. A surrogate pair cut by the clip,
+     * or otherwise unpaired, is drawn as '?', as String.getBytes() would.
+     */
+    private void putText(String text) {
+        int end = Math.min(text.length(), LINE_WIDTH);
+        for (int i = 0; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                frame.put((byte) ' ');
+            } else if (c < 0x80) {
+                frame.put((byte) c);
+            } else if (c < 0x800) {
+                frame.put((byte) (0xc0 | c >> 6)).put((byte) (0x80 | c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                frame.put((byte) (0xf0 | codePoint >> 18)).put((byte) (0x80 | codePoint >> 12 & 0x3f))
+                        .put((byte) (0x80 | codePoint >> 6 & 0x3f)).put((byte) (0x80 | codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                frame.put((byte) '?');
+            } else {
+                frame.put((byte) (0xe0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3f))
+                        .put((byte) (0x80 | c & 0x3f));
+            }
+        }
+    }
+
+    private void moveCursor(int row, int column) {
+        frame.put((byte) 033).put((byte) '[');
+        putInt(row);
+        frame.put((byte) ';');
+        putInt(column);
+        frame.put((byte) 'H');
+    }
+
+    private void putInt(int value) {
+        if (value >= 10) {
+            putInt(value / 10);
+        }
+        frame.put((byte) ('0' + value % 10));
+    }
+
+    private int glyphForKind(int kind) {
+        if (kindGlyphs[kind] == EMPTY) {
+            kindGlyphs[kind] = glyphId(EntityKind.getText(kind));
+        }
+        return kindGlyphs[kind];
+    }
+
+    private int glyphId(String text) {
+        int id = glyphs.indexOf(text);
+        if (id < 0) {
+            id = glyphs.size();
+            glyphs.add(text);
+            byte[] encoded = text.getBytes(StandardCharsets.UTF_8);
+            glyphBytes.add(encoded);
+        }
+        return id;
+    }
+
+    /**
+     * Reads keys from standard input until it closes, queueing each printable key for the game thread.
+     * Escape sequences sent for special keys, such as ESC [ A for the up arrow, are dropped whole rather
+     * than read as separate keys.
+     */
+    private void readKeys() {
+        InputStream in = System.in;
+        try {
+            int read;
+            while ((read = in.read()) != -1) {
+                while (read == ESCAPE) {
+                    read = skipEscapeSequence(in);
+                }
+                if (read >= ' ' && read < 127) {
+                    pendingKeys.add(String.valueOf((char) read));
+                }
+            }
+        } catch (IOException e) {
+            // input closed; keep rendering
+        }
+    }
+
+    /**
+     * Reads the rest of an escape sequence whose ESC has been read. A CSI sequence (ESC [ then parameter
+     * and intermediate bytes up to a final byte from '@' to '~') and an SS3 sequence (ESC O and one
+     * byte) are consumed whole. Any other byte after ESC is not part of a sequence and is returned.
+     *
+     * @return the byte following the sequence's ESC if it is not part of a sequence, otherwise -2; or -1
+     *         at the end of input.
+     */
+    private static int skipEscapeSequence(InputStream in) throws IOException {
+        int read = in.read();
+        if (read == '[') {
+            do {
+                read = in.read();
+            } while (read != -1 && (read < '@' || read > '~'));
+            return read == -1 ? -1 : -2;
+        } else if (read == 'O') {
+            read = in.read();
+            return read == -1 ? -1 : -2;
+        }
+        return read;
+    }
+
+    private void restoreTerminal() {
+        setRawMode(false);
+        try {
+            if (out != null) {
+                out.write(ByteBuffer.wrap(SHOW_CURSOR));
+            }
+        } catch (IOException e) {
+            // nothing more can be done on the way out
+        }
+    }
+
+    /**
+     * Switches the controlling terminal in or out of unbuffered, non-echoing input using stty.
+     * Does nothing if there is no terminal or stty is unavailable.
+     */
+    private static void setRawMode(boolean raw) {
+        String[] command = raw
+                ? new String[]{"sh", "-c", "stty -icanon -echo min 1 2>/dev/null < /dev/tty"}
+                : new String[]{"sh", "-c", "stty sane 2>/dev/null < /dev/tty"};
+        try {
+            new ProcessBuilder(command).inheritIO().start().waitFor();
+        } catch (IOException e) {
+            // not a terminal; line-buffered input still works
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
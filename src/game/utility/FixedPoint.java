@@ -0,0 +1,55 @@
+package game.utility;
+
+/**
+ * Helpers for 16.16 fixed-point values, used for velocities measured in cells per second.
+ */
+public final class FixedPoint {
+    /**
+     * The number of fractional bits.
+     */
+    public static final int FRACTION_BITS = 16;
+
+    /**
+     * The fixed-point representation of 1.
+     */
+    public static final int ONE = 1 << FRACTION_BITS;
+
+    /**
+     * The number of microseconds in a second.
+     */
+    public static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private FixedPoint() {
+    }
+
+    /**
+     * Converts a whole number of cells to fixed point.
+     *
+     * @param cells - the number of cells.
+     * @return the fixed-point value.
+     */
+    public static int fromInt(int cells) {
+        return cells << FRACTION_BITS;
+    }
+
+    /**
+     * Converts a ratio of cells per number of seconds to fixed point, e.g. fromRatio(1, 2) is half a cell.
+     *
+     * @param numerator - the number of cells.
+     * @param denominator - the number of seconds.
+     * @return the fixed-point value.
+     */
+    public static int fromRatio(int numerator, int denominator) {
+        return (int) (((long) numerator << FRACTION_BITS) / denominator);
+    }
+
+    /**
+     * Converts a fixed-point value to a double, for display only.
+     *
+     * @param value - the fixed-point value.
+     * @return the value as a double.
+     */
+    public static double toDouble(int value) {
+        return value / (double) ONE;
+    }
+}
@@ -0,0 +1,175 @@
+package game.utility;
+
+/**
+ * A hierarchical timing wheel that expires timers by game tick.
+ *
+ * Timers live in one of LEVELS wheels of SLOTS slots each: the first wheel has one slot per tick, the
+ * next one slot per SLOTS ticks, and so on. A timer is placed by how far away its deadline is, and is
+ * moved down a level only when its coarse slot comes round. Scheduling, cancelling and expiring a timer
+ * are each O(1), and advancing the wheel costs O(1) per tick plus the timers that expire, however many
+ * timers are pending. Deadlines further away than the wheels cover are parked in the last slot of the top
+ * wheel and re-placed each time it comes round.
+ *
+ * Timers are intrusive list nodes, so a timer can be scheduled at most once at a time and can be reused
+ * after it expires or is cancelled.
+ */
+public class TimerWheel {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 3;
+
+    private final Timer[][] wheels = new Timer[LEVELS][SLOTS];
+    private long now = 0;
+
+    /**
+     * A callback that can be scheduled on a TimerWheel.
+     */
+    public abstract static class Timer {
+        private long deadline;
+        private Timer next;
+        private Timer previous;
+        private Timer[] wheel;
+        private int slot;
+
+        /**
+         * Called by the wheel when the timer's deadline is reached.
+         */
+        protected abstract void onExpire();
+
+        /**
+         * Returns whether the timer is waiting to expire.
+         *
+         * @return true if the timer is scheduled.
+         */
+        public boolean isScheduled() {
+            return wheel != null;
+        }
+
+        /**
+         * Returns the tick at which the timer expires (or expired).
+         *
+         * @return the deadline tick.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+
+    /**
+     * Returns the current tick of the wheel.
+     *
+     * @return the current tick.
+     */
+    public long now() {
+        return now;
+    }
+
+    /**
+     * Schedules the timer to expire the given number of ticks from now (at least one).
+     *
+     * @param timer - the timer to schedule.
+     * @param delayTicks - the number of ticks until expiry.
+     * @requires !timer.isScheduled()
+     */
+    public void schedule(Timer timer, long delayTicks) {
+        timer.deadline = now + Math.max(1, delayTicks);
+        insert(timer);
+    }
+
+    /**
+     * Cancels the timer if it is scheduled. It will not expire.
+     *
+     * @param timer - the timer to cancel.
+     */
+    public void cancel(Timer timer) {
+        if (timer.wheel == null) {
+            return;
+        }
+        if (timer.previous == null) {
+            timer.wheel[timer.slot] = timer.next;
+        } else {
+            timer.previous.next = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.next = null;
+        timer.previous = null;
+        timer.wheel = null;
+    }
+
+    /**
+     * Advances the wheel by the given number of ticks, expiring every timer whose deadline is reached.
+     *
+     * @param ticks - the number of ticks to advance.
+     */
+    public void advance(long ticks) {
+        for (long i = 0; i < ticks; i++) {
+            now++;
+            if ((now & MASK) == 0) {
+                cascade(1);
+            }
+            expire(wheels[0], (int) (now & MASK));
+        }
+    }
+
+    private void insert(Timer timer) {
+        long delta = timer.deadline - now;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (BITS * (level + 1))) {
+            level++;
+        }
+        long slot = delta >= 1L << (BITS * LEVELS)
+                ? (now >> (BITS * level)) - 1 // too far away: park in the slot that comes round last
+                : timer.deadline >> (BITS * level);
+        link(timer, wheels[level], (int) (slot & MASK));
+    }
+
+    private void link(Timer timer, Timer[] wheel, int slot) {
+        timer.wheel = wheel;
+        timer.slot = slot;
+        timer.previous = null;
+        timer.next = wheel[slot];
+        if (wheel[slot] != null) {
+            wheel[slot].previous = timer;
+        }
+        wheel[slot] = timer;
+    }
+
+    /**
+     * Moves the timers in the level's current slot down to finer wheels, cascading the coarser level
+     * first whenever this level has wrapped around.
+     */
+    private void cascade(int level) {
+        int slot = (int) ((now >> (BITS * level)) & MASK);
+        if (slot == 0 && level + 1 < LEVELS) {
+            cascade(level + 1);
+        }
+        Timer timer = wheels[level][slot];
+        wheels[level][slot] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.wheel = null;
+            insert(timer);
+            timer = next;
+        }
+    }
+
+    private void expire(Timer[] wheel, int slot) {
+        Timer timer = wheel[slot];
+        wheel[slot] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.next = null;
+            timer.previous = null;
+            timer.wheel = null;
+            if (timer.deadline <= now) {
+                timer.onExpire();
+            } else {
+                insert(timer);
+            }
+            timer = next;
+        }
+    }
+}